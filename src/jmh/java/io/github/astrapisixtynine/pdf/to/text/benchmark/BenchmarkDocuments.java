@@ -0,0 +1,210 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.benchmark;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+/**
+ * The class {@link BenchmarkDocuments} resolves the PDF files of the benchmarks. The bundled test
+ * files are taken from the test resources, the synthetic documents are generated once per JVM
+ * into a temporary directory
+ */
+public final class BenchmarkDocuments
+{
+
+	/**
+	 * The bundled PDF file with a text layer
+	 */
+	public static final String SAMPLE = "sample.pdf";
+
+	/**
+	 * The bundled PDF file with scanned pages
+	 */
+	public static final String PROGRAM_IMAGE = "program-image.pdf";
+
+	/**
+	 * The generated PDF file with a text layer on every page
+	 */
+	public static final String SYNTHETIC_TEXT = "synthetic-text";
+
+	/**
+	 * The generated PDF file with an image of text on every page and no text layer
+	 */
+	public static final String SYNTHETIC_IMAGE = "synthetic-image";
+
+	private static final File TEST_RESOURCES_DIR = new File("src/test/resources");
+
+	private static final int SYNTHETIC_TEXT_PAGES = 20;
+
+	private static final int SYNTHETIC_IMAGE_PAGES = 3;
+
+	private static final int LINES_PER_PAGE = 40;
+
+	private static final String LINE = "The quick brown fox jumps over the lazy dog 0123456789";
+
+	private static final Map<String, File> GENERATED_FILES = new ConcurrentHashMap<>();
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private BenchmarkDocuments()
+	{
+	}
+
+	/**
+	 * Gets the PDF file with the given name, a synthetic document is generated on the first call
+	 *
+	 * @param name
+	 *            the name of the bundled PDF file or of the synthetic document
+	 * @return the PDF file
+	 * @throws IOException
+	 *             if a synthetic document can not be generated
+	 */
+	public static File getPdfFile(String name) throws IOException
+	{
+		return switch (name)
+		{
+			case SYNTHETIC_TEXT, SYNTHETIC_IMAGE -> getGeneratedFile(name);
+			default -> new File(TEST_RESOURCES_DIR, name);
+		};
+	}
+
+	/**
+	 * Creates a new temporary directory for the output files of a benchmark
+	 *
+	 * @return the new temporary directory
+	 * @throws IOException
+	 *             if the directory can not be created
+	 */
+	public static File newOutputDir() throws IOException
+	{
+		return Files.createTempDirectory("pdf-to-text-benchmark").toFile();
+	}
+
+	private static File getGeneratedFile(String name) throws IOException
+	{
+		File pdfFile = GENERATED_FILES.get(name);
+		if (pdfFile == null)
+		{
+			pdfFile = new File(newOutputDir(), name + ".pdf");
+			if (SYNTHETIC_TEXT.equals(name))
+			{
+				writeTextDocument(pdfFile);
+			}
+			else
+			{
+				writeImageDocument(pdfFile);
+			}
+			pdfFile.deleteOnExit();
+			GENERATED_FILES.put(name, pdfFile);
+		}
+		return pdfFile;
+	}
+
+	private static void writeTextDocument(File pdfFile) throws IOException
+	{
+		try (PDDocument document = new PDDocument())
+		{
+			for (int page = 1; page <= SYNTHETIC_TEXT_PAGES; ++page)
+			{
+				PDPage pdPage = new PDPage(PDRectangle.A4);
+				document.addPage(pdPage);
+				try (PDPageContentStream contentStream = new PDPageContentStream(document,
+					pdPage))
+				{
+					contentStream.beginText();
+					contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA),
+						11);
+					contentStream.newLineAtOffset(50, 780);
+					for (int line = 1; line <= LINES_PER_PAGE; ++line)
+					{
+						contentStream.showText(page + "." + line + " " + LINE);
+						contentStream.newLineAtOffset(0, -18);
+					}
+					contentStream.endText();
+				}
+			}
+			document.save(pdfFile);
+		}
+	}
+
+	private static void writeImageDocument(File pdfFile) throws IOException
+	{
+		// an A4 page scanned with 200 dpi
+		BufferedImage scan = new BufferedImage(1654, 2339, BufferedImage.TYPE_BYTE_GRAY);
+		try (PDDocument document = new PDDocument())
+		{
+			for (int page = 1; page <= SYNTHETIC_IMAGE_PAGES; ++page)
+			{
+				Graphics2D graphics = scan.createGraphics();
+				try
+				{
+					graphics.setColor(Color.WHITE);
+					graphics.fillRect(0, 0, scan.getWidth(), scan.getHeight());
+					graphics.setColor(Color.BLACK);
+					graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+						RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+					graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 30));
+					for (int line = 1; line <= LINES_PER_PAGE; ++line)
+					{
+						graphics.drawString(page + "." + line + " " + LINE, 120, 120 + line * 52);
+					}
+				}
+				finally
+				{
+					graphics.dispose();
+				}
+				PDPage pdPage = new PDPage(PDRectangle.A4);
+				document.addPage(pdPage);
+				PDImageXObject image = LosslessFactory.createFromImage(document, scan);
+				try (PDPageContentStream contentStream = new PDPageContentStream(document,
+					pdPage))
+				{
+					contentStream.drawImage(image, 0, 0, PDRectangle.A4.getWidth(),
+						PDRectangle.A4.getHeight());
+				}
+			}
+			document.save(pdfFile);
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.github.astrapisixtynine.pdf.to.text.tess4j.ImagePdfToTextExtensions;
+
+/**
+ * The class {@link BenchmarkRunner} runs the JMH benchmarks of this project and writes the results
+ * to build/reports/jmh/results.json. The {@link OcrBenchmark} and the
+ * {@link OcrProfileBenchmark} are skipped if tesseract is not installed
+ */
+public final class BenchmarkRunner
+{
+
+	private static final Path RESULT_FILE = Path.of("build", "reports", "jmh", "results.json");
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private BenchmarkRunner()
+	{
+	}
+
+	/**
+	 * The main method that runs the benchmarks
+	 *
+	 * @param args
+	 *            an optional regular expression of the benchmarks to run, all benchmarks of this
+	 *            package run if it is missing
+	 * @throws IOException
+	 *             if the directory of the result file can not be created
+	 * @throws RunnerException
+	 *             if a benchmark failed
+	 */
+	public static void main(String[] args) throws IOException, RunnerException
+	{
+		Files.createDirectories(RESULT_FILE.getParent());
+		ChainedOptionsBuilder options = new OptionsBuilder()
+			.include(0 < args.length ? args[0] : BenchmarkRunner.class.getPackageName() + ".")
+			.resultFormat(ResultFormatType.JSON).result(RESULT_FILE.toString());
+		if (!ImagePdfToTextExtensions.isTesseractInstalled())
+		{
+			System.out.println("tesseract is not installed, skipping "
+				+ OcrBenchmark.class.getSimpleName() + " and "
+				+ OcrProfileBenchmark.class.getSimpleName());
+			options.exclude(OcrBenchmark.class.getName());
+			options.exclude(OcrProfileBenchmark.class.getName());
+		}
+		new Runner(options.build()).run();
+	}
+}
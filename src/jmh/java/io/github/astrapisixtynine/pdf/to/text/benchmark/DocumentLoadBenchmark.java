@@ -0,0 +1,98 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapisixtynine.pdf.to.text.info.LoadOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.PdfLoadStrategy;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfDocumentSession;
+
+/**
+ * Benchmarks for loading a PDF document with the different load strategies
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DocumentLoadBenchmark
+{
+
+	@Param({ BenchmarkDocuments.SAMPLE, BenchmarkDocuments.PROGRAM_IMAGE,
+			BenchmarkDocuments.SYNTHETIC_TEXT, BenchmarkDocuments.SYNTHETIC_IMAGE })
+	String document;
+
+	@Param({ "HEAP", "MIXED", "TEMP_FILE" })
+	PdfLoadStrategy strategy;
+
+	private File pdfFile;
+
+	private LoadOptions loadOptions;
+
+	/**
+	 * Resolves the PDF file and the load options
+	 *
+	 * @throws IOException
+	 *             if a synthetic document can not be generated
+	 */
+	@Setup
+	public void setUp() throws IOException
+	{
+		pdfFile = BenchmarkDocuments.getPdfFile(document);
+		loadOptions = LoadOptions.builder().strategy(strategy).build();
+	}
+
+	/**
+	 * Loads and closes the PDF document
+	 *
+	 * @return the number of pages of the PDF document
+	 * @throws IOException
+	 *             if the PDF document can not be loaded
+	 */
+	@Benchmark
+	public int load() throws IOException
+	{
+		try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile, loadOptions))
+		{
+			return session.getNumberOfPages();
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.apache.pdfbox.rendering.ImageType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapisixtynine.pdf.to.text.info.RenderOptions;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfDocumentSession;
+
+/**
+ * Benchmarks for encoding a rendered page into an image file format
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class ImageEncodingBenchmark
+{
+
+	@Param({ BenchmarkDocuments.SAMPLE, BenchmarkDocuments.PROGRAM_IMAGE })
+	String document;
+
+	@Param({ "RGB", "GRAY", "BINARY" })
+	ImageType imageType;
+
+	@Param({ "png", "bmp" })
+	String imageFileFormatName;
+
+	private BufferedImage image;
+
+	/**
+	 * Renders the first page of the PDF document with the default resolution
+	 *
+	 * @throws IOException
+	 *             if the page can not be rendered
+	 */
+	@Setup
+	public void setUp() throws IOException
+	{
+		try (PdfDocumentSession session = PdfDocumentSession
+			.open(BenchmarkDocuments.getPdfFile(document)))
+		{
+			image = session.renderImage(0,
+				RenderOptions.builder().imageType(imageType).build());
+		}
+	}
+
+	/**
+	 * Encodes the rendered page
+	 *
+	 * @return the size of the encoded image in bytes
+	 * @throws IOException
+	 *             if the image can not be encoded
+	 */
+	@Benchmark
+	public int encode() throws IOException
+	{
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream(1024 * 1024);
+		ImageIO.write(image, imageFileFormatName, outputStream);
+		return outputStream.size();
+	}
+}
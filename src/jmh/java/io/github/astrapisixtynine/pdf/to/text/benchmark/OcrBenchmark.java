@@ -0,0 +1,168 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapisixtynine.pdf.to.text.info.ProcessOcrResult;
+import io.github.astrapisixtynine.pdf.to.text.info.RenderOptions;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfDocumentSession;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfToTextExtensions;
+import io.github.astrapisixtynine.pdf.to.text.preprocess.ImagePreprocessor;
+import io.github.astrapisixtynine.pdf.to.text.process.TesseractProcessPool;
+import io.github.astrapisixtynine.pdf.to.text.tess4j.ImagePdfToTextExtensions;
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * Benchmarks for the OCR of a rendered page with tess4j and with the tesseract command line tool.
+ * These benchmarks need an installed tesseract and are skipped by the {@link BenchmarkRunner} if
+ * tesseract is not installed. The Tesseract data path and the language can be set with the system
+ * properties {@code benchmark.datapath} and {@code benchmark.language}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+public class OcrBenchmark
+{
+
+	private static final String DATAPATH = System.getProperty("benchmark.datapath",
+		"/usr/share/tessdata");
+
+	private static final String LANGUAGE = System.getProperty("benchmark.language", "deu");
+
+	@Param({ BenchmarkDocuments.PROGRAM_IMAGE, BenchmarkDocuments.SYNTHETIC_IMAGE })
+	String document;
+
+	@Param({ "false", "true" })
+	boolean preprocessed;
+
+	private final List<BufferedImage> images = new ArrayList<>();
+
+	private final List<File> imageFiles = new ArrayList<>();
+
+	private File outputDir;
+
+	private TesseractProcessPool processPool;
+
+	private int page;
+
+	/**
+	 * Renders all pages of the PDF document with the default render options, preprocesses them
+	 * with {@link ImagePreprocessor#defaultChain()} if the pages should be preprocessed and writes
+	 * them as image files for the tesseract command line tool
+	 *
+	 * @throws IOException
+	 *             if the pages can not be rendered or written
+	 */
+	@Setup
+	public void setUp() throws IOException
+	{
+		outputDir = BenchmarkDocuments.newOutputDir();
+		processPool = new TesseractProcessPool(1, TesseractProcessPool.DEFAULT_TIMEOUT);
+		RenderOptions renderOptions = RenderOptions.builder().build();
+		try (PdfDocumentSession session = PdfDocumentSession
+			.open(BenchmarkDocuments.getPdfFile(document)))
+		{
+			for (int index = 0; index < session.getNumberOfPages(); ++index)
+			{
+				BufferedImage image = session.renderImage(index, renderOptions);
+				if (preprocessed)
+				{
+					image = ImagePreprocessor.defaultChain().process(image);
+				}
+				images.add(image);
+				imageFiles.add(PdfToTextExtensions.writeImageFile(image, session.getFileName(),
+					index, outputDir, renderOptions));
+			}
+		}
+	}
+
+	/**
+	 * Stops the process pool and deletes the image and text files
+	 *
+	 * @throws IOException
+	 *             if the files can not be deleted
+	 */
+	@TearDown
+	public void tearDown() throws IOException
+	{
+		processPool.close();
+		DeleteFileExtensions.delete(outputDir);
+	}
+
+	/**
+	 * Recognizes one rendered page in memory with a pooled tess4j engine, every invocation takes
+	 * the next page
+	 *
+	 * @return the recognized text
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	@Benchmark
+	public String tess4jPage() throws TesseractException
+	{
+		page = (page + 1) % images.size();
+		return ImagePdfToTextExtensions.extractTextFromImage(images.get(page), DATAPATH,
+			LANGUAGE);
+	}
+
+	/**
+	 * Recognizes one image file with a tesseract process, every invocation takes the next page
+	 *
+	 * @return the result of the tesseract process
+	 * @throws IOException
+	 *             if the tesseract process can not be started
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting
+	 */
+	@Benchmark
+	public ProcessOcrResult tesseractProcessPage() throws IOException, InterruptedException
+	{
+		page = (page + 1) % imageFiles.size();
+		return processPool.recognize(page, imageFiles.get(page), outputDir, LANGUAGE);
+	}
+}
@@ -0,0 +1,176 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapisixtynine.pdf.to.text.info.OcrOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.OcrProfile;
+import io.github.astrapisixtynine.pdf.to.text.info.ProcessOcrResult;
+import io.github.astrapisixtynine.pdf.to.text.info.RenderOptions;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfDocumentSession;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfToTextExtensions;
+import io.github.astrapisixtynine.pdf.to.text.process.TesseractProcessPool;
+import io.github.astrapisixtynine.pdf.to.text.tess4j.ImagePdfToTextExtensions;
+import io.github.astrapisixtynine.pdf.to.text.tess4j.TesseractKey;
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * Benchmarks for the throughput of the OCR profiles with tess4j and with the tesseract command
+ * line tool in pages per second. These benchmarks need an installed tesseract and are skipped by
+ * the {@link BenchmarkRunner} if tesseract is not installed. Besides the system properties of the
+ * {@link OcrBenchmark}, the traineddata directories of the profiles can be set with the system
+ * properties {@code benchmark.tessdata.fast}, {@code benchmark.tessdata.balanced} and
+ * {@code benchmark.tessdata.accurate}, for instance to a checkout of tessdata_fast or
+ * tessdata_best
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+public class OcrProfileBenchmark
+{
+
+	private static final String DATAPATH = System.getProperty("benchmark.datapath",
+		"/usr/share/tessdata");
+
+	private static final String LANGUAGE = System.getProperty("benchmark.language", "deu");
+
+	@Param({ BenchmarkDocuments.PROGRAM_IMAGE, BenchmarkDocuments.SYNTHETIC_IMAGE })
+	String document;
+
+	@Param({ "FAST", "BALANCED", "ACCURATE" })
+	OcrProfile profile;
+
+	private final List<BufferedImage> images = new ArrayList<>();
+
+	private final List<File> imageFiles = new ArrayList<>();
+
+	private File outputDir;
+
+	private TesseractKey tesseractKey;
+
+	private TesseractProcessPool processPool;
+
+	private int page;
+
+	/**
+	 * Renders all pages of the PDF document with the default render options, writes them as image
+	 * files for the tesseract command line tool and creates the engine settings of the profile
+	 *
+	 * @throws IOException
+	 *             if the pages can not be rendered or written
+	 */
+	@Setup
+	public void setUp() throws IOException
+	{
+		OcrOptions ocrOptions = profile.getOcrOptions().toBuilder()
+			.tessdataDir(System.getProperty("benchmark.tessdata." + profile.name().toLowerCase()))
+			.build();
+		tesseractKey = TesseractKey.of(DATAPATH, LANGUAGE, ocrOptions);
+		outputDir = BenchmarkDocuments.newOutputDir();
+		processPool = new TesseractProcessPool(1, TesseractProcessPool.DEFAULT_TIMEOUT, null,
+			ocrOptions);
+		RenderOptions renderOptions = RenderOptions.builder().build();
+		try (PdfDocumentSession session = PdfDocumentSession
+			.open(BenchmarkDocuments.getPdfFile(document)))
+		{
+			for (int index = 0; index < session.getNumberOfPages(); ++index)
+			{
+				BufferedImage image = session.renderImage(index, renderOptions);
+				images.add(image);
+				imageFiles.add(PdfToTextExtensions.writeImageFile(image, session.getFileName(),
+					index, outputDir, renderOptions));
+			}
+		}
+	}
+
+	/**
+	 * Stops the process pool and deletes the image and text files
+	 *
+	 * @throws IOException
+	 *             if the files can not be deleted
+	 */
+	@TearDown
+	public void tearDown() throws IOException
+	{
+		processPool.close();
+		DeleteFileExtensions.delete(outputDir);
+	}
+
+	/**
+	 * Recognizes one rendered page in memory with a pooled tess4j engine of the profile, every
+	 * invocation takes the next page
+	 *
+	 * @return the recognized text
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	@Benchmark
+	public String tess4jPage() throws TesseractException
+	{
+		page = (page + 1) % images.size();
+		return ImagePdfToTextExtensions.extractTextFromImage(images.get(page), tesseractKey, null,
+			null);
+	}
+
+	/**
+	 * Recognizes one image file with a tesseract process with the options of the profile, every
+	 * invocation takes the next page
+	 *
+	 * @return the result of the tesseract process
+	 * @throws IOException
+	 *             if the tesseract process can not be started
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting
+	 */
+	@Benchmark
+	public ProcessOcrResult tesseractProcessPage() throws IOException, InterruptedException
+	{
+		page = (page + 1) % imageFiles.size();
+		return processPool.recognize(page, imageFiles.get(page), outputDir, LANGUAGE);
+	}
+}
@@ -0,0 +1,125 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapisixtynine.pdf.to.text.info.RenderOptions;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfDocumentSession;
+import io.github.astrapisixtynine.pdf.to.text.preprocess.ImagePreprocessingExtensions;
+import io.github.astrapisixtynine.pdf.to.text.preprocess.ImagePreprocessor;
+
+/**
+ * Benchmarks for the in memory preprocessing of a rendered page before OCR
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class PreprocessingBenchmark
+{
+
+	@Param({ BenchmarkDocuments.SAMPLE, BenchmarkDocuments.PROGRAM_IMAGE })
+	String document;
+
+	private BufferedImage image;
+
+	/**
+	 * Renders the first page of the PDF document with the default render options
+	 *
+	 * @throws IOException
+	 *             if the page can not be rendered
+	 */
+	@Setup
+	public void setUp() throws IOException
+	{
+		try (PdfDocumentSession session = PdfDocumentSession
+			.open(BenchmarkDocuments.getPdfFile(document)))
+		{
+			image = session.renderImage(0, RenderOptions.builder().build());
+		}
+	}
+
+	/**
+	 * Binarizes the rendered page with the threshold of Otsu's method
+	 *
+	 * @return the binary image
+	 */
+	@Benchmark
+	public BufferedImage binarize()
+	{
+		return ImagePreprocessingExtensions.binarize(image);
+	}
+
+	/**
+	 * Deskews the rendered page
+	 *
+	 * @return the deskewed image
+	 */
+	@Benchmark
+	public BufferedImage deskew()
+	{
+		return ImagePreprocessingExtensions.deskew(image);
+	}
+
+	/**
+	 * Crops the white margins of the rendered page
+	 *
+	 * @return the cropped image
+	 */
+	@Benchmark
+	public BufferedImage cropToContent()
+	{
+		return ImagePreprocessingExtensions.cropToContent(image,
+			ImagePreprocessingExtensions.DEFAULT_MARGIN);
+	}
+
+	/**
+	 * Runs the default preprocessing chain on the rendered page
+	 *
+	 * @return the preprocessed image
+	 */
+	@Benchmark
+	public BufferedImage defaultChain()
+	{
+		return ImagePreprocessor.defaultChain().process(image);
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.pdfbox.rendering.ImageType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.astrapisixtynine.pdf.to.text.info.RenderOptions;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfDocumentSession;
+
+/**
+ * Benchmarks for rendering a page with different resolutions and image types
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+public class RenderBenchmark
+{
+
+	@Param({ BenchmarkDocuments.SAMPLE, BenchmarkDocuments.PROGRAM_IMAGE,
+			BenchmarkDocuments.SYNTHETIC_TEXT })
+	String document;
+
+	@Param({ "150", "200", "300" })
+	float dpi;
+
+	@Param({ "RGB", "GRAY", "BINARY" })
+	ImageType imageType;
+
+	private PdfDocumentSession session;
+
+	private RenderOptions renderOptions;
+
+	private int page;
+
+	/**
+	 * Loads the PDF document once for all invocations
+	 *
+	 * @throws IOException
+	 *             if the PDF document can not be loaded
+	 */
+	@Setup
+	public void setUp() throws IOException
+	{
+		session = PdfDocumentSession.open(BenchmarkDocuments.getPdfFile(document));
+		renderOptions = RenderOptions.builder().dpi(dpi).imageType(imageType).build();
+	}
+
+	/**
+	 * Closes the PDF document
+	 *
+	 * @throws IOException
+	 *             if the PDF document can not be closed
+	 */
+	@TearDown
+	public void tearDown() throws IOException
+	{
+		session.close();
+	}
+
+	/**
+	 * Renders one page, every invocation takes the next page
+	 *
+	 * @return the rendered page
+	 * @throws IOException
+	 *             if the page can not be rendered
+	 */
+	@Benchmark
+	public BufferedImage renderPage() throws IOException
+	{
+		page = (page + 1) % session.getNumberOfPages();
+		return session.renderImage(page, renderOptions);
+	}
+}
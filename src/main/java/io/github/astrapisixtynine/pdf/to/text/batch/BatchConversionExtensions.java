@@ -0,0 +1,236 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.stream.Stream;
+
+import io.github.astrapi69.file.create.DirectoryFactory;
+import io.github.astrapi69.io.file.FilenameExtensions;
+import io.github.astrapisixtynine.pdf.to.text.hybrid.HybridPdfToTextExtensions;
+import io.github.astrapisixtynine.pdf.to.text.info.BatchConversionOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionStatus;
+import io.github.astrapisixtynine.pdf.to.text.info.DocumentConversionSummary;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfDocumentSession;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfToTextExtensions;
+import io.github.astrapisixtynine.pdf.to.text.tess4j.ImagePdfToTextExtensions;
+import lombok.extern.java.Log;
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * The class {@link BatchConversionExtensions} converts many PDF files to text. Every PDF file is
+ * converted on its own virtual thread, so waiting for I/O does not block a platform thread. At
+ * most the maximum number of open documents of the options are loaded at the same time, the other
+ * PDF files wait before they are loaded. The reading of the text layer, the rendering and the OCR
+ * of every page run only while a permit of a semaphore with the number of CPU permits of the
+ * options is held, this semaphore is shared by all PDF files and all of their OCR threads. The
+ * result of every PDF file is written to its own sub directory of the output directory that is
+ * named like the PDF file
+ */
+@Log
+public final class BatchConversionExtensions
+{
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private BatchConversionExtensions()
+	{
+	}
+
+	/**
+	 * Converts all PDF files of the given directory to text, sub directories are not searched
+	 *
+	 * @param inputDir
+	 *            the directory with the PDF files
+	 * @param outputDir
+	 *            the directory where the output files will be stored
+	 * @param options
+	 *            the options of the batch conversion
+	 * @return the summary of every PDF file in the order of the file names
+	 * @throws IOException
+	 *             if the directory can not be listed
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting for the conversions
+	 */
+	public static List<DocumentConversionSummary> convertDirectory(File inputDir, File outputDir,
+		BatchConversionOptions options) throws IOException, InterruptedException
+	{
+		List<File> pdfFiles;
+		try (Stream<Path> paths = Files.list(inputDir.toPath()))
+		{
+			pdfFiles = paths.filter(Files::isRegularFile)
+				.filter(path -> path.getFileName().toString().toLowerCase(Locale.ROOT)
+					.endsWith(".pdf"))
+				.sorted().map(Path::toFile).toList();
+		}
+		return convertAll(pdfFiles, outputDir, options);
+	}
+
+	/**
+	 * Converts the given PDF files to text. A failed PDF file does not stop the conversion of the
+	 * other PDF files, it is reported in its summary
+	 *
+	 * @param pdfFiles
+	 *            the PDF files to convert
+	 * @param outputDir
+	 *            the directory where the output files will be stored
+	 * @param options
+	 *            the options of the batch conversion
+	 * @return the summary of every PDF file in the order of the given PDF files
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting for the conversions
+	 */
+	public static List<DocumentConversionSummary> convertAll(List<File> pdfFiles, File outputDir,
+		BatchConversionOptions options) throws InterruptedException
+	{
+		if (options.getCpuPermits() < 1)
+		{
+			throw new IllegalArgumentException("cpuPermits must be at least 1");
+		}
+		if (options.getMaxOpenDocuments() < 1)
+		{
+			throw new IllegalArgumentException("maxOpenDocuments must be at least 1");
+		}
+		Semaphore documentPermits = new Semaphore(options.getMaxOpenDocuments(), true);
+		Semaphore cpuPermits = new Semaphore(options.getCpuPermits(), true);
+		List<DocumentConversionSummary> summaries = new ArrayList<>();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+		{
+			List<Future<DocumentConversionSummary>> futures = new ArrayList<>();
+			for (File pdfFile : pdfFiles)
+			{
+				futures.add(executor.submit(
+					() -> convert(pdfFile, outputDir, options, documentPermits, cpuPermits)));
+			}
+			try
+			{
+				for (Future<DocumentConversionSummary> future : futures)
+				{
+					summaries.add(future.get());
+				}
+			}
+			catch (ExecutionException e)
+			{
+				// convert reports every failure in the summary
+				throw new IllegalStateException(e.getCause());
+			}
+			catch (InterruptedException e)
+			{
+				executor.shutdownNow();
+				throw e;
+			}
+		}
+		return summaries;
+	}
+
+	private static DocumentConversionSummary convert(File pdfFile, File outputDir,
+		BatchConversionOptions options, Semaphore documentPermits, Semaphore cpuPermits)
+	{
+		long start = System.nanoTime();
+		DocumentConversionSummary.DocumentConversionSummaryBuilder summary;
+		summary = DocumentConversionSummary.builder().pdfFile(pdfFile)
+			.conversionMode(options.getConversionMode());
+		try
+		{
+			File documentDir = DirectoryFactory.newDirectory(outputDir,
+				FilenameExtensions.getFilenameWithoutExtension(pdfFile));
+			documentPermits.acquire();
+			try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile,
+				options.getConversionOptions().getLoadOptions()))
+			{
+				summary.pageCount(session.getNumberOfPages());
+				summary.resultTextFile(convert(session, documentDir, options, cpuPermits));
+			}
+			finally
+			{
+				documentPermits.release();
+			}
+			summary.status(ConversionStatus.SUCCEEDED);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			summary.status(ConversionStatus.FAILED).errorMessage("Interrupted");
+		}
+		catch (Exception e)
+		{
+			log.log(Level.WARNING, "Could not convert " + pdfFile, e);
+			summary.status(ConversionStatus.FAILED).errorMessage(String.valueOf(e.getMessage()));
+		}
+		return summary.duration(Duration.ofNanos(System.nanoTime() - start)).build();
+	}
+
+	private static File convert(PdfDocumentSession session, File documentDir,
+		BatchConversionOptions options, Semaphore cpuPermits)
+		throws IOException, TesseractException, InterruptedException
+	{
+		// the permits bound the text layer, the rendering and the OCR of the pages of all PDF
+		// files
+		ConversionOptions conversionOptions = options.getConversionOptions().toBuilder()
+			.cpuPermits(cpuPermits).build();
+		return switch (options.getConversionMode())
+		{
+			case TEXT_LAYER -> pdfToText(session, documentDir, cpuPermits);
+			case OCR -> ImagePdfToTextExtensions
+				.convertPdfToTextfile(session, documentDir, options.getDatapath(),
+					options.getLanguage(), conversionOptions)
+				.getResultTextFile();
+			case HYBRID -> HybridPdfToTextExtensions
+				.convertPdfToTextfile(session, documentDir, options.getDatapath(),
+					options.getLanguage(), conversionOptions)
+				.getResultTextFile();
+		};
+	}
+
+	private static File pdfToText(PdfDocumentSession session, File documentDir,
+		Semaphore cpuPermits) throws IOException, InterruptedException
+	{
+		cpuPermits.acquire();
+		try
+		{
+			return PdfToTextExtensions.pdfToText(session, documentDir, 0,
+				session.getNumberOfPages());
+		}
+		finally
+		{
+			cpuPermits.release();
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The abstract class {@link AbstractOcrResultCache} counts the hits and misses of an
+ * {@link OcrResultCache}, subclasses only have to look up the cached text
+ */
+public abstract class AbstractOcrResultCache implements OcrResultCache
+{
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public final String get(String key)
+	{
+		String text = load(key);
+		if (text != null)
+		{
+			hitCount.incrementAndGet();
+		}
+		else
+		{
+			missCount.incrementAndGet();
+		}
+		return text;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getHitCount()
+	{
+		return hitCount.get();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getMissCount()
+	{
+		return missCount.get();
+	}
+
+	/**
+	 * Looks up the cached text for the given key and marks the entry as recently used
+	 *
+	 * @param key
+	 *            the key of the page image
+	 * @return the cached text or null if the cache contains no text for the given key
+	 */
+	protected abstract String load(String key);
+}
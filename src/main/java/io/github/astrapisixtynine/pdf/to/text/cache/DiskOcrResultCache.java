@@ -0,0 +1,249 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link DiskOcrResultCache} stores every recognized text in its own file in a cache
+ * directory, so the cache survives restarts and can be shared by several runs. The entries are
+ * evicted in least recently used order as soon as the size of all cache files exceeds the byte
+ * budget. The last modification time of a cache file is updated on every hit, so the least
+ * recently used order is restored from the cache directory after a restart.
+ * <p>
+ * The cache is best effort, a cache file that can not be read or written is logged and treated as
+ * missing
+ */
+@Log
+public class DiskOcrResultCache extends AbstractOcrResultCache
+{
+
+	/**
+	 * The default byte budget of a disk cache
+	 */
+	public static final long DEFAULT_MAX_BYTES = 1024L * 1024 * 1024;
+
+	private static final String FILE_EXTENSION = ".txt";
+
+	private static final Pattern KEY_PATTERN = Pattern.compile("[0-9A-Za-z_-]+");
+
+	private final File directory;
+
+	private final long maxBytes;
+
+	private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long sizeInBytes;
+
+	/**
+	 * Creates a new {@link DiskOcrResultCache} with the default byte budget
+	 *
+	 * @param directory
+	 *            the cache directory
+	 * @throws IOException
+	 *             if the cache directory can not be created
+	 */
+	public DiskOcrResultCache(File directory) throws IOException
+	{
+		this(directory, DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * Creates a new {@link DiskOcrResultCache}. The cache files that already exist in the given
+	 * directory are taken over in the order of their last modification
+	 *
+	 * @param directory
+	 *            the cache directory
+	 * @param maxBytes
+	 *            the maximum size in bytes of all cache files
+	 * @throws IOException
+	 *             if the cache directory can not be created
+	 */
+	public DiskOcrResultCache(File directory, long maxBytes) throws IOException
+	{
+		if (maxBytes < 1)
+		{
+			throw new IllegalArgumentException("maxBytes must be at least 1");
+		}
+		this.directory = directory;
+		this.maxBytes = maxBytes;
+		Files.createDirectories(directory.toPath());
+		File[] cacheFiles = directory.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+		if (cacheFiles != null)
+		{
+			Arrays.sort(cacheFiles, Comparator.comparingLong(File::lastModified));
+			for (File cacheFile : cacheFiles)
+			{
+				String name = cacheFile.getName();
+				entries.put(name.substring(0, name.length() - FILE_EXTENSION.length()),
+					cacheFile.length());
+				sizeInBytes += cacheFile.length();
+			}
+		}
+		evict();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected synchronized String load(String key)
+	{
+		if (entries.get(key) == null)
+		{
+			return null;
+		}
+		Path cacheFile = getCacheFile(key);
+		try
+		{
+			String text = Files.readString(cacheFile, StandardCharsets.UTF_8);
+			cacheFile.toFile().setLastModified(System.currentTimeMillis());
+			return text;
+		}
+		catch (IOException e)
+		{
+			log.log(Level.WARNING, "Could not read the cache file " + cacheFile, e);
+			sizeInBytes -= entries.remove(key);
+			return null;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void put(String key, String text)
+	{
+		Path cacheFile = getCacheFile(key);
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		Long previousSize = entries.remove(key);
+		if (previousSize != null)
+		{
+			sizeInBytes -= previousSize;
+		}
+		try
+		{
+			if (maxBytes < bytes.length)
+			{
+				Files.deleteIfExists(cacheFile);
+				return;
+			}
+			// write a temporary file first, so a crash never leaves a truncated cache file
+			Path temporaryFile = Files.createTempFile(directory.toPath(), key, ".tmp");
+			Files.write(temporaryFile, bytes);
+			Files.move(temporaryFile, cacheFile, StandardCopyOption.ATOMIC_MOVE);
+			entries.put(key, (long)bytes.length);
+			sizeInBytes += bytes.length;
+			evict();
+		}
+		catch (IOException e)
+		{
+			log.log(Level.WARNING, "Could not write the cache file " + cacheFile, e);
+		}
+	}
+
+	/**
+	 * Gets the cache directory
+	 *
+	 * @return the cache directory
+	 */
+	public File getDirectory()
+	{
+		return directory;
+	}
+
+	/**
+	 * Gets the maximum size in bytes of all cache files
+	 *
+	 * @return the byte budget of this cache
+	 */
+	public long getMaxBytes()
+	{
+		return maxBytes;
+	}
+
+	/**
+	 * Gets the size in bytes of all cache files
+	 *
+	 * @return the size in bytes of all cache files
+	 */
+	public synchronized long getSizeInBytes()
+	{
+		return sizeInBytes;
+	}
+
+	/**
+	 * Gets the number of cached entries
+	 *
+	 * @return the number of cached entries
+	 */
+	public synchronized int size()
+	{
+		return entries.size();
+	}
+
+	private Path getCacheFile(String key)
+	{
+		if (!KEY_PATTERN.matcher(key).matches())
+		{
+			throw new IllegalArgumentException("Invalid cache key: " + key);
+		}
+		return new File(directory, key + FILE_EXTENSION).toPath();
+	}
+
+	private void evict()
+	{
+		Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+		while (maxBytes < sizeInBytes)
+		{
+			Map.Entry<String, Long> eldest = iterator.next();
+			Path cacheFile = getCacheFile(eldest.getKey());
+			try
+			{
+				Files.deleteIfExists(cacheFile);
+			}
+			catch (IOException e)
+			{
+				log.log(Level.WARNING, "Could not delete the cache file " + cacheFile, e);
+			}
+			sizeInBytes -= eldest.getValue();
+			iterator.remove();
+		}
+	}
+}
@@ -0,0 +1,152 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The class {@link MemoryOcrResultCache} holds the recognized texts on the heap. The entries are
+ * evicted in least recently used order as soon as the estimated size of all entries exceeds the
+ * byte budget
+ */
+public class MemoryOcrResultCache extends AbstractOcrResultCache
+{
+
+	/**
+	 * The default byte budget of a memory cache
+	 */
+	public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+	private final long maxBytes;
+
+	private final LinkedHashMap<String, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long sizeInBytes;
+
+	/**
+	 * Creates a new {@link MemoryOcrResultCache} with the default byte budget
+	 */
+	public MemoryOcrResultCache()
+	{
+		this(DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * Creates a new {@link MemoryOcrResultCache}
+	 *
+	 * @param maxBytes
+	 *            the maximum estimated size in bytes of all cached entries
+	 */
+	public MemoryOcrResultCache(long maxBytes)
+	{
+		if (maxBytes < 1)
+		{
+			throw new IllegalArgumentException("maxBytes must be at least 1");
+		}
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected synchronized String load(String key)
+	{
+		return entries.get(key);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void put(String key, String text)
+	{
+		String previous = entries.remove(key);
+		if (previous != null)
+		{
+			sizeInBytes -= getEntrySize(key, previous);
+		}
+		long entrySize = getEntrySize(key, text);
+		if (maxBytes < entrySize)
+		{
+			return;
+		}
+		entries.put(key, text);
+		sizeInBytes += entrySize;
+		Iterator<Map.Entry<String, String>> iterator = entries.entrySet().iterator();
+		while (maxBytes < sizeInBytes)
+		{
+			Map.Entry<String, String> eldest = iterator.next();
+			sizeInBytes -= getEntrySize(eldest.getKey(), eldest.getValue());
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Gets the maximum estimated size in bytes of all cached entries
+	 *
+	 * @return the byte budget of this cache
+	 */
+	public long getMaxBytes()
+	{
+		return maxBytes;
+	}
+
+	/**
+	 * Gets the estimated size in bytes of all cached entries
+	 *
+	 * @return the estimated size in bytes of all cached entries
+	 */
+	public synchronized long getSizeInBytes()
+	{
+		return sizeInBytes;
+	}
+
+	/**
+	 * Gets the number of cached entries
+	 *
+	 * @return the number of cached entries
+	 */
+	public synchronized int size()
+	{
+		return entries.size();
+	}
+
+	/**
+	 * Estimates the heap size of an entry from the chars of the key and the text
+	 *
+	 * @param key
+	 *            the key of the entry
+	 * @param text
+	 *            the text of the entry
+	 * @return the estimated size in bytes
+	 */
+	static long getEntrySize(String key, String text)
+	{
+		return 2L * (key.length() + text.length());
+	}
+}
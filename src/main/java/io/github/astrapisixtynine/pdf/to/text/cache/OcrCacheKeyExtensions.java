@@ -0,0 +1,198 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.cache;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.TreeMap;
+
+import io.github.astrapisixtynine.pdf.to.text.info.OcrOptions;
+import io.github.astrapisixtynine.pdf.to.text.tess4j.TesseractKey;
+
+/**
+ * The class {@link OcrCacheKeyExtensions} creates the keys of an {@link OcrResultCache}. A key is
+ * the SHA-256 hash of the content of a page image and the OCR settings, so equal page images are
+ * found again independent of the PDF file and the name of the image file. The render settings are
+ * covered by the content, because they change the pixels of the page image
+ */
+public final class OcrCacheKeyExtensions
+{
+
+	private static final String ALGORITHM = "SHA-256";
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private OcrCacheKeyExtensions()
+	{
+	}
+
+	/**
+	 * Creates the key for the given content and OCR settings
+	 *
+	 * @param content
+	 *            the content of the page image
+	 * @param settings
+	 *            the OCR settings
+	 * @return the key as hex string
+	 */
+	public static String newKey(byte[] content, String settings)
+	{
+		MessageDigest digest = newMessageDigest();
+		digest.update(content);
+		return toKey(digest, settings);
+	}
+
+	/**
+	 * Creates the key for the content of the given image file and OCR settings
+	 *
+	 * @param imageFile
+	 *            the image file
+	 * @param settings
+	 *            the OCR settings
+	 * @return the key as hex string
+	 * @throws IOException
+	 *             if the image file can not be read
+	 */
+	public static String newKey(File imageFile, String settings) throws IOException
+	{
+		MessageDigest digest = newMessageDigest();
+		try (InputStream inputStream = Files.newInputStream(imageFile.toPath()))
+		{
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int read;
+			while ((read = inputStream.read(buffer)) != -1)
+			{
+				digest.update(buffer, 0, read);
+			}
+		}
+		return toKey(digest, settings);
+	}
+
+	/**
+	 * Creates the key for the pixels of the given image and OCR settings
+	 *
+	 * @param image
+	 *            the rendered image
+	 * @param settings
+	 *            the OCR settings
+	 * @return the key as hex string
+	 */
+	public static String newKey(BufferedImage image, String settings)
+	{
+		MessageDigest digest = newMessageDigest();
+		int width = image.getWidth();
+		int height = image.getHeight();
+		ByteBuffer row = ByteBuffer.allocate(Math.max(8, width * Integer.BYTES));
+		row.putInt(width).putInt(height);
+		digest.update(row.array(), 0, 8);
+		int[] pixels = new int[width];
+		for (int y = 0; y < height; ++y)
+		{
+			image.getRGB(0, y, width, 1, pixels, 0, width);
+			row.clear();
+			row.asIntBuffer().put(pixels);
+			digest.update(row.array(), 0, width * Integer.BYTES);
+		}
+		return toKey(digest, settings);
+	}
+
+	/**
+	 * Gets the OCR settings of the given engine key of tess4j
+	 *
+	 * @param tesseractKey
+	 *            the engine key
+	 * @return the OCR settings
+	 */
+	public static String getSettings(TesseractKey tesseractKey)
+	{
+		return "tess4j|" + tesseractKey.getDatapath() + "|" + tesseractKey.getLanguage() + "|"
+			+ tesseractKey.getOcrEngineMode() + "|" + tesseractKey.getPageSegMode() + "|"
+			+ new TreeMap<>(tesseractKey.getVariables());
+	}
+
+	/**
+	 * Gets the OCR settings of the tesseract command line tool with the given language
+	 *
+	 * @param ocrLanguage
+	 *            the ocr language
+	 * @return the OCR settings
+	 */
+	public static String getSettings(String ocrLanguage)
+	{
+		return "tesseract|" + ocrLanguage;
+	}
+
+	/**
+	 * Gets the OCR settings of the tesseract command line tool with the given language and OCR
+	 * options
+	 *
+	 * @param ocrLanguage
+	 *            the ocr language
+	 * @param ocrOptions
+	 *            the OCR options or null for the default settings of the tesseract command line
+	 *            tool
+	 * @return the OCR settings
+	 */
+	public static String getSettings(String ocrLanguage, OcrOptions ocrOptions)
+	{
+		if (ocrOptions == null)
+		{
+			return getSettings(ocrLanguage);
+		}
+		return getSettings(ocrLanguage) + "|" + ocrOptions.getTessdataDir() + "|"
+			+ ocrOptions.getOcrEngineMode() + "|" + ocrOptions.getPageSegMode() + "|"
+			+ new TreeMap<>(ocrOptions.getVariables());
+	}
+
+	private static String toKey(MessageDigest digest, String settings)
+	{
+		digest.update((byte)0);
+		digest.update(settings.getBytes(StandardCharsets.UTF_8));
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static MessageDigest newMessageDigest()
+	{
+		try
+		{
+			return MessageDigest.getInstance(ALGORITHM);
+		}
+		catch (NoSuchAlgorithmException e)
+		{
+			throw new IllegalStateException(ALGORITHM + " is not available", e);
+		}
+	}
+}
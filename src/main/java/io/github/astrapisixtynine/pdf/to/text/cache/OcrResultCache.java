@@ -0,0 +1,69 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.cache;
+
+/**
+ * The interface {@link OcrResultCache} stores the recognized text of page images, so the OCR of an
+ * already recognized page image can be skipped. The keys are created with
+ * {@link OcrCacheKeyExtensions} from the content of the page image and the OCR settings.
+ * Implementations must be thread safe
+ */
+public interface OcrResultCache
+{
+
+	/**
+	 * Gets the cached text for the given key
+	 *
+	 * @param key
+	 *            the key of the page image
+	 * @return the cached text or null if the cache contains no text for the given key
+	 */
+	String get(String key);
+
+	/**
+	 * Stores the given text for the given key. Least recently used entries may be evicted to stay
+	 * in the byte budget of the cache
+	 *
+	 * @param key
+	 *            the key of the page image
+	 * @param text
+	 *            the recognized text of the page image
+	 */
+	void put(String key, String text);
+
+	/**
+	 * Gets the number of calls of {@link #get(String)} that found a cached text
+	 *
+	 * @return the number of cache hits
+	 */
+	long getHitCount();
+
+	/**
+	 * Gets the number of calls of {@link #get(String)} that found no cached text
+	 *
+	 * @return the number of cache misses
+	 */
+	long getMissCount();
+}
@@ -0,0 +1,100 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.cache;
+
+/**
+ * The class {@link TieredOcrResultCache} combines a fast memory tier with a persistent disk tier.
+ * A lookup asks the memory tier first and the disk tier only on a miss, a text found in the disk
+ * tier is promoted to the memory tier. New texts are stored in both tiers
+ */
+public class TieredOcrResultCache extends AbstractOcrResultCache
+{
+
+	private final OcrResultCache memoryTier;
+
+	private final OcrResultCache diskTier;
+
+	/**
+	 * Creates a new {@link TieredOcrResultCache}
+	 *
+	 * @param memoryTier
+	 *            the cache that is asked first
+	 * @param diskTier
+	 *            the cache that is asked on a miss of the memory tier
+	 */
+	public TieredOcrResultCache(OcrResultCache memoryTier, OcrResultCache diskTier)
+	{
+		this.memoryTier = memoryTier;
+		this.diskTier = diskTier;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String load(String key)
+	{
+		String text = memoryTier.get(key);
+		if (text == null)
+		{
+			text = diskTier.get(key);
+			if (text != null)
+			{
+				memoryTier.put(key, text);
+			}
+		}
+		return text;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void put(String key, String text)
+	{
+		memoryTier.put(key, text);
+		diskTier.put(key, text);
+	}
+
+	/**
+	 * Gets the cache that is asked first
+	 *
+	 * @return the memory tier
+	 */
+	public OcrResultCache getMemoryTier()
+	{
+		return memoryTier;
+	}
+
+	/**
+	 * Gets the cache that is asked on a miss of the memory tier
+	 *
+	 * @return the disk tier
+	 */
+	public OcrResultCache getDiskTier()
+	{
+		return diskTier;
+	}
+}
@@ -0,0 +1,378 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.hybrid;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import io.github.astrapi69.file.create.FileFactory;
+import io.github.astrapi69.io.file.FileExtension;
+import io.github.astrapisixtynine.pdf.to.text.cache.OcrCacheKeyExtensions;
+import io.github.astrapisixtynine.pdf.to.text.info.BlankPageOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionMode;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionResult;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionStage;
+import io.github.astrapisixtynine.pdf.to.text.info.OcrEngine;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSelection;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSource;
+import io.github.astrapisixtynine.pdf.to.text.info.RenderOptions;
+import io.github.astrapisixtynine.pdf.to.text.metrics.ConversionMetricsRecorder;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfDocumentSession;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfToTextExtensions;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.ConversionCheckpoint;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.PageRecognizer;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.PageRenderer;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.PageWriter;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.RenderOcrPipeline;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.ResultTextWriter;
+import io.github.astrapisixtynine.pdf.to.text.preprocess.BlankPageExtensions;
+import io.github.astrapisixtynine.pdf.to.text.tess4j.ImagePdfToTextExtensions;
+import io.github.astrapisixtynine.pdf.to.text.tess4j.TesseractKey;
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * The class {@link HybridPdfToTextExtensions} provides functionality to convert a PDF file with
+ * mixed born-digital and scanned pages into a text file. The text of a page is taken from the text
+ * layer of the PDF if it is usable, only the pages without a usable text layer are rendered and
+ * processed with Tesseract OCR
+ */
+public final class HybridPdfToTextExtensions
+{
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private HybridPdfToTextExtensions()
+	{
+	}
+
+	/**
+	 * Converts a PDF file to text using the text layer of the pages where it is usable and OCR for
+	 * all other pages
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param outputDir
+	 *            the directory where the output files will be stored
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @return the {@link ConversionResult} object of the conversion process containing the image
+	 *         files of the OCR pages, the text files, the final result text file and the source of
+	 *         each page
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static ConversionResult convertPdfToTextfile(File pdfFile, File outputDir,
+		String datapath, String language) throws IOException, TesseractException
+	{
+		return convertPdfToTextfile(pdfFile, outputDir, datapath, language,
+			ConversionOptions.builder().build());
+	}
+
+	/**
+	 * Converts a PDF file to text using the text layer of the pages where it is usable and OCR for
+	 * all other pages. The text layer of every page is extracted in the rendering stage of a
+	 * {@link RenderOcrPipeline}, only the pages without a usable text layer are rendered and handed
+	 * to the OCR workers. The text of all pages is appended in page order to the result text file
+	 * as soon as it is ready
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param outputDir
+	 *            the directory where the output files will be stored
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param options
+	 *            the options of the conversion
+	 * @return the {@link ConversionResult} object of the conversion process containing the image
+	 *         files of the OCR pages, the text files, the final result text file and the source of
+	 *         each page
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static ConversionResult convertPdfToTextfile(File pdfFile, File outputDir,
+		String datapath, String language, ConversionOptions options)
+		throws IOException, TesseractException
+	{
+		try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile,
+			options.getLoadOptions()))
+		{
+			return convertPdfToTextfile(session, outputDir, datapath, language, options);
+		}
+	}
+
+	/**
+	 * Converts the PDF document of the given session to text like
+	 * {@link #convertPdfToTextfile(File, File, String, String, ConversionOptions)} without loading
+	 * the PDF file again
+	 *
+	 * @param session
+	 *            the session of the loaded PDF document
+	 * @param outputDir
+	 *            the directory where the output files will be stored
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param options
+	 *            the options of the conversion
+	 * @return the {@link ConversionResult} object of the conversion process containing the image
+	 *         files of the OCR pages, the text files, the final result text file and the source of
+	 *         each page
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static ConversionResult convertPdfToTextfile(PdfDocumentSession session,
+		File outputDir, String datapath, String language, ConversionOptions options)
+		throws IOException, TesseractException
+	{
+		String fileName = session.getFileName();
+		File resultTextFile = FileFactory.newFile(outputDir,
+			fileName + FileExtension.TXT.getExtension());
+		List<File> imageFiles = new ArrayList<>();
+		List<File> textFiles;
+		Map<Integer, PageSource> pageSources = new LinkedHashMap<>();
+		// text of the pages with a usable text layer, handed from the rendering stage to the OCR
+		// stage without an image
+		Map<Integer, String> textLayers = new ConcurrentHashMap<>();
+		Set<Integer> recognizedPages = ConcurrentHashMap.newKeySet();
+		TesseractKey tesseractKey = TesseractKey.of(datapath, language, options.getOcrOptions());
+		ConversionCheckpoint checkpoint = options.isResume()
+			? ConversionCheckpoint.open(outputDir, session.getPdfFile(),
+				"hybrid|" + options.getMinTextLayerCharacters() + "|"
+					+ OcrCacheKeyExtensions.getSettings(tesseractKey) + "|"
+					+ options.getRenderOptions() + "|" + options.getImagePreprocessor() + "|"
+					+ options.getTileOptions() + "|" + options.getBlankPageOptions())
+			: null;
+		ConversionMetricsRecorder metricsRecorder = new ConversionMetricsRecorder(
+			ConversionMode.HYBRID, OcrEngine.TESS4J, options.getMetricsListener());
+		metricsRecorder.recordLoad(session.getLoadDuration());
+		BlankPageOptions blankPageOptions = options.getBlankPageOptions();
+		Set<Integer> blankPages = ConcurrentHashMap.newKeySet();
+		// the pages whose image file is written by this conversion, the image files of pages
+		// finished by an earlier conversion may be missing or stale
+		Set<Integer> imagePages = ConcurrentHashMap.newKeySet();
+		Set<Integer> timedOutPages;
+
+		try (ResultTextWriter resultTextWriter = new ResultTextWriter(resultTextFile,
+			options.isWritePageTextFiles()
+				? page -> new File(outputDir,
+					PdfToTextExtensions.getPageFileName(fileName, page) + ".txt")
+				: null))
+		{
+			RenderOptions renderOptions = options.getRenderOptions();
+			// step 1: use the text layer if it is usable otherwise render the page, reading the
+			// text layer and the rendering hold the same permit
+			PageRenderer unboundedRenderer = page -> {
+				long textLayerStart = System.nanoTime();
+				String text = session.getPageText(page);
+				metricsRecorder.record(page, ConversionStage.TEXT_LAYER, textLayerStart);
+				if (hasUsableTextLayer(text, options.getMinTextLayerCharacters()))
+				{
+					textLayers.put(page, text);
+					return null;
+				}
+				if (blankPageOptions != null && !session.hasContents(page))
+				{
+					blankPages.add(page);
+					return null;
+				}
+				long renderStart = System.nanoTime();
+				BufferedImage image = session.renderImage(page, renderOptions);
+				metricsRecorder.record(page, ConversionStage.RENDER, renderStart);
+				return image;
+			};
+			PageRenderer renderer = unboundedRenderer.withPermits(options.getCpuPermits());
+			// step 2: OCR only the rendered pages
+			PageRecognizer pageRecognizer = (page, image) -> {
+				if (blankPages.contains(page))
+				{
+					return "";
+				}
+				if (image == null)
+				{
+					return textLayers.get(page);
+				}
+				recognizedPages.add(page);
+				if (blankPageOptions != null
+					&& BlankPageExtensions.isBlank(image, blankPageOptions))
+				{
+					blankPages.add(page);
+					return "";
+				}
+				BufferedImage ocrImage = image;
+				if (options.getImagePreprocessor() != null)
+				{
+					long preprocessStart = System.nanoTime();
+					ocrImage = options.getImagePreprocessor().process(image);
+					metricsRecorder.record(page, ConversionStage.PREPROCESS, preprocessStart);
+				}
+				if (options.isWriteImageFiles())
+				{
+					long encodeStart = System.nanoTime();
+					File imageFile = PdfToTextExtensions.writeImageFile(ocrImage, fileName, page,
+						outputDir, renderOptions);
+					metricsRecorder.record(page, ConversionStage.ENCODE, encodeStart);
+					metricsRecorder.recordBytesWritten(page, imageFile.length());
+					imagePages.add(page);
+				}
+				long ocrStart = System.nanoTime();
+				String text = ImagePdfToTextExtensions.extractTextFromImage(ocrImage, tesseractKey,
+					options.getOcrResultCache(), options.getTileOptions(),
+					options.getCpuPermits());
+				metricsRecorder.record(page, ConversionStage.OCR, ocrStart);
+				return text;
+			};
+			// the source of every page is recorded in the checkpoint, so a resumed page keeps it
+			PageRecognizer recognizer = checkpoint == null ? pageRecognizer : (page, image) -> {
+				String text = pageRecognizer.recognize(page, image);
+				checkpoint.writePageSource(page, blankPages.contains(page)
+					? PageSource.BLANK
+					: image == null ? PageSource.TEXT_LAYER : PageSource.OCR);
+				return text;
+			};
+			// step 3: stream the text in page order to the result text file
+			PageWriter writer = (page, text) -> {
+				boolean textLayer = textLayers.remove(page) != null;
+				boolean blank = blankPages.contains(page);
+				if (!textLayer && !recognizedPages.remove(page) && !blank)
+				{
+					// the page was finished by an earlier conversion that recorded its source in
+					// the checkpoint, only a checkpoint of an older version has no source
+					PageSource resumedSource = checkpoint != null
+						? checkpoint.getPageSource(page)
+						: null;
+					if (resumedSource == PageSource.BLANK)
+					{
+						blankPages.add(page);
+						blank = true;
+					}
+					textLayer = resumedSource != null
+						? resumedSource == PageSource.TEXT_LAYER
+						: hasUsableTextLayer(session.getPageText(page),
+							options.getMinTextLayerCharacters());
+				}
+				PageSource pageSource = textLayer
+					? PageSource.TEXT_LAYER
+					: blank ? PageSource.BLANK : PageSource.OCR;
+				pageSources.put(page + 1, pageSource);
+				if (imagePages.contains(page))
+				{
+					imageFiles.add(PdfToTextExtensions.getImageFile(fileName, page, outputDir,
+						renderOptions));
+				}
+				long writeStart = System.nanoTime();
+				long bytesWritten = resultTextWriter.getBytesWritten();
+				resultTextWriter.write(page, text);
+				metricsRecorder.record(page, ConversionStage.WRITE, writeStart);
+				metricsRecorder.recordBytesWritten(page,
+					resultTextWriter.getBytesWritten() - bytesWritten);
+				metricsRecorder.recordPageSource(page, pageSource);
+				metricsRecorder.finishPage(page);
+			};
+			RenderOcrPipeline pipeline = new RenderOcrPipeline(renderer, recognizer, writer,
+				options.getOcrThreads(), options.getQueueCapacity(), options.getOcrTimeout(),
+				options.getDeadline(), options.getCpuPermits());
+			pipeline.execute(options.getPageSelection().resolve(session.getNumberOfPages()),
+				checkpoint);
+			timedOutPages = pipeline.getTimedOutPages();
+			textFiles = new ArrayList<>(resultTextWriter.getTextFiles());
+			PdfToTextExtensions.deleteTextFiles(textFiles, timedOutPages, fileName, outputDir);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new TesseractException("Interrupted while converting the PDF file", e);
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException ioException)
+			{
+				throw ioException;
+			}
+			if (cause instanceof TesseractException tesseractException)
+			{
+				throw tesseractException;
+			}
+			if (cause instanceof RuntimeException runtimeException)
+			{
+				throw runtimeException;
+			}
+			throw new TesseractException(cause);
+		}
+
+		if (checkpoint != null && timedOutPages.isEmpty())
+		{
+			// the result text file holds every page, timed out pages keep the checkpoint for a
+			// resumed conversion
+			checkpoint.delete();
+		}
+		return ConversionResult.builder().imageFiles(imageFiles).textFiles(textFiles)
+			.resultTextFile(resultTextFile).pageSources(pageSources)
+			.blankPages(PageSelection.getPageNumbers(blankPages))
+			.timedOutPages(PageSelection.getPageNumbers(timedOutPages))
+			.metrics(metricsRecorder.finish()).build();
+	}
+
+	/**
+	 * Checks if the given text of a text layer is usable. A text layer is usable if it contains at
+	 * least the given number of letters and digits
+	 *
+	 * @param text
+	 *            the text of the text layer
+	 * @param minCharacters
+	 *            the minimum number of letters and digits
+	 * @return true if the text layer is usable otherwise false
+	 */
+	public static boolean hasUsableTextLayer(String text, int minCharacters)
+	{
+		if (text == null)
+		{
+			return false;
+		}
+		return text.codePoints().filter(Character::isLetterOrDigit).limit(minCharacters)
+			.count() >= minCharacters;
+	}
+}
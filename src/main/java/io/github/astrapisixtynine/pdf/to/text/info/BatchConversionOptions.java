@@ -0,0 +1,77 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link BatchConversionOptions} holds the options for the conversion of many PDF files
+ */
+@Data
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BatchConversionOptions
+{
+	/**
+	 * The conversion path that is used for all PDF files
+	 */
+	@Builder.Default
+	ConversionMode conversionMode = ConversionMode.TEXT_LAYER;
+
+	/**
+	 * The path to Tesseract data files, only used for OCR
+	 */
+	String datapath;
+
+	/**
+	 * The language to use for OCR
+	 */
+	@Builder.Default
+	String language = "deu";
+
+	/**
+	 * The maximum number of pages of all PDF files that are rendered, processed with OCR or whose
+	 * text layer is extracted at the same time
+	 */
+	@Builder.Default
+	int cpuPermits = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The maximum number of PDF files that are converted at the same time. A PDF file is admitted
+	 * before it is loaded and leaves after it is closed, so this bounds the memory, the open files
+	 * and the OCR threads of the loaded PDF files
+	 */
+	@Builder.Default
+	int maxOpenDocuments = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * The options of the conversion of every single PDF file
+	 */
+	@Builder.Default
+	ConversionOptions conversionOptions = ConversionOptions.builder().build();
+}
@@ -0,0 +1,61 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link BlankPageOptions} holds the options for detecting blank pages on the rendered
+ * page images, the OCR of a blank page is skipped
+ */
+@Data
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BlankPageOptions
+{
+	/**
+	 * The maximum ratio of the ink pixels to all checked pixels of a blank page. This tolerates
+	 * scanner noise and dust
+	 */
+	@Builder.Default
+	double maxInkRatio = 0.002;
+
+	/**
+	 * The greatest gray value of an ink pixel, in binary images only the black pixels are ink
+	 * pixels
+	 */
+	@Builder.Default
+	int inkThreshold = 127;
+
+	/**
+	 * The ratio of the width and the height of the page image at every edge that is not checked,
+	 * because scanned pages often have dark edges or punch holes
+	 */
+	@Builder.Default
+	double borderRatio = 0.03;
+}
@@ -0,0 +1,75 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link ConversionMetrics} holds the measured wall times and the written bytes of a PDF
+ * to text conversion. The stage durations are summed up over all pages, so with more than one OCR
+ * worker their sum can be greater than the total duration
+ */
+@Data
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ConversionMetrics
+{
+	/**
+	 * The conversion path that is used for the PDF file
+	 */
+	ConversionMode conversionMode;
+
+	/**
+	 * The OCR engine that recognizes the rendered pages
+	 */
+	OcrEngine ocrEngine;
+
+	/**
+	 * The wall clock time of the whole conversion including the loading of the PDF file
+	 */
+	Duration totalDuration;
+
+	/**
+	 * The wall time of every measured stage summed up over all pages
+	 */
+	Map<ConversionStage, Duration> stageDurations;
+
+	/**
+	 * The number of bytes that are written to the output directory
+	 */
+	long bytesWritten;
+
+	/**
+	 * The metrics of the converted pages in page order
+	 */
+	List<PageMetrics> pageMetrics;
+}
@@ -0,0 +1,173 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+import io.github.astrapisixtynine.pdf.to.text.cache.OcrResultCache;
+import io.github.astrapisixtynine.pdf.to.text.metrics.ConversionMetricsListener;
+import io.github.astrapisixtynine.pdf.to.text.preprocess.ImagePreprocessor;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.ConversionCheckpoint;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link ConversionOptions} holds the options for the PDF to text conversion
+ */
+@Data
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ConversionOptions
+{
+	/**
+	 * The flag that indicates if the rendered page images are written to the output directory. If
+	 * false the rendered page images are handed to the OCR engine in memory only, this is mostly
+	 * useful as debug output
+	 */
+	@Builder.Default
+	boolean writeImageFiles = true;
+
+	/**
+	 * The number of OCR workers that process the rendered pages in parallel
+	 */
+	@Builder.Default
+	int ocrThreads = 1;
+
+	/**
+	 * The flag that indicates if the text of every page is also written to its own text file. The
+	 * text of all pages is always streamed to the result text file
+	 */
+	@Builder.Default
+	boolean writePageTextFiles = true;
+
+	/**
+	 * The maximum number of rendered pages that wait for an OCR worker. This caps the memory that
+	 * is used for rendered pages independent of the number of pages of the document
+	 */
+	@Builder.Default
+	int queueCapacity = 2;
+
+	/**
+	 * The maximum time of the OCR of one page or null for no timeout, which is the default. A
+	 * tesseract process that exceeds it is killed, the OCR worker of a tess4j engine that exceeds
+	 * it is replaced. The native call of a tess4j engine can not be interrupted, so the engine is
+	 * only given back to its pool and the worker is only replaced when the native call returns.
+	 * The timed out pages are written with an empty text and reported in the
+	 * {@link ConversionResult} instead of failing the conversion
+	 */
+	Duration ocrTimeout;
+
+	/**
+	 * The maximum time of the whole conversion or null for no deadline. If the deadline is
+	 * exceeded, no further pages are rendered, running tesseract processes are killed and the
+	 * conversion fails with an {@link java.io.InterruptedIOException}
+	 */
+	Duration deadline;
+
+	/**
+	 * The minimum number of letters and digits the text layer of a page must contain to be used
+	 * instead of OCR in a hybrid conversion
+	 */
+	@Builder.Default
+	int minTextLayerCharacters = 20;
+
+	/**
+	 * The options for rendering the pages into images
+	 */
+	@Builder.Default
+	RenderOptions renderOptions = RenderOptions.builder().build();
+
+	/**
+	 * The pages that are converted, pages outside the selection are never rendered
+	 */
+	@Builder.Default
+	PageSelection pageSelection = PageSelection.all();
+
+	/**
+	 * The options for loading the PDF document
+	 */
+	@Builder.Default
+	LoadOptions loadOptions = LoadOptions.builder().build();
+
+	/**
+	 * The cache for the recognized texts of the page images. If set, page images that were already
+	 * recognized with the same OCR settings are taken from the cache instead of running OCR again,
+	 * null disables the cache
+	 */
+	OcrResultCache ocrResultCache;
+
+	/**
+	 * The flag that indicates if the OCR conversion records every finished page in a
+	 * {@link ConversionCheckpoint} in the output directory and skips the pages that were already
+	 * finished by an earlier conversion of the same PDF file with the same settings. The result
+	 * text file is assembled only after every page is finished, afterwards the checkpoint is
+	 * deleted unless the OCR of a page timed out
+	 */
+	boolean resume;
+
+	/**
+	 * The listener that is notified with the metrics of every finished page and of the finished
+	 * conversion, null if no listener should be notified. The metrics are also returned in the
+	 * {@link ConversionResult}
+	 */
+	ConversionMetricsListener metricsListener;
+
+	/**
+	 * The preprocessor that prepares the rendered page images in memory before OCR, like
+	 * {@link ImagePreprocessor#defaultChain()}, null if the rendered page images are recognized as
+	 * they are. If image files are written, they contain the preprocessed page images
+	 */
+	ImagePreprocessor imagePreprocessor;
+
+	/**
+	 * The options for detecting blank pages, the OCR of a blank page is skipped and its page
+	 * number is recorded in the {@link ConversionResult}. Pages without content are detected
+	 * without rendering them, null disables the detection of blank pages
+	 */
+	BlankPageOptions blankPageOptions;
+
+	/**
+	 * The options for recognizing oversized page images like large drawings or long receipts in
+	 * overlapping horizontal strips in parallel, null recognizes every page image as a whole
+	 */
+	TileOptions tileOptions;
+
+	/**
+	 * The engine settings of the OCR like a profile of {@link OcrProfile}, honoured by tess4j and
+	 * by the tesseract command line tool, null uses the default settings of Tesseract
+	 */
+	OcrOptions ocrOptions;
+
+	/**
+	 * The permits that bound the rendering, the reading of the text layer in a hybrid conversion
+	 * and the OCR of pages across concurrent conversions, like the conversions of a batch, null if
+	 * they are only bounded by the number of OCR threads. Loading the PDF document and writing the
+	 * results do not need a permit
+	 */
+	Semaphore cpuPermits;
+}
@@ -26,6 +26,7 @@ package io.github.astrapisixtynine.pdf.to.text.info;
 
 import java.io.File;
 import java.util.List;
+import java.util.Map;
 
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -54,4 +55,26 @@ public class ConversionResult
 	 * The final text file that is concatenated from all the text files
 	 */
 	File resultTextFile;
+
+	/**
+	 * The source of the text of each converted page, keyed by the page number starting with 1
+	 */
+	Map<Integer, PageSource> pageSources;
+
+	/**
+	 * The page numbers starting with 1 of the pages that are detected as blank and skipped by OCR.
+	 * The list is empty if the detection of blank pages is disabled
+	 */
+	List<Integer> blankPages;
+
+	/**
+	 * The page numbers starting with 1 of the pages whose OCR exceeded the OCR timeout and that
+	 * are written with an empty text
+	 */
+	List<Integer> timedOutPages;
+
+	/**
+	 * The measured wall times of the stages and the written bytes of the conversion
+	 */
+	ConversionMetrics metrics;
 }
@@ -0,0 +1,62 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+/**
+ * Enum representing the stages of a PDF to text conversion that are measured in the
+ * {@link ConversionMetrics}
+ */
+public enum ConversionStage
+{
+	/**
+	 * The PDF file is loaded into a PDF document
+	 */
+	LOAD,
+	/**
+	 * The text is extracted from the text layer of a page
+	 */
+	TEXT_LAYER,
+	/**
+	 * A page is rendered into an image
+	 */
+	RENDER,
+	/**
+	 * The rendered image of a page is preprocessed in memory before OCR
+	 */
+	PREPROCESS,
+	/**
+	 * The rendered image of a page is encoded into an image file
+	 */
+	ENCODE,
+	/**
+	 * The text is recognized with OCR from the rendered image of a page
+	 */
+	OCR,
+	/**
+	 * The text of a page is appended to the result text file and optionally written to its own
+	 * text file
+	 */
+	WRITE
+}
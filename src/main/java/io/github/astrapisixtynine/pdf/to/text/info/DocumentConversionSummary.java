@@ -0,0 +1,78 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import java.io.File;
+import java.time.Duration;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link DocumentConversionSummary} holds the summary of the conversion of a single PDF
+ * file of a batch conversion
+ */
+@Data
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DocumentConversionSummary
+{
+	/**
+	 * The converted PDF file
+	 */
+	File pdfFile;
+
+	/**
+	 * The result text file or null if the conversion failed
+	 */
+	File resultTextFile;
+
+	/**
+	 * The conversion path that is used for the PDF file
+	 */
+	ConversionMode conversionMode;
+
+	/**
+	 * The outcome of the conversion
+	 */
+	ConversionStatus status;
+
+	/**
+	 * The number of pages of the PDF file or zero if it could not be loaded
+	 */
+	int pageCount;
+
+	/**
+	 * The wall clock time of the conversion including the time waiting for a CPU permit
+	 */
+	Duration duration;
+
+	/**
+	 * The message of the failure or null if the conversion succeeded
+	 */
+	String errorMessage;
+}
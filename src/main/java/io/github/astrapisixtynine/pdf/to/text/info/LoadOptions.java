@@ -0,0 +1,66 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import java.io.File;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link LoadOptions} holds the options for loading a PDF document. Very large PDF
+ * documents should be loaded with {@link PdfLoadStrategy#MIXED} or
+ * {@link PdfLoadStrategy#TEMP_FILE} so that the decoded streams do not fill the heap
+ */
+@Data
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LoadOptions
+{
+	/**
+	 * The default heap budget for the decoded streams of the strategy {@link PdfLoadStrategy#MIXED}
+	 */
+	public static final long DEFAULT_MAX_MAIN_MEMORY_BYTES = 64L * 1024 * 1024;
+
+	/**
+	 * The strategy where the decoded streams are cached
+	 */
+	@Builder.Default
+	PdfLoadStrategy strategy = PdfLoadStrategy.HEAP;
+
+	/**
+	 * The heap budget in bytes for the decoded streams of the strategy
+	 * {@link PdfLoadStrategy#MIXED}
+	 */
+	@Builder.Default
+	long maxMainMemoryBytes = DEFAULT_MAX_MAIN_MEMORY_BYTES;
+
+	/**
+	 * The directory for the scratch files or null for the default temporary directory
+	 */
+	File tempDirectory;
+}
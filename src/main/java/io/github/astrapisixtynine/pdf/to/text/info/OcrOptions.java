@@ -0,0 +1,72 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import java.util.Collections;
+import java.util.Map;
+
+import io.github.astrapisixtynine.pdf.to.text.tess4j.TesseractKey;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link OcrOptions} holds the Tesseract settings that trade the accuracy of the OCR for
+ * its speed. They are honoured in the same way by tess4j and by the tesseract command line tool.
+ * The named profiles of {@link OcrProfile} provide tested combinations
+ */
+@Data
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OcrOptions
+{
+	/**
+	 * The OCR engine mode, 0 for the legacy engine only, 1 for the LSTM engine only, 2 for both
+	 * and 3 for what is available
+	 */
+	@Builder.Default
+	int ocrEngineMode = TesseractKey.DEFAULT_OCR_ENGINE_MODE;
+
+	/**
+	 * The page segmentation mode like 3 for a fully automatic page segmentation or 6 for a single
+	 * uniform block of text, -1 uses the fully automatic page segmentation of the tesseract command
+	 * line tool with both engines
+	 */
+	@Builder.Default
+	int pageSegMode = TesseractKey.DEFAULT_PAGE_SEG_MODE;
+
+	/**
+	 * The directory with the traineddata files like a checkout of tessdata_fast or tessdata_best,
+	 * null uses the given Tesseract data path or the default of the tesseract command line tool
+	 */
+	String tessdataDir;
+
+	/**
+	 * The Tesseract variables that are set on the engine
+	 */
+	@Builder.Default
+	Map<String, String> variables = Collections.emptyMap();
+}
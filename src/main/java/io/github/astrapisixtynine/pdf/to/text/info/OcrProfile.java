@@ -0,0 +1,85 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import java.util.Map;
+
+/**
+ * Enum representing named OCR profiles that trade the accuracy of the OCR for its speed. The
+ * profiles only set the engine settings, the traineddata files are chosen with
+ * {@link OcrOptions#getTessdataDir()}, for instance
+ * {@code OcrProfile.FAST.getOcrOptions().toBuilder().tessdataDir(tessdataFastDir).build()}
+ */
+public enum OcrProfile
+{
+	/**
+	 * The LSTM engine that treats the page as a single uniform block of text and skips the check
+	 * for inverted text, the fastest profile that fits single column pages and pairs well with
+	 * the models of tessdata_fast
+	 */
+	FAST(1, 6, Map.of("tessedit_do_invert", "0")),
+	/**
+	 * The LSTM engine with a fully automatic page segmentation that skips the check for inverted
+	 * text
+	 */
+	BALANCED(1, 3, Map.of("tessedit_do_invert", "0")),
+	/**
+	 * The LSTM engine with a fully automatic page segmentation and all checks, the most accurate
+	 * profile that pairs well with the models of tessdata_best
+	 */
+	ACCURATE(1, 3, Map.of());
+
+	private final int ocrEngineMode;
+	private final int pageSegMode;
+	private final Map<String, String> variables;
+
+	/**
+	 * Constructs an {@code OcrProfile} enum with the specified engine settings
+	 *
+	 * @param ocrEngineMode
+	 *            the OCR engine mode
+	 * @param pageSegMode
+	 *            the page segmentation mode
+	 * @param variables
+	 *            the Tesseract variables
+	 */
+	OcrProfile(int ocrEngineMode, int pageSegMode, Map<String, String> variables)
+	{
+		this.ocrEngineMode = ocrEngineMode;
+		this.pageSegMode = pageSegMode;
+		this.variables = variables;
+	}
+
+	/**
+	 * Gets new OCR options with the engine settings of this profile
+	 *
+	 * @return the new OCR options
+	 */
+	public OcrOptions getOcrOptions()
+	{
+		return OcrOptions.builder().ocrEngineMode(ocrEngineMode).pageSegMode(pageSegMode)
+			.variables(variables).build();
+	}
+}
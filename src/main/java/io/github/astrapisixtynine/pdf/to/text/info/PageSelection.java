@@ -0,0 +1,167 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * The class {@link PageSelection} selects the pages of a PDF document that are rendered and
+ * converted. A selection is either a range of pages or an arbitrary set of pages. Page numbers are
+ * one based like in {@link org.apache.pdfbox.text.PDFTextStripper}, pages that do not exist in a
+ * document are ignored
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class PageSelection
+{
+	private static final PageSelection ALL = new PageSelection(1, Integer.MAX_VALUE, null);
+
+	/**
+	 * The first page of the range, one based
+	 */
+	int startPage;
+
+	/**
+	 * The last page of the range inclusive, one based
+	 */
+	int endPage;
+
+	/**
+	 * The selected pages, one based, or null if the selection is a range
+	 */
+	SortedSet<Integer> pages;
+
+	/**
+	 * Gets the selection of all pages
+	 *
+	 * @return the selection of all pages
+	 */
+	public static PageSelection all()
+	{
+		return ALL;
+	}
+
+	/**
+	 * Factory method for creating a new selection of the given range of pages
+	 *
+	 * @param startPage
+	 *            the first page of the range, one based
+	 * @param endPage
+	 *            the last page of the range inclusive, one based
+	 * @return the new selection
+	 */
+	public static PageSelection range(int startPage, int endPage)
+	{
+		if (startPage < 1 || endPage < startPage)
+		{
+			throw new IllegalArgumentException(
+				"Invalid page range: " + startPage + " - " + endPage);
+		}
+		return new PageSelection(startPage, endPage, null);
+	}
+
+	/**
+	 * Factory method for creating a new selection of the given pages
+	 *
+	 * @param pages
+	 *            the selected pages, one based
+	 * @return the new selection
+	 */
+	public static PageSelection of(int... pages)
+	{
+		List<Integer> pageList = new ArrayList<>();
+		for (int page : pages)
+		{
+			pageList.add(page);
+		}
+		return of(pageList);
+	}
+
+	/**
+	 * Factory method for creating a new selection of the given pages
+	 *
+	 * @param pages
+	 *            the selected pages, one based
+	 * @return the new selection
+	 */
+	public static PageSelection of(Collection<Integer> pages)
+	{
+		SortedSet<Integer> sortedPages = new TreeSet<>(pages);
+		if (sortedPages.isEmpty() || sortedPages.first() < 1)
+		{
+			throw new IllegalArgumentException("Invalid pages: " + pages);
+		}
+		return new PageSelection(sortedPages.first(), sortedPages.last(),
+			Collections.unmodifiableSortedSet(sortedPages));
+	}
+
+	/**
+	 * Resolves this selection against a document with the given number of pages
+	 *
+	 * @param numberOfPages
+	 *            the number of pages of the document
+	 * @return the zero based indexes of the selected pages that exist in the document in ascending
+	 *         order
+	 */
+	public List<Integer> resolve(int numberOfPages)
+	{
+		List<Integer> indexes = new ArrayList<>();
+		if (pages == null)
+		{
+			for (int page = startPage; page <= Math.min(endPage, numberOfPages); ++page)
+			{
+				indexes.add(page - 1);
+			}
+			return indexes;
+		}
+		for (int page : pages.headSet(numberOfPages + 1))
+		{
+			indexes.add(page - 1);
+		}
+		return indexes;
+	}
+
+	/**
+	 * Gets the one based page numbers of the given zero based page indexes in ascending order,
+	 * like the blank or timed out pages of a conversion
+	 *
+	 * @param indexes
+	 *            the zero based page indexes
+	 * @return the sorted page numbers, one based
+	 */
+	public static List<Integer> getPageNumbers(Collection<Integer> indexes)
+	{
+		return indexes.stream().sorted().map(index -> index + 1).toList();
+	}
+}
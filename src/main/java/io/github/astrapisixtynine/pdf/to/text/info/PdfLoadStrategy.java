@@ -0,0 +1,50 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+/**
+ * The enum {@link PdfLoadStrategy} decides where PDFBox caches the decoded streams of a loaded PDF
+ * document
+ */
+public enum PdfLoadStrategy
+{
+	/**
+	 * All decoded streams are cached on the heap, this is the fastest strategy and the default of
+	 * PDFBox
+	 */
+	HEAP,
+
+	/**
+	 * The decoded streams are cached on the heap up to a byte budget and in a scratch file above
+	 * it
+	 */
+	MIXED,
+
+	/**
+	 * All decoded streams are cached in a scratch file, this keeps the heap usage independent of
+	 * the size of the PDF document
+	 */
+	TEMP_FILE
+}
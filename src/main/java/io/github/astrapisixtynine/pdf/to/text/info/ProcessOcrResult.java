@@ -0,0 +1,87 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import java.io.File;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link ProcessOcrResult} holds the result of a tesseract process for one page image
+ */
+@Data
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ProcessOcrResult
+{
+	/**
+	 * The zero based index of the page
+	 */
+	int page;
+
+	/**
+	 * The image file of the page
+	 */
+	File imageFile;
+
+	/**
+	 * The text file that is written from the tesseract process
+	 */
+	File textFile;
+
+	/**
+	 * The exit code of the tesseract process, -1 if the process timed out
+	 */
+	int exitCode;
+
+	/**
+	 * The flag that indicates if the tesseract process was killed because it exceeded the timeout
+	 */
+	boolean timedOut;
+
+	/**
+	 * The console output of the tesseract process
+	 */
+	String output;
+
+	/**
+	 * The flag that indicates if the text was taken from an OCR result cache and no tesseract
+	 * process was run
+	 */
+	boolean cached;
+
+	/**
+	 * Checks if the tesseract process finished successfully
+	 *
+	 * @return true if the tesseract process finished in time with exit code 0 otherwise false
+	 */
+	public boolean isSuccessful()
+	{
+		return !timedOut && exitCode == 0;
+	}
+}
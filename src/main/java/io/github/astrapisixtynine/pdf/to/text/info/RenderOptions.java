@@ -0,0 +1,90 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import org.apache.pdfbox.rendering.ImageType;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link RenderOptions} holds the options for rendering the pages of a PDF document into
+ * images for the OCR. Tesseract binarizes every image anyway, so a {@link ImageType#GRAY} or
+ * {@link ImageType#BINARY} image needs only a third or a twenty-fourth of the memory of a
+ * {@link ImageType#RGB} image with the same resolution
+ */
+@Data
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RenderOptions
+{
+	/**
+	 * The default resolution in dots per inch
+	 */
+	public static final float DEFAULT_DPI = 300;
+
+	/**
+	 * The default image file format name
+	 */
+	public static final String DEFAULT_IMAGE_FILE_FORMAT_NAME = "png";
+
+	/**
+	 * The resolution of the rendered images in dots per inch
+	 */
+	@Builder.Default
+	float dpi = DEFAULT_DPI;
+
+	/**
+	 * The colour model of the rendered images
+	 */
+	@Builder.Default
+	ImageType imageType = ImageType.RGB;
+
+	/**
+	 * The flag that indicates if PDFBox may subsample embedded images that have a higher resolution
+	 * than the rendered page, this is faster and needs less memory
+	 */
+	@Builder.Default
+	boolean subsamplingAllowed = false;
+
+	/**
+	 * The informal name of the image file format that is used if the rendered images are written to
+	 * files
+	 */
+	@Builder.Default
+	String imageFileFormatName = DEFAULT_IMAGE_FILE_FORMAT_NAME;
+
+	/**
+	 * Gets the file extension that matches the image file format name
+	 *
+	 * @return the file extension with a leading dot
+	 */
+	public String getImageFileExtension()
+	{
+		return "." + imageFileFormatName.toLowerCase();
+	}
+}
@@ -0,0 +1,72 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Data;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * The class {@link TileOptions} holds the options for recognizing oversized page images in
+ * overlapping horizontal strips that are recognized in parallel
+ */
+@Data
+@Builder(toBuilder = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TileOptions
+{
+	/**
+	 * The minimum number of pixels of a page image that is recognized in strips, smaller page
+	 * images are recognized as a whole
+	 */
+	@Builder.Default
+	long minPixels = 20_000_000L;
+
+	/**
+	 * The target height of a strip in pixels, the boundaries of the strips are moved up to half
+	 * of the overlap to the lightest rows, so text lines are not cut
+	 */
+	@Builder.Default
+	int tileHeight = 2000;
+
+	/**
+	 * The minimum number of pixel rows that two adjacent strips have in common, it must be less
+	 * than the half of the tile height
+	 */
+	@Builder.Default
+	int overlap = 100;
+
+	/**
+	 * The maximum number of strips of a page image that are recognized in parallel. Every strip
+	 * after the first one that is recognized at the same time needs its own CPU permit of the
+	 * conversion if permits are set. The parallelism does not change the text, so it is not part
+	 * of the string representation that identifies the settings of a conversion checkpoint
+	 */
+	@Builder.Default
+	@ToString.Exclude
+	int parallelism = Runtime.getRuntime().availableProcessors();
+}
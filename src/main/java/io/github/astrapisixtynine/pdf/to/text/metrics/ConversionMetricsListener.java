@@ -0,0 +1,57 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.metrics;
+
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionMetrics;
+import io.github.astrapisixtynine.pdf.to.text.info.PageMetrics;
+
+/**
+ * The interface {@link ConversionMetricsListener} is notified with the metrics of a PDF to text
+ * conversion, so the metrics can be forwarded to any metrics system. Both methods do nothing by
+ * default. The methods are called from the thread that writes the pages in page order
+ */
+public interface ConversionMetricsListener
+{
+
+	/**
+	 * Called after the text of a page is written
+	 *
+	 * @param pageMetrics
+	 *            the metrics of the written page
+	 */
+	default void onPageFinished(PageMetrics pageMetrics)
+	{
+	}
+
+	/**
+	 * Called after all pages of the conversion are written
+	 *
+	 * @param conversionMetrics
+	 *            the metrics of the whole conversion
+	 */
+	default void onConversionFinished(ConversionMetrics conversionMetrics)
+	{
+	}
+}
@@ -0,0 +1,225 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionMetrics;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionMode;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionStage;
+import io.github.astrapisixtynine.pdf.to.text.info.OcrEngine;
+import io.github.astrapisixtynine.pdf.to.text.info.PageMetrics;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSource;
+
+/**
+ * The class {@link ConversionMetricsRecorder} records the wall times of the stages and the written
+ * bytes of the pages of a single PDF to text conversion. The stages of the pages can be recorded
+ * from the rendering, OCR and writing threads at the same time. The optional
+ * {@link ConversionMetricsListener} is notified for every finished page and for the finished
+ * conversion
+ */
+public class ConversionMetricsRecorder
+{
+
+	private final ConversionMode conversionMode;
+
+	private final OcrEngine ocrEngine;
+
+	private final ConversionMetricsListener listener;
+
+	private final long startNanos;
+
+	private final Map<ConversionStage, Long> stageNanos = new EnumMap<>(ConversionStage.class);
+
+	private final Map<Integer, PageRecord> pageRecords = new HashMap<>();
+
+	private final List<PageMetrics> pageMetrics = new ArrayList<>();
+
+	private long loadNanos;
+
+	private long bytesWritten;
+
+	/**
+	 * Creates a new {@link ConversionMetricsRecorder} and starts the clock of the conversion
+	 *
+	 * @param conversionMode
+	 *            the conversion path that is used for the PDF file
+	 * @param ocrEngine
+	 *            the OCR engine that recognizes the rendered pages
+	 * @param listener
+	 *            the listener that is notified with the metrics or null if no listener should be
+	 *            notified
+	 */
+	public ConversionMetricsRecorder(ConversionMode conversionMode, OcrEngine ocrEngine,
+		ConversionMetricsListener listener)
+	{
+		this.conversionMode = conversionMode;
+		this.ocrEngine = ocrEngine;
+		this.listener = listener;
+		this.startNanos = System.nanoTime();
+	}
+
+	/**
+	 * Records the time that was needed to load the PDF file before the conversion has started. The
+	 * load time is part of the total duration of the conversion
+	 *
+	 * @param loadDuration
+	 *            the time that was needed to load the PDF file
+	 */
+	public synchronized void recordLoad(Duration loadDuration)
+	{
+		loadNanos = loadDuration.toNanos();
+		stageNanos.merge(ConversionStage.LOAD, loadNanos, Long::sum);
+	}
+
+	/**
+	 * Records the wall time of the given stage of the given page from the given start until now
+	 *
+	 * @param page
+	 *            the zero based index of the page
+	 * @param stage
+	 *            the measured stage
+	 * @param startNanos
+	 *            the value of {@link System#nanoTime()} when the stage was started
+	 */
+	public void record(int page, ConversionStage stage, long startNanos)
+	{
+		long nanos = System.nanoTime() - startNanos;
+		synchronized (this)
+		{
+			getPageRecord(page).stageNanos.merge(stage, nanos, Long::sum);
+			stageNanos.merge(stage, nanos, Long::sum);
+		}
+	}
+
+	/**
+	 * Records the given number of bytes that are written to the output directory for the given
+	 * page
+	 *
+	 * @param page
+	 *            the zero based index of the page
+	 * @param bytes
+	 *            the number of written bytes
+	 */
+	public synchronized void recordBytesWritten(int page, long bytes)
+	{
+		getPageRecord(page).bytesWritten += bytes;
+		bytesWritten += bytes;
+	}
+
+	/**
+	 * Records the source of the text of the given page
+	 *
+	 * @param page
+	 *            the zero based index of the page
+	 * @param pageSource
+	 *            the source of the text of the page
+	 */
+	public synchronized void recordPageSource(int page, PageSource pageSource)
+	{
+		getPageRecord(page).pageSource = pageSource;
+	}
+
+	/**
+	 * Finishes the recording of the given page and notifies the listener with its metrics
+	 *
+	 * @param page
+	 *            the zero based index of the page
+	 * @return the metrics of the given page
+	 */
+	public PageMetrics finishPage(int page)
+	{
+		PageMetrics metrics;
+		synchronized (this)
+		{
+			PageRecord pageRecord = getPageRecord(page);
+			pageRecords.remove(page);
+			metrics = PageMetrics.builder().pageNumber(page + 1)
+				.pageSource(pageRecord.pageSource)
+				.stageDurations(toDurations(pageRecord.stageNanos))
+				.bytesWritten(pageRecord.bytesWritten).build();
+			pageMetrics.add(metrics);
+		}
+		if (listener != null)
+		{
+			listener.onPageFinished(metrics);
+		}
+		return metrics;
+	}
+
+	/**
+	 * Finishes the recording of the conversion and notifies the listener with its metrics
+	 *
+	 * @return the metrics of the conversion
+	 */
+	public ConversionMetrics finish()
+	{
+		ConversionMetrics metrics;
+		synchronized (this)
+		{
+			metrics = ConversionMetrics.builder().conversionMode(conversionMode)
+				.ocrEngine(ocrEngine)
+				.totalDuration(Duration.ofNanos(System.nanoTime() - startNanos + loadNanos))
+				.stageDurations(toDurations(stageNanos)).bytesWritten(bytesWritten)
+				.pageMetrics(new ArrayList<>(pageMetrics)).build();
+		}
+		if (listener != null)
+		{
+			listener.onConversionFinished(metrics);
+		}
+		return metrics;
+	}
+
+	private PageRecord getPageRecord(int page)
+	{
+		return pageRecords.computeIfAbsent(page, key -> new PageRecord());
+	}
+
+	private static Map<ConversionStage, Duration> toDurations(Map<ConversionStage, Long> nanos)
+	{
+		Map<ConversionStage, Duration> durations = new EnumMap<>(ConversionStage.class);
+		nanos.forEach((stage, value) -> durations.put(stage, Duration.ofNanos(value)));
+		return durations;
+	}
+
+	/**
+	 * The recorded values of a single page that is not finished yet
+	 */
+	private static class PageRecord
+	{
+
+		private final Map<ConversionStage, Long> stageNanos = new EnumMap<>(
+			ConversionStage.class);
+
+		private PageSource pageSource;
+
+		private long bytesWritten;
+	}
+}
@@ -0,0 +1,345 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.pdfbox;
+
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.ScratchFile;
+import org.apache.pdfbox.io.StreamCacheCreateFunction;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import io.github.astrapi69.io.file.FilenameExtensions;
+import io.github.astrapisixtynine.pdf.to.text.info.LoadOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.RenderOptions;
+
+/**
+ * The class {@link PdfDocumentSession} parses a PDF file once and shares the loaded document for
+ * the page count, the text extraction, the rendering and the metadata until it is closed. A
+ * {@link PDDocument} is not thread safe, so the text extraction and the rendering are serialized
+ * with the lock of the session. The lock is a {@link ReentrantLock} and no monitor, so a virtual
+ * thread that waits for the lock or holds it during I/O does not pin its carrier thread
+ */
+public class PdfDocumentSession implements Closeable
+{
+
+	private final File pdfFile;
+
+	private final PDDocument document;
+
+	private final PDFTextStripper stripper;
+
+	private final PDFRenderer renderer;
+
+	private final PDFRenderer subsamplingRenderer;
+
+	private final Duration loadDuration;
+
+	private final Lock lock = new ReentrantLock();
+
+	private PdfDocumentSession(File pdfFile, PDDocument document, Duration loadDuration)
+	{
+		this.pdfFile = pdfFile;
+		this.document = document;
+		this.loadDuration = loadDuration;
+		this.stripper = new PDFTextStripper();
+		this.renderer = new PDFRenderer(document);
+		this.subsamplingRenderer = new PDFRenderer(document);
+		this.subsamplingRenderer.setSubsamplingAllowed(true);
+	}
+
+	/**
+	 * Opens a new session for the given PDF file
+	 *
+	 * @param pdfFile
+	 *            the PDF file
+	 * @return the new session
+	 * @throws IOException
+	 *             if the PDF file can not be loaded
+	 */
+	public static PdfDocumentSession open(File pdfFile) throws IOException
+	{
+		return open(pdfFile, LoadOptions.builder().build());
+	}
+
+	/**
+	 * Opens a new session for the given PDF file with the given load options. The PDF file is read
+	 * with a {@link org.apache.pdfbox.io.RandomAccessReadBufferedFile} and the decoded streams are
+	 * cached as the strategy of the given load options says
+	 *
+	 * @param pdfFile
+	 *            the PDF file
+	 * @param loadOptions
+	 *            the options for loading the PDF file
+	 * @return the new session
+	 * @throws IOException
+	 *             if the PDF file can not be loaded
+	 */
+	public static PdfDocumentSession open(File pdfFile, LoadOptions loadOptions)
+		throws IOException
+	{
+		long start = System.nanoTime();
+		PDDocument document = Loader.loadPDF(pdfFile, newStreamCacheCreateFunction(loadOptions));
+		return new PdfDocumentSession(pdfFile, document,
+			Duration.ofNanos(System.nanoTime() - start));
+	}
+
+	/**
+	 * Factory method for creating the stream cache of the strategy of the given load options
+	 *
+	 * @param loadOptions
+	 *            the options for loading a PDF file
+	 * @return the function that creates the stream cache
+	 */
+	public static StreamCacheCreateFunction newStreamCacheCreateFunction(LoadOptions loadOptions)
+	{
+		return switch (loadOptions.getStrategy())
+		{
+			case HEAP -> IOUtils.createMemoryOnlyStreamCache();
+			case MIXED -> newScratchFileStreamCache(
+				MemoryUsageSetting.setupMixed(loadOptions.getMaxMainMemoryBytes()), loadOptions);
+			case TEMP_FILE -> newScratchFileStreamCache(MemoryUsageSetting.setupTempFileOnly(),
+				loadOptions);
+		};
+	}
+
+	private static StreamCacheCreateFunction newScratchFileStreamCache(
+		MemoryUsageSetting memoryUsageSetting, LoadOptions loadOptions)
+	{
+		if (loadOptions.getTempDirectory() != null)
+		{
+			memoryUsageSetting.setTempDir(loadOptions.getTempDirectory());
+		}
+		return () -> new ScratchFile(memoryUsageSetting);
+	}
+
+	/**
+	 * Gets the PDF file of this session
+	 *
+	 * @return the PDF file
+	 */
+	public File getPdfFile()
+	{
+		return pdfFile;
+	}
+
+	/**
+	 * Gets the file name of the PDF file without extension, this is the prefix of all generated
+	 * files
+	 *
+	 * @return the file name without extension
+	 */
+	public String getFileName()
+	{
+		return FilenameExtensions.getFilenameWithoutExtension(pdfFile);
+	}
+
+	/**
+	 * Gets the time that was needed to load the PDF file when this session was opened
+	 *
+	 * @return the load time of the PDF file
+	 */
+	public Duration getLoadDuration()
+	{
+		return loadDuration;
+	}
+
+	/**
+	 * Gets the loaded document. Callers that use the document directly from several threads must
+	 * hold the lock of {@link #getLock()}
+	 *
+	 * @return the loaded document
+	 */
+	public PDDocument getDocument()
+	{
+		return document;
+	}
+
+	/**
+	 * Gets the lock that serializes the access to the loaded document
+	 *
+	 * @return the lock of the loaded document
+	 */
+	public Lock getLock()
+	{
+		return lock;
+	}
+
+	/**
+	 * Gets the number of pages of the document
+	 *
+	 * @return the number of pages
+	 */
+	public int getNumberOfPages()
+	{
+		return document.getNumberOfPages();
+	}
+
+	/**
+	 * Gets the metadata of the document like title, author and creation date
+	 *
+	 * @return the metadata of the document
+	 */
+	public PDDocumentInformation getDocumentInformation()
+	{
+		return document.getDocumentInformation();
+	}
+
+	/**
+	 * Gets the PDF version of the document
+	 *
+	 * @return the PDF version
+	 */
+	public float getVersion()
+	{
+		return document.getVersion();
+	}
+
+	/**
+	 * Checks if the given page has content that is rendered. A page without a content stream and
+	 * without annotations is blank without rendering it
+	 *
+	 * @param page
+	 *            the zero based index of the page
+	 * @return true if the given page has a content stream or annotations otherwise false
+	 * @throws IOException
+	 *             if the annotations can not be read
+	 */
+	public boolean hasContents(int page) throws IOException
+	{
+		lock.lock();
+		try
+		{
+			PDPage pdPage = document.getPage(page);
+			return pdPage.hasContents() || !pdPage.getAnnotations().isEmpty();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Extracts the text layer of the given page
+	 *
+	 * @param page
+	 *            the zero based index of the page
+	 * @return the text of the page
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public String getPageText(int page) throws IOException
+	{
+		lock.lock();
+		try
+		{
+			stripper.setStartPage(page + 1);
+			stripper.setEndPage(page + 1);
+			return stripper.getText(document);
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Writes the text layer of the given range of pages to the given writer
+	 *
+	 * @param writer
+	 *            the writer that receives the text
+	 * @param startPage
+	 *            the first page, one based
+	 * @param endPage
+	 *            the last page inclusive, one based
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void writeText(Writer writer, int startPage, int endPage) throws IOException
+	{
+		lock.lock();
+		try
+		{
+			stripper.setStartPage(startPage);
+			stripper.setEndPage(endPage);
+			stripper.writeText(document, writer);
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Renders the given page in memory with the given render options
+	 *
+	 * @param page
+	 *            the zero based index of the page
+	 * @param renderOptions
+	 *            the options for rendering the pages
+	 * @return the rendered image of the page
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public BufferedImage renderImage(int page, RenderOptions renderOptions) throws IOException
+	{
+		lock.lock();
+		try
+		{
+			return PdfToTextExtensions.renderImage(
+				renderOptions.isSubsamplingAllowed() ? subsamplingRenderer : renderer, page,
+				renderOptions);
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Closes the loaded document
+	 *
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		document.close();
+	}
+}
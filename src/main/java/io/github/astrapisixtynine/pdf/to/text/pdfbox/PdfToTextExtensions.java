@@ -29,25 +29,56 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 
 import javax.imageio.ImageIO;
 
-import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.rendering.ImageType;
 import org.apache.pdfbox.rendering.PDFRenderer;
 import org.apache.pdfbox.text.PDFTextStripper;
 
 import io.github.astrapi69.file.create.FileFactory;
-import io.github.astrapi69.file.modify.ModifyFileExtensions;
 import io.github.astrapi69.io.file.FileExtension;
 import io.github.astrapi69.io.file.FilenameExtensions;
 import io.github.astrapi69.io.shell.LinuxShellExecutor;
+import io.github.astrapisixtynine.pdf.to.text.cache.OcrCacheKeyExtensions;
+import io.github.astrapisixtynine.pdf.to.text.info.BlankPageOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionMode;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionOptions;
 import io.github.astrapisixtynine.pdf.to.text.info.ConversionResult;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionStage;
+import io.github.astrapisixtynine.pdf.to.text.info.LoadOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.OcrEngine;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSelection;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSource;
+import io.github.astrapisixtynine.pdf.to.text.info.ProcessOcrResult;
+import io.github.astrapisixtynine.pdf.to.text.info.RenderOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.TileOptions;
+import io.github.astrapisixtynine.pdf.to.text.metrics.ConversionMetricsRecorder;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.ConversionCheckpoint;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.PageRecognizer;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.PageRenderer;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.PageWriter;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.RenderOcrPipeline;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.ResultTextWriter;
+import io.github.astrapisixtynine.pdf.to.text.preprocess.BlankPageExtensions;
+import io.github.astrapisixtynine.pdf.to.text.process.TesseractProcessPool;
+import io.github.astrapisixtynine.pdf.to.text.tile.TiledOcrExtensions;
 import lombok.extern.java.Log;
 
 /**
@@ -78,12 +109,148 @@ public final class PdfToTextExtensions
 	 */
 	public static File pdfToText(File pdfFile, File resultDir) throws IOException
 	{
-		int numberOfPages;
-		try (PDDocument document = Loader.loadPDF(pdfFile))
+		return pdfToText(pdfFile, resultDir, LoadOptions.builder().build());
+	}
+
+	/**
+	 * Converts a text PDF file that is loaded with the given load options to a text file
+	 * extracting text from all pages
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param resultDir
+	 *            the directory where the output text file will be stored
+	 * @param loadOptions
+	 *            the options for loading the PDF file
+	 * @return the generated text file
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public static File pdfToText(File pdfFile, File resultDir, LoadOptions loadOptions)
+		throws IOException
+	{
+		try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile, loadOptions))
 		{
-			numberOfPages = document.getNumberOfPages();
+			return pdfToText(session, resultDir, 0, session.getNumberOfPages());
 		}
-		return pdfToText(pdfFile, resultDir, 0, numberOfPages);
+	}
+
+	/**
+	 * Converts a text PDF file to a text file extracting text from all pages in parallel. The pages
+	 * are split into one contiguous range per thread and every range is extracted with its own
+	 * loaded document and {@link PDFTextStripper}, because PDFBox objects are not thread safe. The
+	 * text of the ranges is written in page order, so the result text file is byte identical to the
+	 * result text file of {@link #pdfToText(File, File)}
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param resultDir
+	 *            the directory where the output text file will be stored
+	 * @param parallelism
+	 *            the number of threads that extract the text
+	 * @return the generated text file
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public static File pdfToText(File pdfFile, File resultDir, int parallelism) throws IOException
+	{
+		return pdfToText(pdfFile, resultDir, parallelism, LoadOptions.builder().build());
+	}
+
+	/**
+	 * Converts a text PDF file that is loaded with the given load options to a text file extracting
+	 * text from all pages in parallel like {@link #pdfToText(File, File, int)}
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param resultDir
+	 *            the directory where the output text file will be stored
+	 * @param parallelism
+	 *            the number of threads that extract the text
+	 * @param loadOptions
+	 *            the options for loading the PDF file
+	 * @return the generated text file
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public static File pdfToText(File pdfFile, File resultDir, int parallelism,
+		LoadOptions loadOptions) throws IOException
+	{
+		if (parallelism < 1)
+		{
+			throw new IllegalArgumentException("parallelism must be at least 1");
+		}
+		try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile, loadOptions))
+		{
+			int numberOfPages = session.getNumberOfPages();
+			int chunks = Math.min(parallelism, numberOfPages);
+			if (chunks <= 1)
+			{
+				return pdfToText(session, resultDir, 0, numberOfPages);
+			}
+			File resultTextFile = FileFactory.newFile(resultDir,
+				session.getFileName() + FileExtension.TXT.getExtension());
+			ExecutorService executor = Executors.newFixedThreadPool(chunks - 1);
+			try (BufferedWriter wr = new BufferedWriter(
+				new OutputStreamWriter(new FileOutputStream(resultTextFile))))
+			{
+				// the first range is extracted on the calling thread with the already loaded
+				// document, all other ranges load their own document
+				List<Future<String>> futures = new ArrayList<>();
+				for (int chunk = 1; chunk < chunks; ++chunk)
+				{
+					int startPage = getChunkStartPage(chunk, chunks, numberOfPages);
+					int endPage = getChunkStartPage(chunk + 1, chunks, numberOfPages) - 1;
+					futures.add(executor.submit(() -> {
+						try (PdfDocumentSession chunkSession = PdfDocumentSession.open(pdfFile,
+							loadOptions))
+						{
+							return getText(chunkSession, startPage, endPage);
+						}
+					}));
+				}
+				wr.write(getText(session, 1, getChunkStartPage(1, chunks, numberOfPages) - 1));
+				for (Future<String> future : futures)
+				{
+					wr.write(future.get());
+				}
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while extracting the text");
+			}
+			catch (ExecutionException e)
+			{
+				if (e.getCause() instanceof IOException ioException)
+				{
+					throw ioException;
+				}
+				if (e.getCause() instanceof RuntimeException runtimeException)
+				{
+					throw runtimeException;
+				}
+				throw new IOException(e.getCause());
+			}
+			finally
+			{
+				executor.shutdownNow();
+			}
+			return resultTextFile;
+		}
+	}
+
+	private static int getChunkStartPage(int chunk, int chunks, int numberOfPages)
+	{
+		return 1 + (int)((long)chunk * numberOfPages / chunks);
+	}
+
+	private static String getText(PdfDocumentSession session, int startPage, int endPage)
+		throws IOException
+	{
+		StringWriter writer = new StringWriter();
+		session.writeText(writer, startPage, endPage);
+		return writer.toString();
 	}
 
 	/**
@@ -105,20 +272,38 @@ public final class PdfToTextExtensions
 	public static File pdfToText(File pdfFile, File resultDir, int startPageValue, int endPageValue)
 		throws IOException
 	{
-		String txtFileName;
-		String fileName;
-		fileName = FilenameExtensions.getFilenameWithoutExtension(pdfFile);
-		txtFileName = fileName + FileExtension.TXT.getExtension();
+		try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile))
+		{
+			return pdfToText(session, resultDir, startPageValue, endPageValue);
+		}
+	}
+
+	/**
+	 * Converts the text layer of the PDF document of the given session to a text file, with the
+	 * option to specify a range of pages to extract
+	 *
+	 * @param session
+	 *            the session of the loaded PDF document
+	 * @param resultDir
+	 *            the directory where the output text file will be stored
+	 * @param startPageValue
+	 *            the starting page number
+	 * @param endPageValue
+	 *            the ending page number
+	 * @return the generated text file
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public static File pdfToText(PdfDocumentSession session, File resultDir, int startPageValue,
+		int endPageValue) throws IOException
+	{
+		String txtFileName = session.getFileName() + FileExtension.TXT.getExtension();
 		File resultTextFile = FileFactory.newFile(resultDir, txtFileName);
 
-		try (PDDocument document = Loader.loadPDF(pdfFile);
-			BufferedWriter wr = new BufferedWriter(
-				new OutputStreamWriter(new FileOutputStream(resultTextFile))))
+		try (BufferedWriter wr = new BufferedWriter(
+			new OutputStreamWriter(new FileOutputStream(resultTextFile))))
 		{
-			PDFTextStripper stripper = new PDFTextStripper();
-			stripper.setStartPage(startPageValue); // Start extracting from first page
-			stripper.setEndPage(endPageValue); // Extract till the end
-			stripper.writeText(document, wr);
+			session.writeText(wr, startPageValue, endPageValue);
 		}
 		return resultTextFile;
 	}
@@ -162,24 +347,248 @@ public final class PdfToTextExtensions
 	public static ConversionResult convertPdfToTextfile(File pdfFile, File outputDir,
 		String ocrLanguage) throws IOException, InterruptedException
 	{
-		String txtFileName;
-		String fileName;
-		fileName = FilenameExtensions.getFilenameWithoutExtension(pdfFile);
-		txtFileName = fileName + FileExtension.TXT.getExtension();
-		File resultTextFile = FileFactory.newFile(outputDir, txtFileName);
+		return convertPdfToTextfile(pdfFile, outputDir, ocrLanguage,
+			ConversionOptions.builder().build());
+	}
 
-		// step 1: convert the pdf file to image files
-		List<File> imageFiles = getImageFiles(pdfFile, outputDir);
+	/**
+	 * Converts a text or image PDF file to text using image processing and OCR. Rendering and OCR
+	 * overlap in a {@link RenderOcrPipeline} with the number of OCR workers and the queue capacity
+	 * of the given options. The tesseract processes are launched from a
+	 * {@link TesseractProcessPool} with the OCR timeout of the given options. The tesseract command
+	 * line tool needs the page images as files, if the
+	 * options say that no image files are written they are deleted after the OCR of the page. The
+	 * text of every page is appended to the result text file as soon as it is ready, the text files
+	 * per page are optional
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param outputDir
+	 *            the directory where the output files will be stored
+	 * @param ocrLanguage
+	 *            the ocr language
+	 * @param options
+	 *            the options of the conversion
+	 * @return the {@link ConversionResult} object of the OCR conversion process containing image
+	 *         files, text files, and the final result text file
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws InterruptedException
+	 *             if the process is interrupted
+	 */
+	public static ConversionResult convertPdfToTextfile(File pdfFile, File outputDir,
+		String ocrLanguage, ConversionOptions options) throws IOException, InterruptedException
+	{
+		try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile,
+			options.getLoadOptions()))
+		{
+			return convertPdfToTextfile(session, outputDir, ocrLanguage, options);
+		}
+	}
 
-		// step 2: convert the image files to text files
-		String shellPath = "/bin/sh";
-		List<File> textFiles = getTextFiles(imageFiles, outputDir, shellPath, ocrLanguage);
+	/**
+	 * Converts the PDF document of the given session to text using image processing and OCR like
+	 * {@link #convertPdfToTextfile(File, File, String, ConversionOptions)} without loading the PDF
+	 * file again
+	 *
+	 * @param session
+	 *            the session of the loaded PDF document
+	 * @param outputDir
+	 *            the directory where the output files will be stored
+	 * @param ocrLanguage
+	 *            the ocr language
+	 * @param options
+	 *            the options of the conversion
+	 * @return the {@link ConversionResult} object of the OCR conversion process containing image
+	 *         files, text files, and the final result text file
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws InterruptedException
+	 *             if the process is interrupted
+	 */
+	public static ConversionResult convertPdfToTextfile(PdfDocumentSession session,
+		File outputDir, String ocrLanguage, ConversionOptions options)
+		throws IOException, InterruptedException
+	{
+		String fileName = session.getFileName();
+		File resultTextFile = FileFactory.newFile(outputDir,
+			fileName + FileExtension.TXT.getExtension());
+		List<File> imageFiles = new ArrayList<>();
+		List<File> textFiles = new ArrayList<>();
+		ConversionCheckpoint checkpoint = options.isResume()
+			? ConversionCheckpoint.open(outputDir, session.getPdfFile(),
+				OcrCacheKeyExtensions.getSettings(ocrLanguage, options.getOcrOptions()) + "|"
+					+ options.getRenderOptions() + "|" + options.getImagePreprocessor() + "|"
+					+ options.getTileOptions() + "|" + options.getBlankPageOptions())
+			: null;
+		ConversionMetricsRecorder metricsRecorder = new ConversionMetricsRecorder(
+			ConversionMode.OCR, OcrEngine.TESSERACT_PROCESS, options.getMetricsListener());
+		metricsRecorder.recordLoad(session.getLoadDuration());
+		BlankPageOptions blankPageOptions = options.getBlankPageOptions();
+		TileOptions tileOptions = options.getTileOptions();
+		Set<Integer> blankPages = ConcurrentHashMap.newKeySet();
+		// the pages whose image file and text file are written by this conversion, the files of
+		// pages finished by an earlier conversion or of timed out pages may be missing or stale
+		Set<Integer> imagePages = ConcurrentHashMap.newKeySet();
+		Set<Integer> textPages = ConcurrentHashMap.newKeySet();
+		Set<Integer> timedOutPages;
 
-		// step 3: concatenate all text files to one
-		ModifyFileExtensions.concatenateAll(textFiles, resultTextFile);
+		try (ResultTextWriter resultTextWriter = new ResultTextWriter(resultTextFile, null);
+			TesseractProcessPool processPool = new TesseractProcessPool(options.getOcrThreads(),
+				options.getOcrTimeout(), options.getOcrResultCache(), options.getOcrOptions()))
+		{
+			RenderOptions renderOptions = options.getRenderOptions();
+			// step 1: render the pages
+			PageRenderer renderer = page -> {
+				if (blankPageOptions != null && !session.hasContents(page))
+				{
+					blankPages.add(page);
+					return null;
+				}
+				long renderStart = System.nanoTime();
+				BufferedImage image = session.renderImage(page, renderOptions);
+				metricsRecorder.record(page, ConversionStage.RENDER, renderStart);
+				return image;
+			};
+			// step 2: convert the page images to text with tesseract
+			PageRecognizer recognizer = (page, image) -> {
+				if (blankPages.contains(page) || (blankPageOptions != null
+					&& BlankPageExtensions.isBlank(image, blankPageOptions)))
+				{
+					blankPages.add(page);
+					if (options.isWritePageTextFiles())
+					{
+						Files.writeString(
+							new File(outputDir, getPageFileName(fileName, page) + ".txt").toPath(),
+							"");
+						textPages.add(page);
+					}
+					return "";
+				}
+				BufferedImage ocrImage = image;
+				if (options.getImagePreprocessor() != null)
+				{
+					long preprocessStart = System.nanoTime();
+					ocrImage = options.getImagePreprocessor().process(image);
+					metricsRecorder.record(page, ConversionStage.PREPROCESS, preprocessStart);
+				}
+				if (options.isWriteImageFiles())
+				{
+					imagePages.add(page);
+				}
+				if (tileOptions != null && TiledOcrExtensions.isOversized(ocrImage, tileOptions))
+				{
+					String text = getTiledText(page, ocrImage, fileName, outputDir, ocrLanguage,
+						options, processPool, metricsRecorder);
+					if (options.isWritePageTextFiles())
+					{
+						textPages.add(page);
+					}
+					return text;
+				}
+				long encodeStart = System.nanoTime();
+				File imageFile = writeImageFile(ocrImage, fileName, page, outputDir,
+					renderOptions);
+				metricsRecorder.record(page, ConversionStage.ENCODE, encodeStart);
+				long ocrStart = System.nanoTime();
+				ProcessOcrResult result = processPool.recognize(page, imageFile, outputDir,
+					ocrLanguage);
+				if (result.isTimedOut())
+				{
+					if (!options.isWriteImageFiles())
+					{
+						Files.deleteIfExists(imageFile.toPath());
+					}
+					throw new TimeoutException("tesseract timed out for page " + (page + 1));
+				}
+				File textFile = getTextFile(result);
+				String text = Files.readString(textFile.toPath());
+				metricsRecorder.record(page, ConversionStage.OCR, ocrStart);
+				if (options.isWriteImageFiles())
+				{
+					metricsRecorder.recordBytesWritten(page, imageFile.length());
+				}
+				else
+				{
+					Files.deleteIfExists(imageFile.toPath());
+				}
+				if (options.isWritePageTextFiles())
+				{
+					metricsRecorder.recordBytesWritten(page, textFile.length());
+					textPages.add(page);
+				}
+				else
+				{
+					Files.deleteIfExists(textFile.toPath());
+				}
+				return text;
+			};
+			// step 3: stream the text in page order to the result text file
+			PageWriter writer = (page, text) -> {
+				String pageFileName = getPageFileName(fileName, page);
+				boolean blank = blankPages.contains(page);
+				if (imagePages.contains(page))
+				{
+					imageFiles.add(getImageFile(fileName, page, outputDir,
+						options.getRenderOptions()));
+				}
+				if (options.isWritePageTextFiles())
+				{
+					File textFile = new File(outputDir, pageFileName + ".txt");
+					if (!textPages.contains(page))
+					{
+						// the page was finished by an earlier conversion or its OCR timed out
+						Files.writeString(textFile.toPath(), text);
+					}
+					textFiles.add(textFile);
+				}
+				long writeStart = System.nanoTime();
+				long bytesWritten = resultTextWriter.getBytesWritten();
+				resultTextWriter.write(page, text);
+				metricsRecorder.record(page, ConversionStage.WRITE, writeStart);
+				metricsRecorder.recordBytesWritten(page,
+					resultTextWriter.getBytesWritten() - bytesWritten);
+				metricsRecorder.recordPageSource(page, blank ? PageSource.BLANK : PageSource.OCR);
+				metricsRecorder.finishPage(page);
+			};
+			RenderOcrPipeline pipeline = new RenderOcrPipeline(
+				renderer.withPermits(options.getCpuPermits()), recognizer, writer,
+				options.getOcrThreads(), options.getQueueCapacity(), options.getOcrTimeout(),
+				options.getDeadline(), options.getCpuPermits());
+			pipeline.execute(options.getPageSelection().resolve(session.getNumberOfPages()),
+				checkpoint);
+			timedOutPages = pipeline.getTimedOutPages();
+			deleteTextFiles(textFiles, timedOutPages, fileName, outputDir);
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException ioException)
+			{
+				throw ioException;
+			}
+			if (cause instanceof InterruptedException interruptedException)
+			{
+				throw interruptedException;
+			}
+			if (cause instanceof RuntimeException runtimeException)
+			{
+				throw runtimeException;
+			}
+			throw new IOException(cause);
+		}
 
+		if (checkpoint != null && timedOutPages.isEmpty())
+		{
+			// the result text file holds every page, timed out pages keep the checkpoint for a
+			// resumed conversion
+			checkpoint.delete();
+		}
 		return ConversionResult.builder().imageFiles(imageFiles).textFiles(textFiles)
-			.resultTextFile(resultTextFile).build();
+			.resultTextFile(resultTextFile)
+			.blankPages(PageSelection.getPageNumbers(blankPages))
+			.timedOutPages(PageSelection.getPageNumbers(timedOutPages))
+			.metrics(metricsRecorder.finish()).build();
 	}
 
 	/**
@@ -223,29 +632,242 @@ public final class PdfToTextExtensions
 	public static List<File> getTextFiles(List<File> imageFiles, File resultDir, String shellPath,
 		String ocrLanguage) throws IOException, InterruptedException
 	{
-		String output;
-		String command;
-		String commandPrefix;
-		commandPrefix = "tesseract";
-		String executionPath = resultDir.toString();
 		List<File> textFiles = new ArrayList<>();
 		for (int page = 0; page < imageFiles.size(); ++page)
 		{
 			File imageFile = imageFiles.get(page);
-			String imageFileName = imageFile.getName();
-			String textFileName = FilenameExtensions.getFilenameWithoutExtension(imageFile);
-			command = commandPrefix + " " + imageFileName + " " + textFileName + " -l "
-				+ ocrLanguage;
-			log.log(Level.INFO, "Executing command: " + command);
-			output = LinuxShellExecutor.execute(shellPath, executionPath, command);
-			log.log(Level.INFO, "Output from command: " + output);
-			File textFile = new File(resultDir, textFileName + ".txt");
-			FileFactory.newFile(textFile);
-			textFiles.add(textFile);
+			textFiles.add(getTextFile(imageFile, resultDir, shellPath, ocrLanguage));
+		}
+		return textFiles;
+	}
+
+	/**
+	 * Converts image files into text files with tesseract processes of the given process pool. The
+	 * tesseract processes are launched directly without a shell and run in parallel
+	 *
+	 * @param imageFiles
+	 *            the list of image files to be processed
+	 * @param resultDir
+	 *            the directory where the text files will be stored
+	 * @param ocrLanguage
+	 *            the ocr language
+	 * @param processPool
+	 *            the process pool that runs the tesseract processes
+	 * @return the list of generated text files in the same order as the given image files
+	 * @throws IOException
+	 *             if an I/O error occurs or a tesseract process failed or timed out
+	 * @throws InterruptedException
+	 *             if the process is interrupted
+	 */
+	public static List<File> getTextFiles(List<File> imageFiles, File resultDir,
+		String ocrLanguage, TesseractProcessPool processPool)
+		throws IOException, InterruptedException
+	{
+		return getTextFiles(imageFiles, resultDir, ocrLanguage, processPool,
+			(BlankPageOptions)null);
+	}
+
+	/**
+	 * Converts image files into text files with tesseract processes of the given process pool like
+	 * {@link #getTextFiles(List, File, String, TesseractProcessPool)}. The blank page images are
+	 * not handed to tesseract and an empty text file is written for them, so the returned text
+	 * files are still in the same order as the given image files
+	 *
+	 * @param imageFiles
+	 *            the list of image files to be processed
+	 * @param resultDir
+	 *            the directory where the text files will be stored
+	 * @param ocrLanguage
+	 *            the ocr language
+	 * @param processPool
+	 *            the process pool that runs the tesseract processes
+	 * @param blankPageOptions
+	 *            the options for detecting blank pages or null if every page should be recognized
+	 * @return the list of generated text files in the same order as the given image files
+	 * @throws IOException
+	 *             if an I/O error occurs or a tesseract process failed or timed out
+	 * @throws InterruptedException
+	 *             if the process is interrupted
+	 */
+	public static List<File> getTextFiles(List<File> imageFiles, File resultDir,
+		String ocrLanguage, TesseractProcessPool processPool, BlankPageOptions blankPageOptions)
+		throws IOException, InterruptedException
+	{
+		List<Integer> pages = new ArrayList<>();
+		List<File> pageImageFiles = new ArrayList<>();
+		for (int page = 0; page < imageFiles.size(); ++page)
+		{
+			if (blankPageOptions == null
+				|| !BlankPageExtensions.isBlank(imageFiles.get(page), blankPageOptions))
+			{
+				pages.add(page);
+				pageImageFiles.add(imageFiles.get(page));
+			}
+		}
+		List<ProcessOcrResult> results = processPool.recognize(pageImageFiles, resultDir,
+			ocrLanguage);
+		File[] textFiles = new File[imageFiles.size()];
+		for (int index = 0; index < results.size(); ++index)
+		{
+			int page = pages.get(index);
+			textFiles[page] = getTextFile(results.get(index).toBuilder().page(page).build());
+		}
+		for (int page = 0; page < textFiles.length; ++page)
+		{
+			if (textFiles[page] == null)
+			{
+				// the OCR of the blank page is skipped
+				File imageFile = imageFiles.get(page);
+				textFiles[page] = new File(resultDir,
+					FilenameExtensions.getFilenameWithoutExtension(imageFile) + ".txt");
+				Files.writeString(textFiles[page].toPath(), "");
+			}
+		}
+		return Arrays.asList(textFiles);
+	}
+
+	/**
+	 * Converts image files into text files with tesseract processes of the given process pool. The
+	 * image files are grouped into chunks of the given size and every chunk is processed by a
+	 * single tesseract process with a list file, so the process startup and the model load are
+	 * paid once per chunk instead of once per page. The chunks run in parallel
+	 *
+	 * @param imageFiles
+	 *            the list of image files to be processed
+	 * @param resultDir
+	 *            the directory where the text files will be stored
+	 * @param ocrLanguage
+	 *            the ocr language
+	 * @param processPool
+	 *            the process pool that runs the tesseract processes
+	 * @param chunkSize
+	 *            the maximum number of image files per tesseract process
+	 * @return the list of generated text files in the same order as the given image files
+	 * @throws IOException
+	 *             if an I/O error occurs or a tesseract process failed or timed out
+	 * @throws InterruptedException
+	 *             if the process is interrupted
+	 */
+	public static List<File> getTextFiles(List<File> imageFiles, File resultDir,
+		String ocrLanguage, TesseractProcessPool processPool, int chunkSize)
+		throws IOException, InterruptedException
+	{
+		List<File> textFiles = new ArrayList<>();
+		for (ProcessOcrResult result : processPool.recognize(imageFiles, resultDir, ocrLanguage,
+			chunkSize))
+		{
+			textFiles.add(getTextFile(result));
 		}
 		return textFiles;
 	}
 
+	private static String getTiledText(int page, BufferedImage image, String fileName,
+		File outputDir, String ocrLanguage, ConversionOptions options,
+		TesseractProcessPool processPool, ConversionMetricsRecorder metricsRecorder)
+		throws IOException, InterruptedException, TimeoutException
+	{
+		RenderOptions renderOptions = options.getRenderOptions();
+		String pageFileName = getPageFileName(fileName, page);
+		if (options.isWriteImageFiles())
+		{
+			long encodeStart = System.nanoTime();
+			File imageFile = writeImageFile(image, fileName, page, outputDir, renderOptions);
+			metricsRecorder.record(page, ConversionStage.ENCODE, encodeStart);
+			metricsRecorder.recordBytesWritten(page, imageFile.length());
+		}
+		long ocrStart = System.nanoTime();
+		String text;
+		try
+		{
+			// every strip is written to its own image file that is removed after its OCR
+			text = TiledOcrExtensions.recognize(image, options.getTileOptions(),
+				options.getCpuPermits(), (tile, tileImage) -> {
+					String tileFileName = pageFileName + "_tile_" + (tile + 1);
+					File tileImageFile = writeImageFile(tileImage,
+						new File(outputDir, tileFileName + renderOptions.getImageFileExtension()),
+						renderOptions.getImageFileFormatName());
+					try
+					{
+						ProcessOcrResult result = processPool.recognize(page, tileImageFile,
+							outputDir, ocrLanguage);
+						if (result.isTimedOut())
+						{
+							throw new TimeoutException(
+								"tesseract timed out for tile " + (tile + 1) + " of page "
+									+ (page + 1));
+						}
+						return Files.readString(getTextFile(result).toPath());
+					}
+					finally
+					{
+						Files.deleteIfExists(tileImageFile.toPath());
+						Files.deleteIfExists(new File(outputDir, tileFileName + ".txt").toPath());
+					}
+				});
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException ioException)
+			{
+				throw ioException;
+			}
+			if (cause instanceof InterruptedException interruptedException)
+			{
+				throw interruptedException;
+			}
+			if (cause instanceof TimeoutException timeoutException)
+			{
+				throw timeoutException;
+			}
+			if (cause instanceof RuntimeException runtimeException)
+			{
+				throw runtimeException;
+			}
+			throw new IOException(cause);
+		}
+		metricsRecorder.record(page, ConversionStage.OCR, ocrStart);
+		if (options.isWritePageTextFiles())
+		{
+			File textFile = new File(outputDir, pageFileName + ".txt");
+			Files.writeString(textFile.toPath(), text);
+			metricsRecorder.recordBytesWritten(page, textFile.length());
+		}
+		return text;
+	}
+
+	private static File getTextFile(ProcessOcrResult result) throws IOException
+	{
+		if (!result.isSuccessful())
+		{
+			throw new IOException("tesseract failed for page " + (result.getPage() + 1)
+				+ (result.isTimedOut()
+					? " with a timeout"
+					: " with exit code " + result.getExitCode())
+				+ ": " + result.getOutput());
+		}
+		return result.getTextFile();
+	}
+
+	private static File getTextFile(File imageFile, File resultDir, String shellPath,
+		String ocrLanguage) throws IOException, InterruptedException
+	{
+		String output;
+		String command;
+		String commandPrefix;
+		commandPrefix = "tesseract";
+		String executionPath = resultDir.toString();
+		String imageFileName = imageFile.getName();
+		String textFileName = FilenameExtensions.getFilenameWithoutExtension(imageFile);
+		command = commandPrefix + " " + imageFileName + " " + textFileName + " -l " + ocrLanguage;
+		log.log(Level.INFO, "Executing command: " + command);
+		output = LinuxShellExecutor.execute(shellPath, executionPath, command);
+		log.log(Level.INFO, "Output from command: " + output);
+		File textFile = new File(resultDir, textFileName + ".txt");
+		FileFactory.newFile(textFile);
+		return textFile;
+	}
+
 	/**
 	 * Converts a text or image PDF file into image files for each page
 	 *
@@ -277,22 +899,319 @@ public final class PdfToTextExtensions
 	 */
 	public static List<File> getImageFiles(File pdfFile, File outputDir, String imageFileFormatName)
 		throws IOException
+	{
+		return getImageFiles(pdfFile, outputDir,
+			RenderOptions.builder().imageFileFormatName(imageFileFormatName).build());
+	}
+
+	/**
+	 * Converts a text or image PDF file into image files for each page with the given render
+	 * options. The extension of the image files matches the image file format of the given render
+	 * options
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param outputDir
+	 *            the directory where the image files will be stored
+	 * @param renderOptions
+	 *            the options for rendering the pages
+	 * @return the list of generated image files
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public static List<File> getImageFiles(File pdfFile, File outputDir,
+		RenderOptions renderOptions) throws IOException
+	{
+		return getImageFiles(pdfFile, outputDir, renderOptions, PageSelection.all());
+	}
+
+	/**
+	 * Converts the given range of pages of a text or image PDF file into image files, the pages
+	 * outside the range are not rendered
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param outputDir
+	 *            the directory where the image files will be stored
+	 * @param startPage
+	 *            the first page to convert, one based
+	 * @param endPage
+	 *            the last page to convert inclusive, one based
+	 * @return the list of generated image files in page order
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public static List<File> getImageFiles(File pdfFile, File outputDir, int startPage,
+		int endPage) throws IOException
+	{
+		return getImageFiles(pdfFile, outputDir, PageSelection.range(startPage, endPage));
+	}
+
+	/**
+	 * Converts the selected pages of a text or image PDF file into image files, the pages outside
+	 * the selection are not rendered
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param outputDir
+	 *            the directory where the image files will be stored
+	 * @param pageSelection
+	 *            the pages to convert
+	 * @return the list of generated image files in page order
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public static List<File> getImageFiles(File pdfFile, File outputDir,
+		PageSelection pageSelection) throws IOException
+	{
+		return getImageFiles(pdfFile, outputDir, RenderOptions.builder().build(), pageSelection);
+	}
+
+	/**
+	 * Converts the selected pages of a text or image PDF file into image files with the given
+	 * render options, the pages outside the selection are not rendered
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param outputDir
+	 *            the directory where the image files will be stored
+	 * @param renderOptions
+	 *            the options for rendering the pages
+	 * @param pageSelection
+	 *            the pages to convert
+	 * @return the list of generated image files in page order
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public static List<File> getImageFiles(File pdfFile, File outputDir,
+		RenderOptions renderOptions, PageSelection pageSelection) throws IOException
+	{
+		return getImageFiles(pdfFile, outputDir, renderOptions, pageSelection,
+			LoadOptions.builder().build());
+	}
+
+	/**
+	 * Converts the selected pages of a text or image PDF file that is loaded with the given load
+	 * options into image files with the given render options
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param outputDir
+	 *            the directory where the image files will be stored
+	 * @param renderOptions
+	 *            the options for rendering the pages
+	 * @param pageSelection
+	 *            the pages to convert
+	 * @param loadOptions
+	 *            the options for loading the PDF file
+	 * @return the list of generated image files in page order
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public static List<File> getImageFiles(File pdfFile, File outputDir,
+		RenderOptions renderOptions, PageSelection pageSelection, LoadOptions loadOptions)
+		throws IOException
+	{
+		try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile, loadOptions))
+		{
+			return getImageFiles(session, outputDir, renderOptions, pageSelection);
+		}
+	}
+
+	/**
+	 * Converts the selected pages of the PDF document of the given session into image files with
+	 * the given render options without loading the PDF file again
+	 *
+	 * @param session
+	 *            the session of the loaded PDF document
+	 * @param outputDir
+	 *            the directory where the image files will be stored
+	 * @param renderOptions
+	 *            the options for rendering the pages
+	 * @param pageSelection
+	 *            the pages to convert
+	 * @return the list of generated image files in page order
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public static List<File> getImageFiles(PdfDocumentSession session, File outputDir,
+		RenderOptions renderOptions, PageSelection pageSelection) throws IOException
 	{
 		List<File> imageFiles = new ArrayList<>();
-		String fileName = FilenameExtensions.getFilenameWithoutExtension(pdfFile);
-		try (PDDocument document = Loader.loadPDF(pdfFile))
+		String fileName = session.getFileName();
+		for (int page : pageSelection.resolve(session.getNumberOfPages()))
 		{
-			PDFRenderer pdfRenderer = new PDFRenderer(document);
-			for (int page = 0; page < document.getNumberOfPages(); ++page)
-			{
-				BufferedImage image = pdfRenderer.renderImageWithDPI(page, 300, ImageType.RGB);
-				File imageFile = new File(outputDir, fileName + "page_" + (page + 1) + ".png");
-				FileFactory.newFile(imageFile);
-				ImageIO.write(image, imageFileFormatName, imageFile);
-				imageFiles.add(imageFile);
-			}
+			BufferedImage image = session.renderImage(page, renderOptions);
+			imageFiles.add(writeImageFile(image, fileName, page, outputDir, renderOptions));
 		}
 		return imageFiles;
 	}
 
+	/**
+	 * Factory method for creating a new {@link PDFRenderer} for the given document with the
+	 * subsampling setting of the given render options
+	 *
+	 * @param document
+	 *            the PDF document
+	 * @param renderOptions
+	 *            the options for rendering the pages
+	 * @return the new {@link PDFRenderer}
+	 */
+	public static PDFRenderer newPdfRenderer(PDDocument document, RenderOptions renderOptions)
+	{
+		PDFRenderer pdfRenderer = new PDFRenderer(document);
+		pdfRenderer.setSubsamplingAllowed(renderOptions.isSubsamplingAllowed());
+		return pdfRenderer;
+	}
+
+	/**
+	 * Renders the given page in memory with 300 DPI
+	 *
+	 * @param pdfRenderer
+	 *            the renderer of the PDF document
+	 * @param page
+	 *            the zero based index of the page
+	 * @return the rendered image of the page
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public static BufferedImage renderImage(PDFRenderer pdfRenderer, int page) throws IOException
+	{
+		return renderImage(pdfRenderer, page, RenderOptions.builder().build());
+	}
+
+	/**
+	 * Renders the given page in memory with the resolution and the colour model of the given
+	 * render options
+	 *
+	 * @param pdfRenderer
+	 *            the renderer of the PDF document
+	 * @param page
+	 *            the zero based index of the page
+	 * @param renderOptions
+	 *            the options for rendering the pages
+	 * @return the rendered image of the page
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public static BufferedImage renderImage(PDFRenderer pdfRenderer, int page,
+		RenderOptions renderOptions) throws IOException
+	{
+		return pdfRenderer.renderImageWithDPI(page, renderOptions.getDpi(),
+			renderOptions.getImageType());
+	}
+
+	/**
+	 * Writes the given rendered page image to the image file of the given page with the image file
+	 * format of the given render options
+	 *
+	 * @param image
+	 *            the rendered page image
+	 * @param fileName
+	 *            the file name of the PDF file without extension
+	 * @param page
+	 *            the zero based index of the page
+	 * @param outputDir
+	 *            the directory where the image file will be stored
+	 * @param renderOptions
+	 *            the options for rendering the pages
+	 * @return the written image file
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public static File writeImageFile(BufferedImage image, String fileName, int page,
+		File outputDir, RenderOptions renderOptions) throws IOException
+	{
+		return writeImageFile(image, getImageFile(fileName, page, outputDir, renderOptions),
+			renderOptions.getImageFileFormatName());
+	}
+
+	/**
+	 * Gets the image file of the given page with the extension that matches the image file format
+	 * of the given render options
+	 *
+	 * @param fileName
+	 *            the file name of the PDF file without extension
+	 * @param page
+	 *            the zero based index of the page
+	 * @param outputDir
+	 *            the directory where the image file will be stored
+	 * @param renderOptions
+	 *            the options for rendering the pages
+	 * @return the image file of the given page
+	 */
+	public static File getImageFile(String fileName, int page, File outputDir,
+		RenderOptions renderOptions)
+	{
+		return new File(outputDir,
+			getPageFileName(fileName, page) + renderOptions.getImageFileExtension());
+	}
+
+	/**
+	 * Writes the given rendered page image to the given image file
+	 *
+	 * @param image
+	 *            the rendered page image
+	 * @param imageFile
+	 *            the image file to write
+	 * @param imageFileFormatName
+	 *            the image file format containing the informal name of the image file format
+	 * @return the written image file
+	 * @throws IOException
+	 *             if an I/O error occurs or if no image writer supports the given image file
+	 *             format for the type of the given image
+	 */
+	public static File writeImageFile(BufferedImage image, File imageFile,
+		String imageFileFormatName) throws IOException
+	{
+		FileFactory.newFile(imageFile);
+		if (!ImageIO.write(image, imageFileFormatName, imageFile))
+		{
+			Files.deleteIfExists(imageFile.toPath());
+			throw new IOException("No image writer found for the image file format '"
+				+ imageFileFormatName + "' and the image type " + image.getType());
+		}
+		return imageFile;
+	}
+
+	/**
+	 * Gets the file name without extension for the files of the given page
+	 *
+	 * @param fileName
+	 *            the file name of the PDF file without extension
+	 * @param page
+	 *            the zero based index of the page
+	 * @return the file name without extension for the files of the given page
+	 */
+	public static String getPageFileName(String fileName, int page)
+	{
+		return fileName + "page_" + (page + 1);
+	}
+
+	/**
+	 * Deletes the text files of the given pages and removes them from the given text files. This
+	 * is used for the timed out pages of a conversion, whose text was not recognized
+	 *
+	 * @param textFiles
+	 *            the text files of the conversion
+	 * @param pages
+	 *            the zero based indexes of the pages whose text files are deleted
+	 * @param fileName
+	 *            the file name of the PDF file without extension
+	 * @param outputDir
+	 *            the directory where the text files are stored
+	 * @throws IOException
+	 *             if a text file can not be deleted
+	 */
+	public static void deleteTextFiles(List<File> textFiles, Collection<Integer> pages,
+		String fileName, File outputDir) throws IOException
+	{
+		for (int page : pages)
+		{
+			File textFile = new File(outputDir, getPageFileName(fileName, page) + ".txt");
+			textFiles.remove(textFile);
+			Files.deleteIfExists(textFile.toPath());
+		}
+	}
+
 }
@@ -0,0 +1,393 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.pipeline;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapi69.io.file.FilenameExtensions;
+import io.github.astrapisixtynine.pdf.to.text.cache.OcrCacheKeyExtensions;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSource;
+
+/**
+ * The class {@link ConversionCheckpoint} records the finished pages of a conversion in a manifest
+ * in the output directory, so a conversion that was aborted can be resumed without converting the
+ * finished pages again. It is a {@link PageWriter} that stores the text of every page in its own
+ * checkpoint file and appends the page with the hash of its text to the manifest.
+ * <p>
+ * The manifest starts with the fingerprint of the PDF file and the conversion settings. If the
+ * fingerprint of an existing manifest does not match, the checkpoint is discarded. A page is only
+ * treated as finished if its checkpoint file still exists and matches the recorded hash, so a page
+ * that was written only partially before a crash is converted again. A conversion that decides
+ * the source of every page, like the hybrid conversion, records the source of a page in the
+ * manifest before the page is finished, so a resumed page keeps its source
+ */
+public class ConversionCheckpoint implements PageWriter
+{
+
+	/**
+	 * The suffix of the name of the manifest file
+	 */
+	public static final String MANIFEST_FILE_SUFFIX = ".manifest";
+
+	/**
+	 * The suffix of the name of the directory with the checkpoint files of the pages
+	 */
+	public static final String CHECKPOINT_DIRECTORY_SUFFIX = ".checkpoint";
+
+	private static final String FINGERPRINT = "fingerprint";
+
+	private static final String PAGE_PREFIX = "page.";
+
+	private static final String SOURCE_PREFIX = "source.";
+
+	private final File manifestFile;
+
+	private final File checkpointDir;
+
+	private final String fingerprint;
+
+	private final Map<Integer, String> finishedPages = new TreeMap<>();
+
+	private final Map<Integer, PageSource> pageSources = new TreeMap<>();
+
+	private ConversionCheckpoint(File manifestFile, File checkpointDir, String fingerprint)
+	{
+		this.manifestFile = manifestFile;
+		this.checkpointDir = checkpointDir;
+		this.fingerprint = fingerprint;
+	}
+
+	/**
+	 * Opens the checkpoint of the given file name in the given output directory. The finished
+	 * pages of an existing manifest with the same fingerprint are taken over if they are valid,
+	 * otherwise a new manifest is started
+	 *
+	 * @param outputDir
+	 *            the output directory of the conversion
+	 * @param fileName
+	 *            the file name of the PDF file without extension
+	 * @param fingerprint
+	 *            the fingerprint of the PDF file and the conversion settings
+	 * @return the opened checkpoint
+	 * @throws IOException
+	 *             if the manifest can not be read or written
+	 */
+	public static ConversionCheckpoint open(File outputDir, String fileName, String fingerprint)
+		throws IOException
+	{
+		ConversionCheckpoint checkpoint = new ConversionCheckpoint(
+			new File(outputDir, fileName + MANIFEST_FILE_SUFFIX),
+			new File(outputDir, fileName + CHECKPOINT_DIRECTORY_SUFFIX), fingerprint);
+		checkpoint.load();
+		return checkpoint;
+	}
+
+	/**
+	 * Opens the checkpoint of the given PDF file in the given output directory with the
+	 * fingerprint of the PDF file and the given conversion settings
+	 *
+	 * @param outputDir
+	 *            the output directory of the conversion
+	 * @param pdfFile
+	 *            the PDF file
+	 * @param settings
+	 *            the conversion settings that change the extracted text
+	 * @return the opened checkpoint
+	 * @throws IOException
+	 *             if the PDF file can not be read or the manifest can not be read or written
+	 */
+	public static ConversionCheckpoint open(File outputDir, File pdfFile, String settings)
+		throws IOException
+	{
+		return open(outputDir, FilenameExtensions.getFilenameWithoutExtension(pdfFile),
+			newFingerprint(pdfFile, settings));
+	}
+
+	/**
+	 * Creates the fingerprint of the given PDF file and the given conversion settings
+	 *
+	 * @param pdfFile
+	 *            the PDF file
+	 * @param settings
+	 *            the conversion settings that change the extracted text
+	 * @return the fingerprint as hex string
+	 * @throws IOException
+	 *             if the PDF file can not be read
+	 */
+	public static String newFingerprint(File pdfFile, String settings) throws IOException
+	{
+		return OcrCacheKeyExtensions.newKey(pdfFile, settings);
+	}
+
+	/**
+	 * Checks if the given page is finished
+	 *
+	 * @param page
+	 *            the zero based index of the page
+	 * @return true if the page is finished otherwise false
+	 */
+	public synchronized boolean isFinished(int page)
+	{
+		return finishedPages.containsKey(page);
+	}
+
+	/**
+	 * Gets the pages of the given pages that are not finished
+	 *
+	 * @param pages
+	 *            the zero based indexes of the pages
+	 * @return the pages that are not finished in the given order
+	 */
+	public synchronized List<Integer> getPendingPages(List<Integer> pages)
+	{
+		List<Integer> pendingPages = new ArrayList<>();
+		for (Integer page : pages)
+		{
+			if (!finishedPages.containsKey(page))
+			{
+				pendingPages.add(page);
+			}
+		}
+		return pendingPages;
+	}
+
+	/**
+	 * Stores the text of the given page in its checkpoint file and records the page as finished in
+	 * the manifest
+	 *
+	 * @param page
+	 *            the zero based index of the page
+	 * @param text
+	 *            the extracted text of the page
+	 * @throws IOException
+	 *             if the checkpoint file or the manifest can not be written
+	 */
+	@Override
+	public synchronized void write(int page, String text) throws IOException
+	{
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		Path pageFile = getPageFile(page).toPath();
+		// write a temporary file first, so a crash never leaves a truncated checkpoint file
+		Path temporaryFile = Files.createTempFile(checkpointDir.toPath(), "page", ".tmp");
+		Files.write(temporaryFile, bytes);
+		Files.move(temporaryFile, pageFile, StandardCopyOption.ATOMIC_MOVE);
+		String hash = getHash(bytes);
+		Files.writeString(manifestFile.toPath(), PAGE_PREFIX + page + "=" + hash + "\n",
+			StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+		finishedPages.put(page, hash);
+	}
+
+	/**
+	 * Records the source of the text of the given page in the manifest. The source is recorded
+	 * before the page is finished and is only returned for a finished page
+	 *
+	 * @param page
+	 *            the zero based index of the page
+	 * @param pageSource
+	 *            the source of the text of the page
+	 * @throws IOException
+	 *             if the manifest can not be written
+	 */
+	public synchronized void writePageSource(int page, PageSource pageSource) throws IOException
+	{
+		Files.writeString(manifestFile.toPath(),
+			SOURCE_PREFIX + page + "=" + pageSource.name() + "\n", StandardCharsets.UTF_8,
+			StandardOpenOption.APPEND);
+		pageSources.put(page, pageSource);
+	}
+
+	/**
+	 * Gets the recorded source of the text of the given finished page
+	 *
+	 * @param page
+	 *            the zero based index of the page
+	 * @return the source of the text of the page or null if the page is not finished or no source
+	 *         is recorded for it
+	 */
+	public synchronized PageSource getPageSource(int page)
+	{
+		return finishedPages.containsKey(page) ? pageSources.get(page) : null;
+	}
+
+	/**
+	 * Gets the text of the given finished page
+	 *
+	 * @param page
+	 *            the zero based index of the page
+	 * @return the text of the page
+	 * @throws IOException
+	 *             if the page is not finished or its checkpoint file can not be read
+	 */
+	public synchronized String getPageText(int page) throws IOException
+	{
+		if (!finishedPages.containsKey(page))
+		{
+			throw new IOException("The page " + (page + 1) + " is not finished");
+		}
+		return Files.readString(getPageFile(page).toPath(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Deletes the manifest file and the checkpoint files of this checkpoint. This is called after
+	 * the result of the conversion is assembled from every page, afterwards no page is finished
+	 *
+	 * @throws IOException
+	 *             if the manifest file or the checkpoint files can not be deleted
+	 */
+	public synchronized void delete() throws IOException
+	{
+		finishedPages.clear();
+		pageSources.clear();
+		Files.deleteIfExists(manifestFile.toPath());
+		if (checkpointDir.exists())
+		{
+			DeleteFileExtensions.delete(checkpointDir);
+		}
+	}
+
+	/**
+	 * Gets the manifest file
+	 *
+	 * @return the manifest file
+	 */
+	public File getManifestFile()
+	{
+		return manifestFile;
+	}
+
+	/**
+	 * Gets the directory with the checkpoint files of the pages
+	 *
+	 * @return the directory with the checkpoint files of the pages
+	 */
+	public File getCheckpointDir()
+	{
+		return checkpointDir;
+	}
+
+	/**
+	 * Gets the fingerprint of the PDF file and the conversion settings
+	 *
+	 * @return the fingerprint
+	 */
+	public String getFingerprint()
+	{
+		return fingerprint;
+	}
+
+	private void load() throws IOException
+	{
+		if (manifestFile.exists())
+		{
+			String content = Files.readString(manifestFile.toPath(), StandardCharsets.UTF_8);
+			Properties manifest = new Properties();
+			manifest.load(new StringReader(content));
+			if (fingerprint.equals(manifest.getProperty(FINGERPRINT)))
+			{
+				if (!content.endsWith("\n"))
+				{
+					// terminate a line that was written only partially before a crash
+					Files.writeString(manifestFile.toPath(), "\n", StandardCharsets.UTF_8,
+						StandardOpenOption.APPEND);
+				}
+				for (String name : manifest.stringPropertyNames())
+				{
+					if (name.startsWith(PAGE_PREFIX))
+					{
+						validate(name, manifest.getProperty(name));
+					}
+					else if (name.startsWith(SOURCE_PREFIX))
+					{
+						loadPageSource(name, manifest.getProperty(name));
+					}
+				}
+				Files.createDirectories(checkpointDir.toPath());
+				return;
+			}
+		}
+		// a new or stale checkpoint starts from scratch
+		if (checkpointDir.exists())
+		{
+			DeleteFileExtensions.delete(checkpointDir);
+		}
+		Files.createDirectories(checkpointDir.toPath());
+		Files.writeString(manifestFile.toPath(), FINGERPRINT + "=" + fingerprint + "\n",
+			StandardCharsets.UTF_8);
+	}
+
+	private void validate(String name, String hash) throws IOException
+	{
+		int page;
+		try
+		{
+			page = Integer.parseInt(name.substring(PAGE_PREFIX.length()));
+		}
+		catch (NumberFormatException e)
+		{
+			return;
+		}
+		File pageFile = getPageFile(page);
+		if (pageFile.exists() && hash.equals(getHash(Files.readAllBytes(pageFile.toPath()))))
+		{
+			finishedPages.put(page, hash);
+		}
+	}
+
+	private void loadPageSource(String name, String pageSource)
+	{
+		try
+		{
+			pageSources.put(Integer.parseInt(name.substring(SOURCE_PREFIX.length())),
+				PageSource.valueOf(pageSource));
+		}
+		catch (IllegalArgumentException e)
+		{
+			// a line that was written only partially before a crash
+		}
+	}
+
+	private File getPageFile(int page)
+	{
+		return new File(checkpointDir, "page-" + (page + 1) + ".txt");
+	}
+
+	private static String getHash(byte[] bytes)
+	{
+		return OcrCacheKeyExtensions.newKey(bytes, "");
+	}
+}
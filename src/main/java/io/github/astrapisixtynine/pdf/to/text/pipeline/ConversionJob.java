@@ -0,0 +1,128 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.pipeline;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The class {@link ConversionJob} is a cancellable handle of a conversion that runs on its own
+ * thread. Cancelling the job interrupts the conversion, so it stops rendering new pages, kills the
+ * running tesseract processes and gives the borrowed OCR engines back to their pool as soon as
+ * their current recognition returns. A tess4j recognition runs in native code and ignores the
+ * interrupt, so a tess4j engine is only given back to its pool when its native call returns.
+ * <p>
+ * Any of the conversion methods can be submitted as a {@link Callable}, the deadline of a
+ * conversion is set with its options
+ *
+ * @param <T>
+ *            the type of the result of the conversion
+ */
+public final class ConversionJob<T> implements Future<T>
+{
+
+	private final FutureTask<T> task;
+
+	private ConversionJob(Callable<T> conversion)
+	{
+		this.task = new FutureTask<>(conversion);
+	}
+
+	/**
+	 * Starts the given conversion on a new virtual thread
+	 *
+	 * @param <T>
+	 *            the type of the result of the conversion
+	 * @param conversion
+	 *            the conversion to run
+	 * @return the handle of the running conversion
+	 */
+	public static <T> ConversionJob<T> submit(Callable<T> conversion)
+	{
+		ConversionJob<T> job = new ConversionJob<>(conversion);
+		Thread.ofVirtual().name("pdf-to-text-conversion").start(job.task);
+		return job;
+	}
+
+	/**
+	 * Cancels the conversion and interrupts it if it is running
+	 *
+	 * @return false if the conversion is already finished otherwise true
+	 */
+	public boolean cancel()
+	{
+		return cancel(true);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean cancel(boolean mayInterruptIfRunning)
+	{
+		return task.cancel(mayInterruptIfRunning);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isCancelled()
+	{
+		return task.isCancelled();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isDone()
+	{
+		return task.isDone();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T get() throws InterruptedException, ExecutionException
+	{
+		return task.get();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public T get(long timeout, TimeUnit unit)
+		throws InterruptedException, ExecutionException, TimeoutException
+	{
+		return task.get(timeout, unit);
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.pipeline;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The functional interface {@link PageRenderer} renders a page of a PDF document to an image. A
+ * {@link PageRenderer} is only called from the single rendering thread of a
+ * {@link RenderOcrPipeline}
+ */
+@FunctionalInterface
+public interface PageRenderer
+{
+
+	/**
+	 * Renders the given page
+	 *
+	 * @param page
+	 *            the zero based index of the page
+	 * @return the rendered image of the page
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	BufferedImage render(int page) throws IOException;
+
+	/**
+	 * Returns a {@link PageRenderer} that renders a page only while a permit of the given
+	 * semaphore is held, so the rendering of concurrent conversions can be bounded
+	 *
+	 * @param permits
+	 *            the semaphore with the permits or null if the rendering is not bounded
+	 * @return the bounded {@link PageRenderer} or this {@link PageRenderer} if the given semaphore
+	 *         is null
+	 */
+	default PageRenderer withPermits(Semaphore permits)
+	{
+		if (permits == null)
+		{
+			return this;
+		}
+		return page -> {
+			try
+			{
+				permits.acquire();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for a permit");
+			}
+			try
+			{
+				return render(page);
+			}
+			finally
+			{
+				permits.release();
+			}
+		};
+	}
+}
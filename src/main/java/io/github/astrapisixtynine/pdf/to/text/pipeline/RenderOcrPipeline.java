@@ -0,0 +1,558 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.pipeline;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The class {@link RenderOcrPipeline} converts the pages of a PDF document in three overlapping
+ * stages. A single rendering thread renders the pages into a bounded queue, a number of OCR workers
+ * take the rendered pages from the queue and extract the text, and the calling thread writes the
+ * extracted text in page order.
+ * <p>
+ * The capacity of the queue caps the number of rendered pages that are in flight. The rendering
+ * thread blocks as soon as the queue is full, so at most the queue capacity plus the number of OCR
+ * workers rendered pages are held in memory, independent of the number of pages of the document.
+ * <p>
+ * A page whose OCR takes longer than the page timeout is written with an empty text and reported
+ * by {@link #getTimedOutPages()} instead of failing the conversion. Its OCR worker is interrupted,
+ * which kills a running tesseract process, and replaced by a new worker, so a page that stalls the
+ * OCR engine does not block the pages behind it. The thread of a timed out worker counts against
+ * the number of OCR workers until its recognition returns, a native tess4j recognition ignores
+ * the interrupt and keeps its OCR engine and its permit until then, so the replacement starts only
+ * after the timed out worker returned. If the conversion exceeds its deadline or the
+ * calling thread is interrupted, no further pages are rendered and all workers are interrupted
+ */
+public class RenderOcrPipeline
+{
+
+	/**
+	 * The default capacity of the queue between the rendering stage and the OCR stage
+	 */
+	public static final int DEFAULT_QUEUE_CAPACITY = 2;
+
+	private static final RenderedPage END_OF_PAGES = new RenderedPage(-1, -1, null);
+
+	private final PageRenderer renderer;
+
+	private final PageRecognizer recognizer;
+
+	private final PageWriter writer;
+
+	private final int ocrThreads;
+
+	private final int queueCapacity;
+
+	private final Duration pageTimeout;
+
+	private final Duration deadline;
+
+	private final Semaphore cpuPermits;
+
+	private final Set<Integer> timedOutPages = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Creates a new {@link RenderOcrPipeline}
+	 *
+	 * @param renderer
+	 *            the renderer of the rendering stage
+	 * @param recognizer
+	 *            the recognizer of the OCR stage
+	 * @param writer
+	 *            the writer of the writing stage
+	 * @param ocrThreads
+	 *            the number of OCR workers
+	 * @param queueCapacity
+	 *            the maximum number of rendered pages that wait for an OCR worker
+	 */
+	public RenderOcrPipeline(PageRenderer renderer, PageRecognizer recognizer, PageWriter writer,
+		int ocrThreads, int queueCapacity)
+	{
+		this(renderer, recognizer, writer, ocrThreads, queueCapacity, null, null);
+	}
+
+	/**
+	 * Creates a new {@link RenderOcrPipeline} with a timeout for the OCR of every page and a
+	 * deadline for the whole conversion
+	 *
+	 * @param renderer
+	 *            the renderer of the rendering stage
+	 * @param recognizer
+	 *            the recognizer of the OCR stage
+	 * @param writer
+	 *            the writer of the writing stage
+	 * @param ocrThreads
+	 *            the number of OCR workers
+	 * @param queueCapacity
+	 *            the maximum number of rendered pages that wait for an OCR worker
+	 * @param pageTimeout
+	 *            the maximum time of the OCR of one page or null for no timeout
+	 * @param deadline
+	 *            the maximum time of the whole conversion or null for no deadline
+	 */
+	public RenderOcrPipeline(PageRenderer renderer, PageRecognizer recognizer, PageWriter writer,
+		int ocrThreads, int queueCapacity, Duration pageTimeout, Duration deadline)
+	{
+		this(renderer, recognizer, writer, ocrThreads, queueCapacity, pageTimeout, deadline, null);
+	}
+
+	/**
+	 * Creates a new {@link RenderOcrPipeline} with a timeout for the OCR of every page, a deadline
+	 * for the whole conversion and permits that bound the OCR of concurrent conversions. An OCR
+	 * worker recognizes a rendered page only while it holds a permit, the page timeout starts
+	 * after the permit is taken
+	 *
+	 * @param renderer
+	 *            the renderer of the rendering stage
+	 * @param recognizer
+	 *            the recognizer of the OCR stage
+	 * @param writer
+	 *            the writer of the writing stage
+	 * @param ocrThreads
+	 *            the number of OCR workers
+	 * @param queueCapacity
+	 *            the maximum number of rendered pages that wait for an OCR worker
+	 * @param pageTimeout
+	 *            the maximum time of the OCR of one page or null for no timeout
+	 * @param deadline
+	 *            the maximum time of the whole conversion or null for no deadline
+	 * @param cpuPermits
+	 *            the permits that bound the OCR of concurrent conversions or null for no bound
+	 */
+	public RenderOcrPipeline(PageRenderer renderer, PageRecognizer recognizer, PageWriter writer,
+		int ocrThreads, int queueCapacity, Duration pageTimeout, Duration deadline,
+		Semaphore cpuPermits)
+	{
+		if (ocrThreads < 1)
+		{
+			throw new IllegalArgumentException("ocrThreads must be at least 1");
+		}
+		if (queueCapacity < 1)
+		{
+			throw new IllegalArgumentException("queueCapacity must be at least 1");
+		}
+		this.renderer = renderer;
+		this.recognizer = recognizer;
+		this.writer = writer;
+		this.ocrThreads = ocrThreads;
+		this.queueCapacity = queueCapacity;
+		this.pageTimeout = pageTimeout;
+		this.deadline = deadline;
+		this.cpuPermits = cpuPermits;
+	}
+
+	/**
+	 * Gets the zero based indexes of the pages whose OCR exceeded the page timeout in the last
+	 * execution. These pages are written with an empty text
+	 *
+	 * @return the sorted zero based indexes of the timed out pages
+	 */
+	public Set<Integer> getTimedOutPages()
+	{
+		return new TreeSet<>(timedOutPages);
+	}
+
+	/**
+	 * Converts the given pages. Returns after the text of all pages is written or after the first
+	 * failure of a stage
+	 *
+	 * @param pages
+	 *            the zero based indexes of the pages in the order they are written
+	 * @throws IOException
+	 *             if an I/O error occurs in the writing stage
+	 * @throws InterruptedIOException
+	 *             if the conversion exceeded its deadline
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting
+	 * @throws ExecutionException
+	 *             if the rendering stage or the OCR stage failed, the cause holds the original
+	 *             exception
+	 */
+	public void execute(List<Integer> pages)
+		throws IOException, InterruptedException, ExecutionException
+	{
+		execute(pages, true);
+	}
+
+	/**
+	 * Converts the given pages with a checkpoint. Only the pages that are not finished in the
+	 * checkpoint are rendered and recognized, their text is recorded in the checkpoint. The text
+	 * of all given pages is written to the writer of this pipeline in page order only after every
+	 * page is finished. Timed out pages are not recorded in the checkpoint, so they are recognized
+	 * again if the conversion is resumed
+	 *
+	 * @param pages
+	 *            the zero based indexes of the pages in the order they are written
+	 * @param checkpoint
+	 *            the checkpoint of the conversion or null to convert all pages without checkpoint
+	 * @throws IOException
+	 *             if an I/O error occurs in the writing stage or in the checkpoint
+	 * @throws InterruptedIOException
+	 *             if the conversion exceeded its deadline
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting
+	 * @throws ExecutionException
+	 *             if the rendering stage or the OCR stage failed, the cause holds the original
+	 *             exception
+	 */
+	public void execute(List<Integer> pages, ConversionCheckpoint checkpoint)
+		throws IOException, InterruptedException, ExecutionException
+	{
+		if (checkpoint == null)
+		{
+			execute(pages);
+			return;
+		}
+		RenderOcrPipeline checkpointPipeline = new RenderOcrPipeline(renderer, recognizer,
+			checkpoint, ocrThreads, queueCapacity, pageTimeout, deadline, cpuPermits);
+		try
+		{
+			checkpointPipeline.execute(checkpoint.getPendingPages(pages), false);
+		}
+		finally
+		{
+			timedOutPages.clear();
+			timedOutPages.addAll(checkpointPipeline.timedOutPages);
+		}
+		for (int page : pages)
+		{
+			writer.write(page,
+				timedOutPages.contains(page) ? "" : checkpoint.getPageText(page));
+		}
+	}
+
+	private void execute(List<Integer> pages, boolean writeTimedOutPages)
+		throws IOException, InterruptedException, ExecutionException
+	{
+		timedOutPages.clear();
+		if (pages.isEmpty())
+		{
+			return;
+		}
+		long deadlineNanos = deadline != null ? System.nanoTime() + deadline.toNanos() : 0;
+		BlockingQueue<RenderedPage> renderedPages = new ArrayBlockingQueue<>(queueCapacity);
+		BlockingQueue<RecognizedPage> recognizedPages = new LinkedBlockingQueue<>();
+		Map<Integer, InFlightPage> inFlightPages = new ConcurrentHashMap<>();
+		// at most the rendering thread and the OCR workers run at the same time, the thread of a
+		// timed out worker is only reused after its recognition returned
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try
+		{
+			Workers workers = new Workers(executor,
+				() -> recognize(renderedPages, recognizedPages, inFlightPages));
+			executor.execute(() -> render(pages, renderedPages, recognizedPages));
+			for (int worker = 0; worker < ocrThreads; ++worker)
+			{
+				workers.replace();
+			}
+			write(pages, recognizedPages, inFlightPages, workers::replace, deadlineNanos,
+				writeTimedOutPages);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	private void render(List<Integer> pages, BlockingQueue<RenderedPage> renderedPages,
+		BlockingQueue<RecognizedPage> recognizedPages)
+	{
+		try
+		{
+			for (int position = 0; position < pages.size(); ++position)
+			{
+				int page = pages.get(position);
+				renderedPages.put(new RenderedPage(position, page, renderer.render(page)));
+			}
+			for (int worker = 0; worker < ocrThreads; ++worker)
+			{
+				renderedPages.put(END_OF_PAGES);
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (Throwable e)
+		{
+			recognizedPages.add(new RecognizedPage(-1, -1, null, e));
+		}
+	}
+
+	private void recognize(BlockingQueue<RenderedPage> renderedPages,
+		BlockingQueue<RecognizedPage> recognizedPages, Map<Integer, InFlightPage> inFlightPages)
+	{
+		try
+		{
+			RenderedPage renderedPage;
+			while ((renderedPage = renderedPages.take()) != END_OF_PAGES)
+			{
+				// the permit is taken before the page is in flight, so waiting for a permit does
+				// not count against the page timeout
+				Semaphore permits = renderedPage.image() != null ? cpuPermits : null;
+				if (permits != null)
+				{
+					permits.acquire();
+				}
+				InFlightPage inFlightPage = new InFlightPage(renderedPage.page(),
+					Thread.currentThread(), System.nanoTime());
+				inFlightPages.put(renderedPage.position(), inFlightPage);
+				String text;
+				try
+				{
+					text = recognizer.recognize(renderedPage.page(), renderedPage.image());
+				}
+				catch (TimeoutException e)
+				{
+					// the recognizer reports the timeout of its OCR engine itself
+					text = null;
+				}
+				catch (Throwable e)
+				{
+					if (!inFlightPages.remove(renderedPage.position(), inFlightPage))
+					{
+						// the page timed out and this worker is already replaced
+						return;
+					}
+					throw e;
+				}
+				finally
+				{
+					if (permits != null)
+					{
+						permits.release();
+					}
+				}
+				if (!inFlightPages.remove(renderedPage.position(), inFlightPage))
+				{
+					return;
+				}
+				if (text == null)
+				{
+					timedOutPages.add(renderedPage.page());
+				}
+				recognizedPages.add(new RecognizedPage(renderedPage.position(),
+					renderedPage.page(), text != null ? text : "", null));
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+		catch (Throwable e)
+		{
+			recognizedPages.add(new RecognizedPage(-1, -1, null, e));
+		}
+	}
+
+	private void write(List<Integer> pages, BlockingQueue<RecognizedPage> recognizedPages,
+		Map<Integer, InFlightPage> inFlightPages, Runnable replaceWorker, long deadlineNanos,
+		boolean writeTimedOutPages) throws IOException, InterruptedException, ExecutionException
+	{
+		Map<Integer, RecognizedPage> pending = new HashMap<>();
+		int next = 0;
+		while (next < pages.size())
+		{
+			RecognizedPage recognizedPage = poll(recognizedPages, inFlightPages, deadlineNanos);
+			if (recognizedPage == null)
+			{
+				timeOut(recognizedPages, inFlightPages, replaceWorker);
+				continue;
+			}
+			if (recognizedPage.failure() != null)
+			{
+				throw new ExecutionException(recognizedPage.failure());
+			}
+			pending.put(recognizedPage.position(), recognizedPage);
+			RecognizedPage nextPage;
+			while ((nextPage = pending.remove(next)) != null)
+			{
+				if (writeTimedOutPages || !timedOutPages.contains(nextPage.page()))
+				{
+					writer.write(nextPage.page(), nextPage.text());
+				}
+				++next;
+			}
+		}
+	}
+
+	private RecognizedPage poll(BlockingQueue<RecognizedPage> recognizedPages,
+		Map<Integer, InFlightPage> inFlightPages, long deadlineNanos)
+		throws InterruptedException, InterruptedIOException
+	{
+		if (pageTimeout == null && deadline == null)
+		{
+			return recognizedPages.take();
+		}
+		long now = System.nanoTime();
+		long waitNanos = Long.MAX_VALUE;
+		if (deadline != null)
+		{
+			waitNanos = deadlineNanos - now;
+			if (waitNanos <= 0)
+			{
+				throw new InterruptedIOException(
+					"The conversion exceeded its deadline of " + deadline);
+			}
+		}
+		if (pageTimeout != null)
+		{
+			// wake up when the OCR of the oldest page in flight or of a page that is started
+			// while waiting times out
+			waitNanos = Math.min(waitNanos, pageTimeout.toNanos());
+			for (InFlightPage inFlightPage : inFlightPages.values())
+			{
+				waitNanos = Math.min(waitNanos,
+					Math.max(0, inFlightPage.startNanos() + pageTimeout.toNanos() - now));
+			}
+		}
+		return recognizedPages.poll(waitNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private void timeOut(BlockingQueue<RecognizedPage> recognizedPages,
+		Map<Integer, InFlightPage> inFlightPages, Runnable replaceWorker)
+	{
+		if (pageTimeout == null)
+		{
+			return;
+		}
+		long now = System.nanoTime();
+		for (Map.Entry<Integer, InFlightPage> entry : inFlightPages.entrySet())
+		{
+			InFlightPage inFlightPage = entry.getValue();
+			if (pageTimeout.toNanos() <= now - inFlightPage.startNanos()
+				&& inFlightPages.remove(entry.getKey(), inFlightPage))
+			{
+				inFlightPage.worker().interrupt();
+				timedOutPages.add(inFlightPage.page());
+				recognizedPages
+					.add(new RecognizedPage(entry.getKey(), inFlightPage.page(), "", null));
+				replaceWorker.run();
+			}
+		}
+	}
+
+	/**
+	 * The OCR workers of one execution. A worker is started for every replaced worker as soon as
+	 * less than the number of OCR workers are alive, a timed out worker stays alive until its
+	 * recognition returns
+	 */
+	private final class Workers
+	{
+
+		private final ExecutorService executor;
+
+		private final Runnable worker;
+
+		private final AtomicInteger liveWorkers = new AtomicInteger();
+
+		private final AtomicInteger missingWorkers = new AtomicInteger();
+
+		private Workers(ExecutorService executor, Runnable worker)
+		{
+			this.executor = executor;
+			this.worker = worker;
+		}
+
+		private void replace()
+		{
+			missingWorkers.incrementAndGet();
+			startMissingWorkers();
+		}
+
+		private void startMissingWorkers()
+		{
+			int live;
+			while (0 < missingWorkers.get() && (live = liveWorkers.get()) < ocrThreads)
+			{
+				// reserve a place for the worker before it is taken from the missing workers
+				if (!liveWorkers.compareAndSet(live, live + 1))
+				{
+					continue;
+				}
+				if (missingWorkers.getAndUpdate(missing -> Math.max(0, missing - 1)) == 0)
+				{
+					liveWorkers.decrementAndGet();
+					return;
+				}
+				try
+				{
+					executor.execute(this::run);
+				}
+				catch (RejectedExecutionException e)
+				{
+					// the execution is finished
+					liveWorkers.decrementAndGet();
+					return;
+				}
+			}
+		}
+
+		private void run()
+		{
+			try
+			{
+				worker.run();
+			}
+			finally
+			{
+				liveWorkers.decrementAndGet();
+				startMissingWorkers();
+			}
+		}
+	}
+
+	private record RenderedPage(int position, int page, BufferedImage image)
+	{
+	}
+
+	private record RecognizedPage(int position, int page, String text, Throwable failure)
+	{
+	}
+
+	private record InFlightPage(int page, Thread worker, long startNanos)
+	{
+	}
+}
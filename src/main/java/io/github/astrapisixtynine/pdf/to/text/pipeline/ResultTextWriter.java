@@ -0,0 +1,126 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.pipeline;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import io.github.astrapi69.file.write.StoreFileExtensions;
+
+/**
+ * The class {@link ResultTextWriter} is a {@link PageWriter} that appends the text of every page
+ * to the result text file as soon as it is written. Optionally the text of every page is also
+ * written to its own text file.
+ * <p>
+ * The pages must be written in page order, this is guaranteed if it is used as writing stage of a
+ * {@link RenderOcrPipeline} even if the OCR workers finish the pages out of order
+ */
+public class ResultTextWriter implements PageWriter, Closeable
+{
+
+	private final BufferedWriter resultWriter;
+
+	private final IntFunction<File> pageTextFiles;
+
+	private final List<File> textFiles = new ArrayList<>();
+
+	private long bytesWritten;
+
+	/**
+	 * Creates a new {@link ResultTextWriter}
+	 *
+	 * @param resultTextFile
+	 *            the result text file that receives the text of all pages
+	 * @param pageTextFiles
+	 *            the function that resolves the text file of a page from the zero based page
+	 *            index or null if no text files per page should be written
+	 * @throws IOException
+	 *             if the result text file can not be opened
+	 */
+	public ResultTextWriter(File resultTextFile, IntFunction<File> pageTextFiles)
+		throws IOException
+	{
+		this.resultWriter = Files.newBufferedWriter(resultTextFile.toPath(),
+			StandardCharsets.UTF_8);
+		this.pageTextFiles = pageTextFiles;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(int page, String text) throws IOException
+	{
+		resultWriter.write(text);
+		resultWriter.flush();
+		long textBytes = text.getBytes(StandardCharsets.UTF_8).length;
+		bytesWritten += textBytes;
+		if (pageTextFiles != null)
+		{
+			File textFile = pageTextFiles.apply(page);
+			StoreFileExtensions.toFile(textFile, text);
+			textFiles.add(textFile);
+			bytesWritten += textBytes;
+		}
+	}
+
+	/**
+	 * Gets the text files of the written pages in page order. The list is empty if no text files
+	 * per page are written
+	 *
+	 * @return the text files of the written pages
+	 */
+	public List<File> getTextFiles()
+	{
+		return textFiles;
+	}
+
+	/**
+	 * Gets the number of bytes that are written to the result text file and the text files of the
+	 * pages so far
+	 *
+	 * @return the number of written bytes
+	 */
+	public long getBytesWritten()
+	{
+		return bytesWritten;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		resultWriter.close();
+	}
+}
@@ -0,0 +1,129 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.preprocess;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import io.github.astrapisixtynine.pdf.to.text.info.BlankPageOptions;
+
+/**
+ * The class {@link BlankPageExtensions} detects blank pages on the rendered page images by the
+ * ratio of their ink pixels, so the OCR of blank separator and back pages can be skipped
+ */
+public final class BlankPageExtensions
+{
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private BlankPageExtensions()
+	{
+	}
+
+	/**
+	 * Checks if the given page image is blank. The gray values are read row by row from the image
+	 * without a gray scale copy and the check stops at the first ink pixel that exceeds the
+	 * maximum number of ink pixels, so pages with content are detected fast
+	 *
+	 * @param image
+	 *            the rendered page image
+	 * @param blankPageOptions
+	 *            the options for detecting blank pages
+	 * @return true if the ratio of the ink pixels of the given page image is not greater than the
+	 *         maximum ink ratio otherwise false
+	 */
+	public static boolean isBlank(BufferedImage image, BlankPageOptions blankPageOptions)
+	{
+		boolean gray = image.getType() == BufferedImage.TYPE_BYTE_GRAY
+			|| image.getType() == BufferedImage.TYPE_BYTE_BINARY;
+		int inkThreshold = image.getType() == BufferedImage.TYPE_BYTE_BINARY
+			? 0
+			: blankPageOptions.getInkThreshold();
+		int borderX = (int)(image.getWidth() * blankPageOptions.getBorderRatio());
+		int borderY = (int)(image.getHeight() * blankPageOptions.getBorderRatio());
+		int width = image.getWidth() - 2 * borderX;
+		int height = image.getHeight() - 2 * borderY;
+		if (width <= 0 || height <= 0)
+		{
+			return true;
+		}
+		long maxInkPixels = (long)(blankPageOptions.getMaxInkRatio() * width * height);
+		long inkPixels = 0;
+		Raster raster = image.getRaster();
+		int[] row = new int[width];
+		for (int y = borderY; y < borderY + height; ++y)
+		{
+			if (gray)
+			{
+				raster.getSamples(borderX, y, width, 1, 0, row);
+			}
+			else
+			{
+				image.getRGB(borderX, y, width, 1, row, 0, width);
+			}
+			for (int value : row)
+			{
+				if (!gray)
+				{
+					value = (((value >> 16) & 0xff) * 299 + ((value >> 8) & 0xff) * 587
+						+ (value & 0xff) * 114) / 1000;
+				}
+				if (value <= inkThreshold && maxInkPixels < ++inkPixels)
+				{
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks if the page image of the given image file is blank
+	 *
+	 * @param imageFile
+	 *            the image file of the page
+	 * @param blankPageOptions
+	 *            the options for detecting blank pages
+	 * @return true if the page image of the given image file is blank otherwise false
+	 * @throws IOException
+	 *             if the image file can not be read
+	 */
+	public static boolean isBlank(File imageFile, BlankPageOptions blankPageOptions)
+		throws IOException
+	{
+		BufferedImage image = ImageIO.read(imageFile);
+		if (image == null)
+		{
+			throw new IOException("The image file " + imageFile + " can not be read");
+		}
+		return isBlank(image, blankPageOptions);
+	}
+
+}
@@ -0,0 +1,442 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.preprocess;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+
+/**
+ * The class {@link ImagePreprocessingExtensions} provides in memory preprocessing of rendered page
+ * images before OCR, like binarization with Otsu's method, deskewing and cropping of the white
+ * margins. All methods work on the gray values of the page image, the pixels with a gray value up
+ * to the threshold of Otsu's method are the ink pixels
+ */
+public final class ImagePreprocessingExtensions
+{
+
+	/**
+	 * The default maximum angle in degrees that is detected and corrected by deskewing
+	 */
+	public static final double DEFAULT_MAX_SKEW_ANGLE = 5.0;
+
+	/**
+	 * The default step in degrees between the angles that are tried by the skew detection
+	 */
+	public static final double DEFAULT_SKEW_ANGLE_STEP = 0.2;
+
+	/**
+	 * The default number of pixels that are kept around the content by cropping
+	 */
+	public static final int DEFAULT_MARGIN = 10;
+
+	/**
+	 * The minimum angle in degrees that is corrected by deskewing, smaller angles do not disturb
+	 * the layout analysis of the OCR engine
+	 */
+	static final double MIN_SKEW_ANGLE = 0.1;
+
+	/**
+	 * The maximum number of sampled columns for the skew detection, wider page images are sampled
+	 * with a greater pixel step
+	 */
+	static final int MAX_SKEW_SAMPLES = 1000;
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private ImagePreprocessingExtensions()
+	{
+	}
+
+	/**
+	 * Converts the given page image to a gray scale image. Gray scale and binary images are
+	 * returned as they are
+	 *
+	 * @param image
+	 *            the page image
+	 * @return the gray scale image
+	 */
+	public static BufferedImage toGrayscale(BufferedImage image)
+	{
+		if (image.getType() == BufferedImage.TYPE_BYTE_GRAY
+			|| image.getType() == BufferedImage.TYPE_BYTE_BINARY)
+		{
+			return image;
+		}
+		BufferedImage grayImage = new BufferedImage(image.getWidth(), image.getHeight(),
+			BufferedImage.TYPE_BYTE_GRAY);
+		Graphics2D graphics = grayImage.createGraphics();
+		try
+		{
+			graphics.drawImage(image, 0, 0, null);
+		}
+		finally
+		{
+			graphics.dispose();
+		}
+		return grayImage;
+	}
+
+	/**
+	 * Counts the gray values of the given gray scale or binary image
+	 *
+	 * @param grayImage
+	 *            the gray scale or binary image
+	 * @return the histogram with the number of pixels of every gray value
+	 */
+	public static int[] getHistogram(BufferedImage grayImage)
+	{
+		int[] histogram = new int[256];
+		Raster raster = grayImage.getRaster();
+		int[] row = new int[raster.getWidth()];
+		for (int y = 0; y < raster.getHeight(); ++y)
+		{
+			raster.getSamples(0, y, row.length, 1, 0, row);
+			for (int value : row)
+			{
+				histogram[value]++;
+			}
+		}
+		return histogram;
+	}
+
+	/**
+	 * Computes the threshold of Otsu's method that separates the gray values of the given
+	 * histogram into ink and background with the maximum variance between both classes
+	 *
+	 * @param histogram
+	 *            the histogram with the number of pixels of every gray value
+	 * @return the greatest gray value of the ink pixels
+	 */
+	public static int getOtsuThreshold(int[] histogram)
+	{
+		long total = 0;
+		double sum = 0;
+		for (int value = 0; value < histogram.length; ++value)
+		{
+			total += histogram[value];
+			sum += (double)value * histogram[value];
+		}
+		long inkWeight = 0;
+		double inkSum = 0;
+		double maxVariance = -1;
+		int threshold = 0;
+		for (int value = 0; value < histogram.length; ++value)
+		{
+			inkWeight += histogram[value];
+			if (inkWeight == 0)
+			{
+				continue;
+			}
+			long backgroundWeight = total - inkWeight;
+			if (backgroundWeight == 0)
+			{
+				break;
+			}
+			inkSum += (double)value * histogram[value];
+			double meanDifference = inkSum / inkWeight - (sum - inkSum) / backgroundWeight;
+			double variance = (double)inkWeight * backgroundWeight * meanDifference
+				* meanDifference;
+			if (variance > maxVariance)
+			{
+				maxVariance = variance;
+				threshold = value;
+			}
+		}
+		return threshold;
+	}
+
+	/**
+	 * Binarizes the given page image with the threshold of Otsu's method
+	 *
+	 * @param image
+	 *            the page image
+	 * @return the binary image with black ink pixels and a white background
+	 */
+	public static BufferedImage binarize(BufferedImage image)
+	{
+		if (image.getType() == BufferedImage.TYPE_BYTE_BINARY)
+		{
+			return image;
+		}
+		BufferedImage grayImage = toGrayscale(image);
+		int threshold = getOtsuThreshold(getHistogram(grayImage));
+		Raster raster = grayImage.getRaster();
+		BufferedImage binaryImage = new BufferedImage(raster.getWidth(), raster.getHeight(),
+			BufferedImage.TYPE_BYTE_BINARY);
+		WritableRaster binaryRaster = binaryImage.getRaster();
+		int[] row = new int[raster.getWidth()];
+		for (int y = 0; y < raster.getHeight(); ++y)
+		{
+			raster.getSamples(0, y, row.length, 1, 0, row);
+			for (int x = 0; x < row.length; ++x)
+			{
+				row[x] = row[x] <= threshold ? 0 : 1;
+			}
+			binaryRaster.setSamples(0, y, row.length, 1, 0, row);
+		}
+		return binaryImage;
+	}
+
+	/**
+	 * Detects the skew angle of the text lines of the given page image with the default maximum
+	 * angle and step
+	 *
+	 * @param image
+	 *            the page image
+	 * @return the skew angle in degrees, positive if the text lines descend to the right
+	 */
+	public static double getSkewAngle(BufferedImage image)
+	{
+		return getSkewAngle(image, DEFAULT_MAX_SKEW_ANGLE, DEFAULT_SKEW_ANGLE_STEP);
+	}
+
+	/**
+	 * Detects the skew angle of the text lines of the given page image. The ink pixels are
+	 * sampled and projected onto the vertical axis for every tried angle, the angle with the
+	 * sharpest projection profile is the angle of the text lines
+	 *
+	 * @param image
+	 *            the page image
+	 * @param maxAngle
+	 *            the maximum angle in degrees that is tried in both directions
+	 * @param step
+	 *            the step in degrees between the tried angles
+	 * @return the skew angle in degrees, positive if the text lines descend to the right
+	 */
+	public static double getSkewAngle(BufferedImage image, double maxAngle, double step)
+	{
+		BufferedImage grayImage = toGrayscale(image);
+		int threshold = getOtsuThreshold(getHistogram(grayImage));
+		Raster raster = grayImage.getRaster();
+		int width = raster.getWidth();
+		int height = raster.getHeight();
+		int sampleStep = Math.max(1, (width + MAX_SKEW_SAMPLES - 1) / MAX_SKEW_SAMPLES);
+		int sampledWidth = (width + sampleStep - 1) / sampleStep;
+		int[] xs = new int[sampledWidth * ((height + sampleStep - 1) / sampleStep)];
+		int[] ys = new int[xs.length];
+		int inkPixels = 0;
+		int[] row = new int[width];
+		for (int y = 0; y < height; y += sampleStep)
+		{
+			raster.getSamples(0, y, width, 1, 0, row);
+			for (int x = 0; x < width; x += sampleStep)
+			{
+				if (row[x] <= threshold)
+				{
+					xs[inkPixels] = x / sampleStep;
+					ys[inkPixels] = y / sampleStep;
+					inkPixels++;
+				}
+			}
+		}
+		if (inkPixels == 0 || inkPixels == xs.length)
+		{
+			return 0;
+		}
+		int angles = (int)(maxAngle / step);
+		int offset = (int)Math.ceil(sampledWidth * Math.tan(Math.toRadians(maxAngle))) + 1;
+		int[] bins = new int[(height + sampleStep - 1) / sampleStep + 2 * offset + 1];
+		double bestAngle = 0;
+		long bestScore = getProjectionScore(xs, ys, inkPixels, 0, offset, bins);
+		for (int index = -angles; index <= angles; ++index)
+		{
+			double angle = index * step;
+			long score = getProjectionScore(xs, ys, inkPixels, Math.tan(Math.toRadians(angle)),
+				offset, bins);
+			if (score > bestScore)
+			{
+				bestScore = score;
+				bestAngle = angle;
+			}
+		}
+		return bestAngle;
+	}
+
+	private static long getProjectionScore(int[] xs, int[] ys, int inkPixels, double slope,
+		int offset, int[] bins)
+	{
+		Arrays.fill(bins, 0);
+		for (int index = 0; index < inkPixels; ++index)
+		{
+			bins[(int)Math.round(ys[index] - xs[index] * slope) + offset]++;
+		}
+		long score = 0;
+		for (int count : bins)
+		{
+			score += (long)count * count;
+		}
+		return score;
+	}
+
+	/**
+	 * Rotates the given page image so that its text lines are horizontal, skew angles up to
+	 * {@link #DEFAULT_MAX_SKEW_ANGLE} degrees are detected
+	 *
+	 * @param image
+	 *            the page image
+	 * @return the deskewed gray scale image or the given page image if it is not skewed
+	 */
+	public static BufferedImage deskew(BufferedImage image)
+	{
+		return deskew(image, DEFAULT_MAX_SKEW_ANGLE);
+	}
+
+	/**
+	 * Rotates the given page image so that its text lines are horizontal. The rotated page image
+	 * keeps its size and the uncovered corners are filled white
+	 *
+	 * @param image
+	 *            the page image
+	 * @param maxAngle
+	 *            the maximum skew angle in degrees that is detected
+	 * @return the deskewed gray scale image or the given page image if it is not skewed
+	 */
+	public static BufferedImage deskew(BufferedImage image, double maxAngle)
+	{
+		double angle = getSkewAngle(image, maxAngle, DEFAULT_SKEW_ANGLE_STEP);
+		if (Math.abs(angle) < MIN_SKEW_ANGLE)
+		{
+			return image;
+		}
+		BufferedImage deskewedImage = new BufferedImage(image.getWidth(), image.getHeight(),
+			BufferedImage.TYPE_BYTE_GRAY);
+		Graphics2D graphics = deskewedImage.createGraphics();
+		try
+		{
+			graphics.setColor(Color.WHITE);
+			graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+			graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+				RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			graphics.rotate(Math.toRadians(-angle), image.getWidth() / 2.0,
+				image.getHeight() / 2.0);
+			graphics.drawImage(image, 0, 0, null);
+		}
+		finally
+		{
+			graphics.dispose();
+		}
+		return deskewedImage;
+	}
+
+	/**
+	 * Gets the bounding box of the ink pixels of the given page image
+	 *
+	 * @param image
+	 *            the page image
+	 * @return the bounding box of the ink pixels or null if the page image contains no ink pixels
+	 */
+	public static Rectangle getContentBounds(BufferedImage image)
+	{
+		BufferedImage grayImage = toGrayscale(image);
+		int threshold = getOtsuThreshold(getHistogram(grayImage));
+		Raster raster = grayImage.getRaster();
+		int minX = Integer.MAX_VALUE;
+		int minY = Integer.MAX_VALUE;
+		int maxX = -1;
+		int maxY = -1;
+		int[] row = new int[raster.getWidth()];
+		for (int y = 0; y < raster.getHeight(); ++y)
+		{
+			raster.getSamples(0, y, row.length, 1, 0, row);
+			int first = 0;
+			while (first < row.length && threshold < row[first])
+			{
+				first++;
+			}
+			if (first == row.length)
+			{
+				continue;
+			}
+			int last = row.length - 1;
+			while (threshold < row[last])
+			{
+				last--;
+			}
+			minX = Math.min(minX, first);
+			maxX = Math.max(maxX, last);
+			minY = Math.min(minY, y);
+			maxY = y;
+		}
+		if (maxY < 0)
+		{
+			return null;
+		}
+		return new Rectangle(minX, minY, maxX - minX + 1, maxY - minY + 1);
+	}
+
+	/**
+	 * Crops the white margins of the given page image down to the given margin around the ink
+	 * pixels. The cropped page image is a copy with its own raster
+	 *
+	 * @param image
+	 *            the page image
+	 * @param margin
+	 *            the number of pixels that are kept around the ink pixels
+	 * @return the cropped page image or the given page image if there is nothing to crop
+	 */
+	public static BufferedImage cropToContent(BufferedImage image, int margin)
+	{
+		Rectangle bounds = getContentBounds(image);
+		if (bounds == null)
+		{
+			return image;
+		}
+		bounds.grow(margin, margin);
+		bounds = bounds.intersection(new Rectangle(image.getWidth(), image.getHeight()));
+		if (bounds.width == image.getWidth() && bounds.height == image.getHeight())
+		{
+			return image;
+		}
+		return getSubimageCopy(image, bounds);
+	}
+
+	/**
+	 * Copies the given region of the given image into a new image. Unlike
+	 * {@link BufferedImage#getSubimage(int, int, int, int)} the copy has its own raster, so it can
+	 * be handed to OCR engines that read the whole data buffer of an image
+	 *
+	 * @param image
+	 *            the image
+	 * @param region
+	 *            the region of the image that is copied
+	 * @return the copy of the given region
+	 */
+	public static BufferedImage getSubimageCopy(BufferedImage image, Rectangle region)
+	{
+		WritableRaster raster = image.getColorModel().createCompatibleWritableRaster(region.width,
+			region.height);
+		raster.setDataElements(0, 0, image.getRaster().createChild(region.x, region.y,
+			region.width, region.height, 0, 0, null));
+		return new BufferedImage(image.getColorModel(), raster, image.isAlphaPremultiplied(),
+			null);
+	}
+}
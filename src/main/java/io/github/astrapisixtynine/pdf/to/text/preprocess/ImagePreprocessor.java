@@ -0,0 +1,127 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.preprocess;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * The functional interface {@link ImagePreprocessor} prepares a rendered page image in memory
+ * before it is handed to the OCR engine. Preprocessors are chained with
+ * {@link #andThen(ImagePreprocessor)}. Implementations must be thread safe, because the pages are
+ * preprocessed by the OCR workers in parallel.
+ * <p>
+ * The {@link #toString()} of a preprocessor is part of the settings of a resumed conversion. The
+ * preprocessors of the factory methods and of {@link #named(String, ImagePreprocessor)} have a
+ * stable name, a lambda has not, so a conversion with a lambda is never resumed
+ */
+@FunctionalInterface
+public interface ImagePreprocessor
+{
+
+	/**
+	 * Preprocesses the given page image
+	 *
+	 * @param image
+	 *            the rendered page image
+	 * @return the preprocessed page image, this can be the given page image if nothing is changed
+	 */
+	BufferedImage process(BufferedImage image);
+
+	/**
+	 * Creates a preprocessor that first runs this preprocessor and then the given one
+	 *
+	 * @param next
+	 *            the preprocessor that runs after this preprocessor
+	 * @return the chained preprocessor
+	 */
+	default ImagePreprocessor andThen(ImagePreprocessor next)
+	{
+		return named(this + " > " + next, image -> next.process(process(image)));
+	}
+
+	/**
+	 * Factory method for creating a preprocessor with a stable name that is returned by its
+	 * {@link #toString()}, so a conversion with this preprocessor can be resumed
+	 *
+	 * @param name
+	 *            the stable name that identifies the preprocessing, like its parameters
+	 * @param preprocessor
+	 *            the preprocessor that processes the page images
+	 * @return the named preprocessor
+	 */
+	static ImagePreprocessor named(String name, ImagePreprocessor preprocessor)
+	{
+		return new NamedImagePreprocessor(name, preprocessor);
+	}
+
+	/**
+	 * Factory method for creating a preprocessor that binarizes the page image with the threshold
+	 * of Otsu's method
+	 *
+	 * @return the binarizing preprocessor
+	 */
+	static ImagePreprocessor binarize()
+	{
+		return named("binarize", ImagePreprocessingExtensions::binarize);
+	}
+
+	/**
+	 * Factory method for creating a preprocessor that rotates skewed page images up to
+	 * {@link ImagePreprocessingExtensions#DEFAULT_MAX_SKEW_ANGLE} degrees
+	 *
+	 * @return the deskewing preprocessor
+	 */
+	static ImagePreprocessor deskew()
+	{
+		return named("deskew", ImagePreprocessingExtensions::deskew);
+	}
+
+	/**
+	 * Factory method for creating a preprocessor that crops the white margins of the page image
+	 * down to the given margin around the content
+	 *
+	 * @param margin
+	 *            the number of pixels that are kept around the content
+	 * @return the cropping preprocessor
+	 */
+	static ImagePreprocessor cropMargins(int margin)
+	{
+		return named("cropMargins(" + margin + ")",
+			image -> ImagePreprocessingExtensions.cropToContent(image, margin));
+	}
+
+	/**
+	 * Factory method for creating the default preprocessing chain that deskews, binarizes and
+	 * crops the page image down to {@link ImagePreprocessingExtensions#DEFAULT_MARGIN} pixels
+	 * around the content
+	 *
+	 * @return the default preprocessing chain
+	 */
+	static ImagePreprocessor defaultChain()
+	{
+		return deskew().andThen(binarize())
+			.andThen(cropMargins(ImagePreprocessingExtensions.DEFAULT_MARGIN));
+	}
+}
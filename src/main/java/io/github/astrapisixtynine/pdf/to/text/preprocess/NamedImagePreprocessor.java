@@ -0,0 +1,59 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.preprocess;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * The record {@link NamedImagePreprocessor} gives an {@link ImagePreprocessor} a stable name that
+ * is returned by {@link #toString()}, so the preprocessor can be part of the settings of a resumed
+ * conversion
+ *
+ * @param name
+ *            the stable name of the preprocessor
+ * @param delegate
+ *            the preprocessor that processes the page images
+ */
+record NamedImagePreprocessor(String name, ImagePreprocessor delegate) implements ImagePreprocessor
+{
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public BufferedImage process(BufferedImage image)
+	{
+		return delegate.process(image);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return name;
+	}
+}
@@ -0,0 +1,583 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.process;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import io.github.astrapi69.io.file.FilenameExtensions;
+import io.github.astrapisixtynine.pdf.to.text.cache.OcrCacheKeyExtensions;
+import io.github.astrapisixtynine.pdf.to.text.cache.OcrResultCache;
+import io.github.astrapisixtynine.pdf.to.text.info.OcrOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.ProcessOcrResult;
+import io.github.astrapisixtynine.pdf.to.text.tess4j.TesseractKey;
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link TesseractProcessPool} runs tesseract command line processes for page images.
+ * The processes are launched directly with a {@link ProcessBuilder} without a shell, at most the
+ * configured number of processes run at the same time and every process is killed if it exceeds
+ * the configured timeout. The number of processes is capped by the number of available processors
+ * so the host is not oversubscribed. An optional {@link OcrResultCache} skips the tesseract process
+ * for image files that were already recognized with the same language and OCR options
+ */
+@Log
+public class TesseractProcessPool implements AutoCloseable
+{
+
+	/**
+	 * The default timeout of a tesseract process
+	 */
+	public static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(10);
+
+	private static final String PAGE_SEPARATOR = "\f";
+
+	private final int maxProcesses;
+
+	private final Duration timeout;
+
+	private final Semaphore permits;
+
+	private final ExecutorService executor;
+
+	private final OcrResultCache ocrResultCache;
+
+	private final OcrOptions ocrOptions;
+
+	/**
+	 * Creates a new {@link TesseractProcessPool}
+	 *
+	 * @param maxProcesses
+	 *            the maximum number of tesseract processes that run at the same time, this is
+	 *            capped by the number of available processors
+	 * @param timeout
+	 *            the timeout of a single tesseract process or null for no timeout
+	 */
+	public TesseractProcessPool(int maxProcesses, Duration timeout)
+	{
+		this(maxProcesses, timeout, null);
+	}
+
+	/**
+	 * Creates a new {@link TesseractProcessPool} with an OCR result cache
+	 *
+	 * @param maxProcesses
+	 *            the maximum number of tesseract processes that run at the same time, this is
+	 *            capped by the number of available processors
+	 * @param timeout
+	 *            the timeout of a single tesseract process or null for no timeout
+	 * @param ocrResultCache
+	 *            the cache for the recognized texts or null for no cache
+	 */
+	public TesseractProcessPool(int maxProcesses, Duration timeout, OcrResultCache ocrResultCache)
+	{
+		this(maxProcesses, timeout, ocrResultCache, null);
+	}
+
+	/**
+	 * Creates a new {@link TesseractProcessPool} with an OCR result cache and OCR options
+	 *
+	 * @param maxProcesses
+	 *            the maximum number of tesseract processes that run at the same time, this is
+	 *            capped by the number of available processors
+	 * @param timeout
+	 *            the timeout of a single tesseract process or null for no timeout
+	 * @param ocrResultCache
+	 *            the cache for the recognized texts or null for no cache
+	 * @param ocrOptions
+	 *            the OCR options that are passed to every tesseract process or null for the
+	 *            default settings of the tesseract command line tool
+	 */
+	public TesseractProcessPool(int maxProcesses, Duration timeout, OcrResultCache ocrResultCache,
+		OcrOptions ocrOptions)
+	{
+		if (maxProcesses < 1)
+		{
+			throw new IllegalArgumentException("maxProcesses must be at least 1");
+		}
+		this.maxProcesses = Math.min(maxProcesses, Runtime.getRuntime().availableProcessors());
+		this.timeout = timeout;
+		this.permits = new Semaphore(this.maxProcesses, true);
+		this.executor = Executors.newFixedThreadPool(this.maxProcesses);
+		this.ocrResultCache = ocrResultCache;
+		this.ocrOptions = ocrOptions;
+	}
+
+	/**
+	 * Gets the maximum number of tesseract processes that run at the same time
+	 *
+	 * @return the maximum number of tesseract processes
+	 */
+	public int getMaxProcesses()
+	{
+		return maxProcesses;
+	}
+
+	/**
+	 * Gets the timeout of a single tesseract process
+	 *
+	 * @return the timeout of a single tesseract process or null for no timeout
+	 */
+	public Duration getTimeout()
+	{
+		return timeout;
+	}
+
+	/**
+	 * Gets the cache for the recognized texts
+	 *
+	 * @return the cache for the recognized texts or null if no cache is used
+	 */
+	public OcrResultCache getOcrResultCache()
+	{
+		return ocrResultCache;
+	}
+
+	/**
+	 * Gets the OCR options that are passed to every tesseract process
+	 *
+	 * @return the OCR options or null if the default settings of the tesseract command line tool
+	 *         are used
+	 */
+	public OcrOptions getOcrOptions()
+	{
+		return ocrOptions;
+	}
+
+	/**
+	 * Runs tesseract for all given image files in parallel. The text files are written to the
+	 * given result directory with the name of the image file
+	 *
+	 * @param imageFiles
+	 *            the list of image files to be processed
+	 * @param resultDir
+	 *            the directory where the text files will be stored
+	 * @param ocrLanguage
+	 *            the ocr language
+	 * @return the results of the tesseract processes in the same order as the given image files
+	 * @throws IOException
+	 *             if a tesseract process could not be started
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting
+	 */
+	public List<ProcessOcrResult> recognize(List<File> imageFiles, File resultDir,
+		String ocrLanguage) throws IOException, InterruptedException
+	{
+		List<Future<ProcessOcrResult>> futures = new ArrayList<>();
+		for (int page = 0; page < imageFiles.size(); ++page)
+		{
+			int index = page;
+			futures.add(executor
+				.submit(() -> recognize(index, imageFiles.get(index), resultDir, ocrLanguage)));
+		}
+		List<ProcessOcrResult> results = new ArrayList<>();
+		try
+		{
+			for (Future<ProcessOcrResult> future : futures)
+			{
+				results.add(future.get());
+			}
+		}
+		catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof IOException ioException)
+			{
+				throw ioException;
+			}
+			throw new IOException(e.getCause());
+		}
+		finally
+		{
+			futures.forEach(future -> future.cancel(true));
+		}
+		return results;
+	}
+
+	/**
+	 * Runs tesseract for the given image file. Waits if the maximum number of tesseract processes
+	 * are already running
+	 *
+	 * @param page
+	 *            the zero based index of the page
+	 * @param imageFile
+	 *            the image file to be processed
+	 * @param resultDir
+	 *            the directory where the text file will be stored
+	 * @param ocrLanguage
+	 *            the ocr language
+	 * @return the result of the tesseract process
+	 * @throws IOException
+	 *             if the tesseract process could not be started
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting
+	 */
+	public ProcessOcrResult recognize(int page, File imageFile, File resultDir,
+		String ocrLanguage) throws IOException, InterruptedException
+	{
+		ProcessOcrResult cachedResult = getCachedResult(page, imageFile, resultDir, ocrLanguage);
+		if (cachedResult != null)
+		{
+			return cachedResult;
+		}
+		String textFileName = FilenameExtensions.getFilenameWithoutExtension(imageFile);
+		File outputBase = new File(resultDir, textFileName);
+		File textFile = new File(resultDir, textFileName + ".txt");
+		ProcessResult processResult = run(newCommand(imageFile.getAbsolutePath(),
+			outputBase.getAbsolutePath(), ocrLanguage, ocrOptions), timeout);
+		if (processResult.isSuccessful())
+		{
+			cache(imageFile, ocrLanguage,
+				Files.readString(textFile.toPath(), StandardCharsets.UTF_8));
+		}
+		return ProcessOcrResult.builder().page(page).imageFile(imageFile).textFile(textFile)
+			.exitCode(processResult.exitCode()).timedOut(processResult.timedOut())
+			.output(processResult.output()).build();
+	}
+
+	/**
+	 * Runs tesseract for all given image files in chunks. Every chunk is processed by a single
+	 * tesseract process that reads a list file with the image files of the chunk, so the process
+	 * startup and the model load are paid only once per chunk. The chunks run in parallel and the
+	 * output of every chunk is split back into one text file per image file. The timeout of a
+	 * chunk is the timeout of this pool multiplied with the number of image files in the chunk.
+	 * Image files that are found in the OCR result cache are not sent to tesseract
+	 *
+	 * @param imageFiles
+	 *            the list of image files to be processed
+	 * @param resultDir
+	 *            the directory where the text files will be stored
+	 * @param ocrLanguage
+	 *            the ocr language
+	 * @param chunkSize
+	 *            the maximum number of image files per tesseract process
+	 * @return the results in the same order as the given image files, all image files of a chunk
+	 *         share the exit code of the chunk
+	 * @throws IOException
+	 *             if a tesseract process could not be started or its output could not be split
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting
+	 */
+	public List<ProcessOcrResult> recognize(List<File> imageFiles, File resultDir,
+		String ocrLanguage, int chunkSize) throws IOException, InterruptedException
+	{
+		if (chunkSize < 1)
+		{
+			throw new IllegalArgumentException("chunkSize must be at least 1");
+		}
+		ProcessOcrResult[] results = new ProcessOcrResult[imageFiles.size()];
+		// only the image files that are not cached are sent to tesseract
+		List<Integer> pages = new ArrayList<>();
+		for (int page = 0; page < imageFiles.size(); ++page)
+		{
+			results[page] = getCachedResult(page, imageFiles.get(page), resultDir, ocrLanguage);
+			if (results[page] == null)
+			{
+				pages.add(page);
+			}
+		}
+		List<Future<List<ProcessOcrResult>>> futures = new ArrayList<>();
+		for (int first = 0; first < pages.size(); first += chunkSize)
+		{
+			List<Integer> chunkPages = pages.subList(first,
+				Math.min(first + chunkSize, pages.size()));
+			futures.add(executor
+				.submit(() -> recognizeChunk(chunkPages, imageFiles, resultDir, ocrLanguage)));
+		}
+		try
+		{
+			for (Future<List<ProcessOcrResult>> future : futures)
+			{
+				for (ProcessOcrResult result : future.get())
+				{
+					results[result.getPage()] = result;
+				}
+			}
+		}
+		catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof IOException ioException)
+			{
+				throw ioException;
+			}
+			throw new IOException(e.getCause());
+		}
+		finally
+		{
+			futures.forEach(future -> future.cancel(true));
+		}
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * Shuts down the worker threads of this pool
+	 */
+	@Override
+	public void close()
+	{
+		executor.shutdownNow();
+	}
+
+	private List<ProcessOcrResult> recognizeChunk(List<Integer> pages, List<File> imageFiles,
+		File resultDir, String ocrLanguage) throws IOException, InterruptedException
+	{
+		List<File> chunk = pages.stream().map(imageFiles::get).toList();
+		String chunkName = FilenameExtensions.getFilenameWithoutExtension(chunk.get(0)) + "_batch";
+		File listFile = new File(resultDir, chunkName + ".list");
+		File outputBase = new File(resultDir, chunkName);
+		File outputFile = new File(resultDir, chunkName + ".txt");
+		List<String> lines = new ArrayList<>();
+		chunk.forEach(imageFile -> lines.add(imageFile.getAbsolutePath()));
+		Files.write(listFile.toPath(), lines, StandardCharsets.UTF_8);
+		try
+		{
+			ProcessResult processResult = run(newChunkCommand(listFile.getAbsolutePath(),
+				outputBase.getAbsolutePath(), ocrLanguage, ocrOptions),
+				timeout != null ? timeout.multipliedBy(chunk.size()) : null);
+			List<String> pageTexts = processResult.isSuccessful()
+				? splitPages(Files.readString(outputFile.toPath(), StandardCharsets.UTF_8),
+					chunk.size())
+				: null;
+			List<ProcessOcrResult> results = new ArrayList<>();
+			for (int index = 0; index < chunk.size(); ++index)
+			{
+				File imageFile = chunk.get(index);
+				File textFile = new File(resultDir,
+					FilenameExtensions.getFilenameWithoutExtension(imageFile) + ".txt");
+				if (pageTexts != null)
+				{
+					Files.writeString(textFile.toPath(), pageTexts.get(index),
+						StandardCharsets.UTF_8);
+					cache(imageFile, ocrLanguage, pageTexts.get(index));
+				}
+				results.add(ProcessOcrResult.builder().page(pages.get(index))
+					.imageFile(imageFile).textFile(textFile).exitCode(processResult.exitCode())
+					.timedOut(processResult.timedOut()).output(processResult.output()).build());
+			}
+			return results;
+		}
+		finally
+		{
+			Files.deleteIfExists(listFile.toPath());
+			Files.deleteIfExists(outputFile.toPath());
+		}
+	}
+
+	private ProcessOcrResult getCachedResult(int page, File imageFile, File resultDir,
+		String ocrLanguage) throws IOException
+	{
+		if (ocrResultCache == null)
+		{
+			return null;
+		}
+		String text = ocrResultCache.get(OcrCacheKeyExtensions.newKey(imageFile,
+			OcrCacheKeyExtensions.getSettings(ocrLanguage, ocrOptions)));
+		if (text == null)
+		{
+			return null;
+		}
+		File textFile = new File(resultDir,
+			FilenameExtensions.getFilenameWithoutExtension(imageFile) + ".txt");
+		Files.writeString(textFile.toPath(), text, StandardCharsets.UTF_8);
+		return ProcessOcrResult.builder().page(page).imageFile(imageFile).textFile(textFile)
+			.output("").cached(true).build();
+	}
+
+	private void cache(File imageFile, String ocrLanguage, String text) throws IOException
+	{
+		if (ocrResultCache != null)
+		{
+			ocrResultCache.put(OcrCacheKeyExtensions.newKey(imageFile,
+				OcrCacheKeyExtensions.getSettings(ocrLanguage, ocrOptions)), text);
+		}
+	}
+
+	/**
+	 * Creates the command line of a tesseract process. The OCR options are passed with the
+	 * options {@code --tessdata-dir}, {@code --oem}, {@code --psm} and {@code -c}, so the process
+	 * uses the same engine settings as a tess4j engine with the same OCR options
+	 *
+	 * @param input
+	 *            the path of the image file or of the list file with the image files
+	 * @param outputBase
+	 *            the path of the text file without extension
+	 * @param ocrLanguage
+	 *            the ocr language
+	 * @param ocrOptions
+	 *            the OCR options or null for the default settings of the tesseract command line
+	 *            tool
+	 * @return the command line of the tesseract process
+	 */
+	static List<String> newCommand(String input, String outputBase, String ocrLanguage,
+		OcrOptions ocrOptions)
+	{
+		List<String> command = new ArrayList<>(
+			List.of("tesseract", input, outputBase, "-l", ocrLanguage));
+		if (ocrOptions == null)
+		{
+			return command;
+		}
+		if (ocrOptions.getTessdataDir() != null)
+		{
+			command.addAll(List.of("--tessdata-dir", ocrOptions.getTessdataDir()));
+		}
+		command.addAll(List.of("--oem", String.valueOf(ocrOptions.getOcrEngineMode()), "--psm",
+			String.valueOf(TesseractKey.resolvePageSegMode(ocrOptions.getPageSegMode()))));
+		new TreeMap<>(ocrOptions.getVariables())
+			.forEach((name, value) -> command.addAll(List.of("-c", name + "=" + value)));
+		return command;
+	}
+
+	/**
+	 * Creates the command line of a tesseract process that processes the images of a list file.
+	 * The page separator is set after the variables of the OCR options, so a page separator of the
+	 * OCR options can not break the splitting of the output into the text of every image
+	 *
+	 * @param listFile
+	 *            the path of the list file with the image files
+	 * @param outputBase
+	 *            the path of the text file without extension
+	 * @param ocrLanguage
+	 *            the ocr language
+	 * @param ocrOptions
+	 *            the OCR options or null for the default settings of the tesseract command line
+	 *            tool
+	 * @return the command line of the tesseract process
+	 */
+	static List<String> newChunkCommand(String listFile, String outputBase, String ocrLanguage,
+		OcrOptions ocrOptions)
+	{
+		List<String> command = newCommand(listFile, outputBase, ocrLanguage, ocrOptions);
+		command.addAll(List.of("-c", "page_separator=" + PAGE_SEPARATOR));
+		return command;
+	}
+
+	/**
+	 * Splits the output of a tesseract process that processed several images into the text of
+	 * every image. Tesseract terminates the text of every image with a form feed
+	 *
+	 * @param text
+	 *            the output of the tesseract process
+	 * @param pages
+	 *            the number of processed images
+	 * @return the text of every image
+	 * @throws IOException
+	 *             if the output does not contain the text of the given number of images
+	 */
+	static List<String> splitPages(String text, int pages) throws IOException
+	{
+		String[] segments = text.split(PAGE_SEPARATOR, -1);
+		if (segments.length < pages)
+		{
+			throw new IOException(
+				"Expected the text of " + pages + " pages but found " + segments.length);
+		}
+		List<String> pageTexts = new ArrayList<>();
+		for (int page = 0; page < pages; ++page)
+		{
+			pageTexts.add(segments[page]);
+		}
+		return pageTexts;
+	}
+
+	private ProcessResult run(List<String> command, Duration processTimeout)
+		throws IOException, InterruptedException
+	{
+		permits.acquire();
+		try
+		{
+			log.log(Level.FINE, "Executing command: " + command);
+			Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+			FutureTask<String> outputReader = new FutureTask<>(
+				() -> new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+			Thread.ofVirtual().start(outputReader);
+			boolean finished;
+			try
+			{
+				if (processTimeout != null)
+				{
+					finished = process.waitFor(processTimeout.toNanos(), TimeUnit.NANOSECONDS);
+				}
+				else
+				{
+					process.waitFor();
+					finished = true;
+				}
+			}
+			catch (InterruptedException e)
+			{
+				process.destroyForcibly();
+				throw e;
+			}
+			if (!finished)
+			{
+				log.log(Level.WARNING,
+					"Killing tesseract after " + processTimeout + ": " + command);
+				process.destroyForcibly();
+				process.waitFor();
+			}
+			return new ProcessResult(finished ? process.exitValue() : -1, !finished,
+				getOutput(outputReader));
+		}
+		finally
+		{
+			permits.release();
+		}
+	}
+
+	private static String getOutput(FutureTask<String> outputReader) throws InterruptedException
+	{
+		try
+		{
+			return outputReader.get();
+		}
+		catch (ExecutionException e)
+		{
+			return "";
+		}
+	}
+
+	private record ProcessResult(int exitCode, boolean timedOut, String output)
+	{
+		private boolean isSuccessful()
+		{
+			return !timedOut && exitCode == 0;
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import io.github.astrapisixtynine.pdf.to.text.info.PageText;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfDocumentSession;
+
+/**
+ * The class {@link PageTextIterator} extracts the text of the selected pages of a
+ * {@link PdfDocumentSession} one page at a time when the next page is requested. The session is
+ * closed when the iterator is closed or exhausted
+ */
+class PageTextIterator implements Iterator<PageText>, Closeable
+{
+
+	/**
+	 * Extracts the text of a single page
+	 */
+	@FunctionalInterface
+	interface PageTextExtractor
+	{
+		/**
+		 * Extracts the text of the given page
+		 *
+		 * @param session
+		 *            the session of the loaded PDF document
+		 * @param page
+		 *            the zero based index of the page
+		 * @return the text of the page
+		 * @throws IOException
+		 *             if the text can not be extracted
+		 */
+		PageText extract(PdfDocumentSession session, int page) throws IOException;
+	}
+
+	private final PdfDocumentSession session;
+
+	private final List<Integer> pages;
+
+	private final PageTextExtractor extractor;
+
+	private int position;
+
+	private boolean closed;
+
+	/**
+	 * Creates a new {@link PageTextIterator}
+	 *
+	 * @param session
+	 *            the session of the loaded PDF document, it is closed with this iterator
+	 * @param pages
+	 *            the zero based indexes of the pages in the order they are extracted
+	 * @param extractor
+	 *            the extractor of the text of a single page
+	 */
+	PageTextIterator(PdfDocumentSession session, List<Integer> pages,
+		PageTextExtractor extractor)
+	{
+		this.session = session;
+		this.pages = pages;
+		this.extractor = extractor;
+	}
+
+	/**
+	 * Gets the number of pages of this iterator
+	 *
+	 * @return the number of pages
+	 */
+	int size()
+	{
+		return pages.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasNext()
+	{
+		return !closed && position < pages.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws UncheckedIOException
+	 *             if the text of the page can not be extracted
+	 */
+	@Override
+	public PageText next()
+	{
+		if (!hasNext())
+		{
+			throw new NoSuchElementException();
+		}
+		int page = pages.get(position++);
+		try
+		{
+			PageText pageText = extractor.extract(session, page);
+			if (position == pages.size())
+			{
+				close();
+			}
+			return pageText;
+		}
+		catch (IOException e)
+		{
+			try
+			{
+				close();
+			}
+			catch (IOException closeException)
+			{
+				e.addSuppressed(closeException);
+			}
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Closes the session of this iterator, the remaining pages are not extracted
+	 *
+	 * @throws IOException
+	 *             if the session can not be closed
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		if (!closed)
+		{
+			closed = true;
+			session.close();
+		}
+	}
+
+	/**
+	 * Closes the session of this iterator and rethrows a failure unchecked, this is used as close
+	 * handler of a stream
+	 */
+	void closeUnchecked()
+	{
+		try
+		{
+			close();
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+}
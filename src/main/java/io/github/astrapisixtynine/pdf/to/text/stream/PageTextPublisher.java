@@ -0,0 +1,214 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.stream;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import io.github.astrapisixtynine.pdf.to.text.info.PageText;
+import lombok.extern.java.Log;
+
+/**
+ * The class {@link PageTextPublisher} is a {@link Flow.Publisher} of the text of the pages of a
+ * PDF document that is built only on JDK types. Every subscriber gets its own loaded document and
+ * a page is only extracted, rendered or processed with OCR when the subscriber has requested it.
+ * <p>
+ * All signals of a subscription are emitted from a drain loop on the executor of this publisher
+ * that runs as long as there is demand. A cancelled subscription extracts no further pages and
+ * releases the document, a page that is already in progress when the subscription is cancelled
+ * is finished but not emitted
+ */
+@Log
+public class PageTextPublisher implements Flow.Publisher<PageText>
+{
+
+	private final Callable<PageTextIterator> source;
+
+	private final Executor executor;
+
+	/**
+	 * Creates a new {@link PageTextPublisher}
+	 *
+	 * @param source
+	 *            the source that opens a new page iterator for every subscriber
+	 * @param executor
+	 *            the executor that runs the drain loop of the subscriptions
+	 */
+	PageTextPublisher(Callable<PageTextIterator> source, Executor executor)
+	{
+		this.source = source;
+		this.executor = executor;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void subscribe(Flow.Subscriber<? super PageText> subscriber)
+	{
+		Objects.requireNonNull(subscriber, "subscriber");
+		PageTextSubscription subscription = new PageTextSubscription(subscriber);
+		subscriber.onSubscribe(subscription);
+	}
+
+	private final class PageTextSubscription implements Flow.Subscription, Runnable
+	{
+
+		private final Flow.Subscriber<? super PageText> subscriber;
+
+		private final AtomicLong requested = new AtomicLong();
+
+		private final AtomicInteger pendingDrains = new AtomicInteger();
+
+		private volatile boolean cancelled;
+
+		private volatile Throwable invalidRequest;
+
+		// only accessed from the drain loop
+		private PageTextIterator iterator;
+
+		private boolean done;
+
+		private PageTextSubscription(Flow.Subscriber<? super PageText> subscriber)
+		{
+			this.subscriber = subscriber;
+		}
+
+		@Override
+		public void request(long n)
+		{
+			if (n <= 0)
+			{
+				invalidRequest = new IllegalArgumentException(
+					"The number of requested pages must be positive but was " + n);
+			}
+			else
+			{
+				requested.accumulateAndGet(n, (current, added) -> {
+					long sum = current + added;
+					return sum < 0 ? Long.MAX_VALUE : sum;
+				});
+			}
+			schedule();
+		}
+
+		@Override
+		public void cancel()
+		{
+			cancelled = true;
+			schedule();
+		}
+
+		private void schedule()
+		{
+			if (pendingDrains.getAndIncrement() == 0)
+			{
+				executor.execute(this);
+			}
+		}
+
+		@Override
+		public void run()
+		{
+			int missed = 1;
+			do
+			{
+				drain();
+				missed = pendingDrains.addAndGet(-missed);
+			}
+			while (missed != 0);
+		}
+
+		private void drain()
+		{
+			if (done)
+			{
+				return;
+			}
+			try
+			{
+				if (cancelled)
+				{
+					finish();
+					return;
+				}
+				if (invalidRequest != null)
+				{
+					finish();
+					subscriber.onError(invalidRequest);
+					return;
+				}
+				if (iterator == null && requested.get() > 0)
+				{
+					iterator = source.call();
+				}
+				while (iterator != null && iterator.hasNext() && requested.get() > 0)
+				{
+					PageText pageText = iterator.next();
+					if (cancelled)
+					{
+						finish();
+						return;
+					}
+					subscriber.onNext(pageText);
+					requested.updateAndGet(
+						current -> current == Long.MAX_VALUE ? current : current - 1);
+				}
+				if (iterator != null && !iterator.hasNext() && !cancelled)
+				{
+					finish();
+					subscriber.onComplete();
+				}
+			}
+			catch (Throwable throwable)
+			{
+				finish();
+				subscriber.onError(throwable);
+			}
+		}
+
+		private void finish()
+		{
+			done = true;
+			if (iterator != null)
+			{
+				try
+				{
+					iterator.close();
+				}
+				catch (IOException e)
+				{
+					log.log(Level.WARNING, "Could not close the PDF document", e);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,385 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.stream;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.github.astrapisixtynine.pdf.to.text.hybrid.HybridPdfToTextExtensions;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.LoadOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSelection;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSource;
+import io.github.astrapisixtynine.pdf.to.text.info.PageText;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfDocumentSession;
+import io.github.astrapisixtynine.pdf.to.text.tess4j.ImagePdfToTextExtensions;
+import io.github.astrapisixtynine.pdf.to.text.tess4j.TesseractKey;
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * The class {@link PageTextStreamExtensions} provides lazy streams of the text of the pages of a
+ * PDF file. A page is only extracted, rendered or processed with OCR when the stream requests it,
+ * so a caller can process the first page before the last page is extracted and the text of the
+ * whole document never has to fit on the heap.
+ * <p>
+ * The PDF file is loaded when the stream is created and released when the stream is closed or all
+ * pages are consumed, so the streams should be used in a try-with-resources statement. A failure
+ * while extracting a page is thrown as {@link java.io.UncheckedIOException}.
+ * <p>
+ * The publish methods provide the same pages as {@link Flow.Publisher} for reactive callers, see
+ * {@link PageTextPublisher}
+ */
+public final class PageTextStreamExtensions
+{
+
+	private static final Executor VIRTUAL_THREAD_EXECUTOR = runnable -> Thread.ofVirtual()
+		.name("page-text-publisher").start(runnable);
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private PageTextStreamExtensions()
+	{
+	}
+
+	/**
+	 * Streams the text layer of all pages of the given PDF file
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @return the lazy stream of the text of the pages in page order
+	 * @throws IOException
+	 *             if the PDF file can not be loaded
+	 */
+	public static Stream<PageText> streamTextLayer(File pdfFile) throws IOException
+	{
+		return streamTextLayer(pdfFile, PageSelection.all(), LoadOptions.builder().build());
+	}
+
+	/**
+	 * Streams the text layer of the selected pages of the given PDF file
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param pageSelection
+	 *            the pages to stream
+	 * @param loadOptions
+	 *            the options for loading the PDF file
+	 * @return the lazy stream of the text of the pages in page order
+	 * @throws IOException
+	 *             if the PDF file can not be loaded
+	 */
+	public static Stream<PageText> streamTextLayer(File pdfFile, PageSelection pageSelection,
+		LoadOptions loadOptions) throws IOException
+	{
+		return toStream(textLayerIterator(pdfFile, pageSelection, loadOptions));
+	}
+
+	/**
+	 * Streams the OCR text of all pages of the given PDF file
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @return the lazy stream of the text of the pages in page order
+	 * @throws IOException
+	 *             if the PDF file can not be loaded
+	 */
+	public static Stream<PageText> streamOcr(File pdfFile, String datapath, String language)
+		throws IOException
+	{
+		return streamOcr(pdfFile, datapath, language, ConversionOptions.builder().build());
+	}
+
+	/**
+	 * Streams the OCR text of the selected pages of the given PDF file. Every page is rendered in
+	 * memory when it is requested and handed to the OCR engine. The render options, the page
+	 * selection and the load options are taken from the given options
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param options
+	 *            the options of the conversion
+	 * @return the lazy stream of the text of the pages in page order
+	 * @throws IOException
+	 *             if the PDF file can not be loaded
+	 */
+	public static Stream<PageText> streamOcr(File pdfFile, String datapath, String language,
+		ConversionOptions options) throws IOException
+	{
+		return toStream(ocrIterator(pdfFile, datapath, language, options));
+	}
+
+	/**
+	 * Streams the text of the selected pages of the given PDF file from the text layer where it is
+	 * usable and from OCR for all other pages. The render options, the page selection, the load
+	 * options and the minimum number of text layer characters are taken from the given options
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param options
+	 *            the options of the conversion
+	 * @return the lazy stream of the text of the pages in page order
+	 * @throws IOException
+	 *             if the PDF file can not be loaded
+	 */
+	public static Stream<PageText> streamHybrid(File pdfFile, String datapath, String language,
+		ConversionOptions options) throws IOException
+	{
+		return toStream(hybridIterator(pdfFile, datapath, language, options));
+	}
+
+	/**
+	 * Publishes the text layer of all pages of the given PDF file. The pages are extracted on
+	 * virtual threads as the subscribers request them
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @return the publisher of the text of the pages in page order
+	 */
+	public static Flow.Publisher<PageText> publishTextLayer(File pdfFile)
+	{
+		return publishTextLayer(pdfFile, PageSelection.all(), LoadOptions.builder().build(),
+			VIRTUAL_THREAD_EXECUTOR);
+	}
+
+	/**
+	 * Publishes the text layer of the selected pages of the given PDF file. The pages are
+	 * extracted on the given executor as the subscribers request them
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param pageSelection
+	 *            the pages to publish
+	 * @param loadOptions
+	 *            the options for loading the PDF file
+	 * @param executor
+	 *            the executor that extracts the pages and emits the signals
+	 * @return the publisher of the text of the pages in page order
+	 */
+	public static Flow.Publisher<PageText> publishTextLayer(File pdfFile,
+		PageSelection pageSelection, LoadOptions loadOptions, Executor executor)
+	{
+		return new PageTextPublisher(
+			() -> textLayerIterator(pdfFile, pageSelection, loadOptions), executor);
+	}
+
+	/**
+	 * Publishes the OCR text of the selected pages of the given PDF file like
+	 * {@link #streamOcr(File, String, String, ConversionOptions)}. The pages are rendered and
+	 * processed with OCR on virtual threads as the subscribers request them
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param options
+	 *            the options of the conversion
+	 * @return the publisher of the text of the pages in page order
+	 */
+	public static Flow.Publisher<PageText> publishOcr(File pdfFile, String datapath,
+		String language, ConversionOptions options)
+	{
+		return publishOcr(pdfFile, datapath, language, options, VIRTUAL_THREAD_EXECUTOR);
+	}
+
+	/**
+	 * Publishes the OCR text of the selected pages of the given PDF file like
+	 * {@link #streamOcr(File, String, String, ConversionOptions)}. The pages are rendered and
+	 * processed with OCR on the given executor as the subscribers request them
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param options
+	 *            the options of the conversion
+	 * @param executor
+	 *            the executor that processes the pages and emits the signals
+	 * @return the publisher of the text of the pages in page order
+	 */
+	public static Flow.Publisher<PageText> publishOcr(File pdfFile, String datapath,
+		String language, ConversionOptions options, Executor executor)
+	{
+		return new PageTextPublisher(() -> ocrIterator(pdfFile, datapath, language, options),
+			executor);
+	}
+
+	/**
+	 * Publishes the text of the selected pages of the given PDF file like
+	 * {@link #streamHybrid(File, String, String, ConversionOptions)}. The pages are processed on
+	 * virtual threads as the subscribers request them
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param options
+	 *            the options of the conversion
+	 * @return the publisher of the text of the pages in page order
+	 */
+	public static Flow.Publisher<PageText> publishHybrid(File pdfFile, String datapath,
+		String language, ConversionOptions options)
+	{
+		return publishHybrid(pdfFile, datapath, language, options, VIRTUAL_THREAD_EXECUTOR);
+	}
+
+	/**
+	 * Publishes the text of the selected pages of the given PDF file like
+	 * {@link #streamHybrid(File, String, String, ConversionOptions)}. The pages are processed on
+	 * the given executor as the subscribers request them
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param options
+	 *            the options of the conversion
+	 * @param executor
+	 *            the executor that processes the pages and emits the signals
+	 * @return the publisher of the text of the pages in page order
+	 */
+	public static Flow.Publisher<PageText> publishHybrid(File pdfFile, String datapath,
+		String language, ConversionOptions options, Executor executor)
+	{
+		return new PageTextPublisher(() -> hybridIterator(pdfFile, datapath, language, options),
+			executor);
+	}
+
+	static PageTextIterator textLayerIterator(File pdfFile, PageSelection pageSelection,
+		LoadOptions loadOptions) throws IOException
+	{
+		return iterator(pdfFile, pageSelection, loadOptions,
+			(session, page) -> newPageText(page, session.getPageText(page),
+				PageSource.TEXT_LAYER));
+	}
+
+	static PageTextIterator ocrIterator(File pdfFile, String datapath, String language,
+		ConversionOptions options) throws IOException
+	{
+		return iterator(pdfFile, options.getPageSelection(), options.getLoadOptions(),
+			(session, page) -> newPageText(page,
+				recognize(session, page, options, datapath, language), PageSource.OCR));
+	}
+
+	static PageTextIterator hybridIterator(File pdfFile, String datapath, String language,
+		ConversionOptions options) throws IOException
+	{
+		return iterator(pdfFile, options.getPageSelection(), options.getLoadOptions(),
+			(session, page) -> {
+				String text = session.getPageText(page);
+				if (HybridPdfToTextExtensions.hasUsableTextLayer(text,
+					options.getMinTextLayerCharacters()))
+				{
+					return newPageText(page, text, PageSource.TEXT_LAYER);
+				}
+				return newPageText(page,
+					recognize(session, page, options, datapath, language), PageSource.OCR);
+			});
+	}
+
+	private static PageTextIterator iterator(File pdfFile, PageSelection pageSelection,
+		LoadOptions loadOptions, PageTextIterator.PageTextExtractor extractor) throws IOException
+	{
+		PdfDocumentSession session = PdfDocumentSession.open(pdfFile, loadOptions);
+		try
+		{
+			return new PageTextIterator(session,
+				pageSelection.resolve(session.getNumberOfPages()), extractor);
+		}
+		catch (RuntimeException | Error e)
+		{
+			// the iterator owns the session only after it is created
+			try
+			{
+				session.close();
+			}
+			catch (IOException closeException)
+			{
+				e.addSuppressed(closeException);
+			}
+			throw e;
+		}
+	}
+
+	private static Stream<PageText> toStream(PageTextIterator iterator)
+	{
+		return StreamSupport
+			.stream(Spliterators.spliterator(iterator, iterator.size(),
+				Spliterator.ORDERED | Spliterator.NONNULL), false)
+			.onClose(iterator::closeUnchecked);
+	}
+
+	private static String recognize(PdfDocumentSession session, int page,
+		ConversionOptions options, String datapath, String language) throws IOException
+	{
+		BufferedImage image = session.renderImage(page, options.getRenderOptions());
+		if (options.getImagePreprocessor() != null)
+		{
+			image = options.getImagePreprocessor().process(image);
+		}
+		try
+		{
+			return ImagePdfToTextExtensions.extractTextFromImage(image,
+				TesseractKey.of(datapath, language, options.getOcrOptions()),
+				options.getOcrResultCache(), options.getTileOptions());
+		}
+		catch (TesseractException e)
+		{
+			throw new IOException("OCR failed for page " + (page + 1), e);
+		}
+	}
+
+	private static PageText newPageText(int page, String text, PageSource source)
+	{
+		return PageText.builder().pageNumber(page + 1).text(text).source(source).build();
+	}
+}
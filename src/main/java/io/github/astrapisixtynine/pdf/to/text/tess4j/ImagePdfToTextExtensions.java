@@ -24,27 +24,54 @@
  */
 package io.github.astrapisixtynine.pdf.to.text.tess4j;
 
+import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.logging.Level;
 
 import io.github.astrapi69.file.create.FileFactory;
-import io.github.astrapi69.file.modify.ModifyFileExtensions;
 import io.github.astrapi69.file.search.PathFinder;
 import io.github.astrapi69.file.write.StoreFileExtensions;
 import io.github.astrapi69.io.file.FileExtension;
 import io.github.astrapi69.io.file.FilenameExtensions;
 import io.github.astrapi69.io.shell.OS;
 import io.github.astrapi69.io.shell.ProcessBuilderFactory;
+import io.github.astrapisixtynine.pdf.to.text.cache.OcrCacheKeyExtensions;
+import io.github.astrapisixtynine.pdf.to.text.cache.OcrResultCache;
+import io.github.astrapisixtynine.pdf.to.text.info.BlankPageOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionMode;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionOptions;
 import io.github.astrapisixtynine.pdf.to.text.info.ConversionResult;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionStage;
+import io.github.astrapisixtynine.pdf.to.text.info.OcrEngine;
 import io.github.astrapisixtynine.pdf.to.text.info.OcrLanguage;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSelection;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSource;
+import io.github.astrapisixtynine.pdf.to.text.info.RenderOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.TileOptions;
+import io.github.astrapisixtynine.pdf.to.text.metrics.ConversionMetricsRecorder;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfDocumentSession;
 import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfToTextExtensions;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.ConversionCheckpoint;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.PageRecognizer;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.PageRenderer;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.PageWriter;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.RenderOcrPipeline;
+import io.github.astrapisixtynine.pdf.to.text.pipeline.ResultTextWriter;
+import io.github.astrapisixtynine.pdf.to.text.preprocess.BlankPageExtensions;
+import io.github.astrapisixtynine.pdf.to.text.tile.TiledOcrExtensions;
 import lombok.extern.java.Log;
-import net.sourceforge.tess4j.Tesseract;
 import net.sourceforge.tess4j.TesseractException;
 
 /**
@@ -84,24 +111,193 @@ public final class ImagePdfToTextExtensions
 	public static ConversionResult convertPdfToTextfile(File pdfFile, File outputDir,
 		String datapath, String language) throws IOException, TesseractException
 	{
+		return convertPdfToTextfile(pdfFile, outputDir, datapath, language,
+			ConversionOptions.builder().build());
+	}
 
-		String txtFileName;
-		String fileName;
-		fileName = FilenameExtensions.getFilenameWithoutExtension(pdfFile);
-		txtFileName = fileName + FileExtension.TXT.getExtension();
-		File resultTextFile = FileFactory.newFile(outputDir, txtFileName);
-
-		// step 1: convert the pdf file to image files
-		List<File> imageFiles = PdfToTextExtensions.getImageFiles(pdfFile, outputDir);
+	/**
+	 * Converts a text or image PDF file to text using image processing and OCR. Every page is
+	 * rendered in memory and the rendered image is handed directly to the OCR engine. The page
+	 * images are only written to the output directory if this is set in the given options,
+	 * otherwise the image files of the {@link ConversionResult} are empty.
+	 * <p>
+	 * Rendering and OCR overlap in a {@link RenderOcrPipeline} with the number of OCR workers and
+	 * the queue capacity of the given options. The text of every page is appended to the result
+	 * text file as soon as it is ready, the text files per page are optional
+	 *
+	 * @param pdfFile
+	 *            the input PDF file
+	 * @param outputDir
+	 *            the directory where the output files will be stored
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param options
+	 *            the options of the conversion
+	 * @return the {@link ConversionResult} object of the OCR conversion process containing image
+	 *         files, text files, and the final result text file
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static ConversionResult convertPdfToTextfile(File pdfFile, File outputDir,
+		String datapath, String language, ConversionOptions options)
+		throws IOException, TesseractException
+	{
+		try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile,
+			options.getLoadOptions()))
+		{
+			return convertPdfToTextfile(session, outputDir, datapath, language, options);
+		}
+	}
 
-		// step 2: convert the image files to text files
-		List<File> textFiles = getTextFiles(imageFiles, outputDir, datapath, language);
+	/**
+	 * Converts the PDF document of the given session to text using image processing and OCR like
+	 * {@link #convertPdfToTextfile(File, File, String, String, ConversionOptions)} without loading
+	 * the PDF file again
+	 *
+	 * @param session
+	 *            the session of the loaded PDF document
+	 * @param outputDir
+	 *            the directory where the output files will be stored
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param options
+	 *            the options of the conversion
+	 * @return the {@link ConversionResult} object of the OCR conversion process containing image
+	 *         files, text files, and the final result text file
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static ConversionResult convertPdfToTextfile(PdfDocumentSession session,
+		File outputDir, String datapath, String language, ConversionOptions options)
+		throws IOException, TesseractException
+	{
+		String fileName = session.getFileName();
+		File resultTextFile = FileFactory.newFile(outputDir,
+			fileName + FileExtension.TXT.getExtension());
+		List<File> imageFiles = new ArrayList<>();
+		List<File> textFiles;
+		TesseractKey tesseractKey = TesseractKey.of(datapath, language, options.getOcrOptions());
+		ConversionCheckpoint checkpoint = options.isResume()
+			? ConversionCheckpoint.open(outputDir, session.getPdfFile(),
+				OcrCacheKeyExtensions.getSettings(tesseractKey) + "|"
+					+ options.getRenderOptions() + "|" + options.getImagePreprocessor() + "|"
+					+ options.getTileOptions() + "|" + options.getBlankPageOptions())
+			: null;
+		ConversionMetricsRecorder metricsRecorder = new ConversionMetricsRecorder(
+			ConversionMode.OCR, OcrEngine.TESS4J, options.getMetricsListener());
+		metricsRecorder.recordLoad(session.getLoadDuration());
+		BlankPageOptions blankPageOptions = options.getBlankPageOptions();
+		Set<Integer> blankPages = ConcurrentHashMap.newKeySet();
+		// the pages whose image file is written by this conversion, the image files of pages
+		// finished by an earlier conversion may be missing or stale
+		Set<Integer> imagePages = ConcurrentHashMap.newKeySet();
+		Set<Integer> timedOutPages;
 
-		// step 3: concatenate all text files to one
-		ModifyFileExtensions.concatenateAll(textFiles, resultTextFile);
+		try (ResultTextWriter resultTextWriter = new ResultTextWriter(resultTextFile,
+			options.isWritePageTextFiles()
+				? page -> new File(outputDir,
+					PdfToTextExtensions.getPageFileName(fileName, page) + ".txt")
+				: null))
+		{
+			RenderOptions renderOptions = options.getRenderOptions();
+			// step 1: render the pages in memory
+			PageRenderer renderer = page -> {
+				if (blankPageOptions != null && !session.hasContents(page))
+				{
+					blankPages.add(page);
+					return null;
+				}
+				long renderStart = System.nanoTime();
+				BufferedImage image = session.renderImage(page, renderOptions);
+				metricsRecorder.record(page, ConversionStage.RENDER, renderStart);
+				return image;
+			};
+			// step 2: hand the rendered images to the OCR engines
+			PageRecognizer recognizer = (page, image) -> {
+				if (blankPages.contains(page) || (blankPageOptions != null
+					&& BlankPageExtensions.isBlank(image, blankPageOptions)))
+				{
+					blankPages.add(page);
+					return "";
+				}
+				BufferedImage ocrImage = image;
+				if (options.getImagePreprocessor() != null)
+				{
+					long preprocessStart = System.nanoTime();
+					ocrImage = options.getImagePreprocessor().process(image);
+					metricsRecorder.record(page, ConversionStage.PREPROCESS, preprocessStart);
+				}
+				if (options.isWriteImageFiles())
+				{
+					long encodeStart = System.nanoTime();
+					File imageFile = PdfToTextExtensions.writeImageFile(ocrImage, fileName, page,
+						outputDir, renderOptions);
+					metricsRecorder.record(page, ConversionStage.ENCODE, encodeStart);
+					metricsRecorder.recordBytesWritten(page, imageFile.length());
+					imagePages.add(page);
+				}
+				long ocrStart = System.nanoTime();
+				String text = extractTextFromImage(ocrImage, tesseractKey,
+					options.getOcrResultCache(), options.getTileOptions(), options.getCpuPermits());
+				metricsRecorder.record(page, ConversionStage.OCR, ocrStart);
+				return text;
+			};
+			// step 3: stream the text in page order to the result text file
+			PageWriter writer = (page, text) -> {
+				boolean blank = blankPages.contains(page);
+				if (imagePages.contains(page))
+				{
+					imageFiles.add(PdfToTextExtensions.getImageFile(fileName, page, outputDir,
+						renderOptions));
+				}
+				long writeStart = System.nanoTime();
+				long bytesWritten = resultTextWriter.getBytesWritten();
+				resultTextWriter.write(page, text);
+				metricsRecorder.record(page, ConversionStage.WRITE, writeStart);
+				metricsRecorder.recordBytesWritten(page,
+					resultTextWriter.getBytesWritten() - bytesWritten);
+				metricsRecorder.recordPageSource(page, blank ? PageSource.BLANK : PageSource.OCR);
+				metricsRecorder.finishPage(page);
+			};
+			RenderOcrPipeline pipeline = new RenderOcrPipeline(
+				renderer.withPermits(options.getCpuPermits()), recognizer, writer,
+				options.getOcrThreads(), options.getQueueCapacity(), options.getOcrTimeout(),
+				options.getDeadline(), options.getCpuPermits());
+			pipeline.execute(options.getPageSelection().resolve(session.getNumberOfPages()),
+				checkpoint);
+			timedOutPages = pipeline.getTimedOutPages();
+			textFiles = new ArrayList<>(resultTextWriter.getTextFiles());
+			PdfToTextExtensions.deleteTextFiles(textFiles, timedOutPages, fileName, outputDir);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new TesseractException("Interrupted while converting the PDF file", e);
+		}
+		catch (ExecutionException e)
+		{
+			throw unwrap(e);
+		}
 
+		if (checkpoint != null && timedOutPages.isEmpty())
+		{
+			// the result text file holds every page, timed out pages keep the checkpoint for a
+			// resumed conversion
+			checkpoint.delete();
+		}
 		return ConversionResult.builder().imageFiles(imageFiles).textFiles(textFiles)
-			.resultTextFile(resultTextFile).build();
+			.resultTextFile(resultTextFile)
+			.blankPages(PageSelection.getPageNumbers(blankPages))
+			.timedOutPages(PageSelection.getPageNumbers(timedOutPages))
+			.metrics(metricsRecorder.finish()).build();
 	}
 
 	/**
@@ -123,16 +319,144 @@ public final class ImagePdfToTextExtensions
 	 */
 	public static List<File> getTextFiles(List<File> imageFiles, File resultDir, String datapath,
 		String language) throws IOException, TesseractException
+	{
+		return getTextFiles(imageFiles, resultDir, datapath, language, (BlankPageOptions)null);
+	}
+
+	/**
+	 * Converts text or image PDF files into text files using Tesseract OCR. The OCR of blank page
+	 * images is skipped and an empty text file is written for them, so the returned text files
+	 * are still in the same order as the given image files
+	 *
+	 * @param imageFiles
+	 *            the list of image files to be processed
+	 * @param resultDir
+	 *            the directory where the text files will be stored
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param blankPageOptions
+	 *            the options for detecting blank pages or null if every page should be recognized
+	 * @return the list of generated text files
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static List<File> getTextFiles(List<File> imageFiles, File resultDir, String datapath,
+		String language, BlankPageOptions blankPageOptions) throws IOException, TesseractException
 	{
 		List<File> textFiles = new ArrayList<>();
 		for (int page = 0; page < imageFiles.size(); ++page)
 		{
 			File imageFile = imageFiles.get(page);
-			String textFileName = FilenameExtensions.getFilenameWithoutExtension(imageFile);
-			String string = extractTextFromImage(imageFile, datapath, language);
-			File textFile = new File(resultDir, textFileName + ".txt");
-			StoreFileExtensions.toFile(textFile, string);
-			textFiles.add(textFile);
+			textFiles.add(
+				getTextFile(imageFile, resultDir, datapath, language, blankPageOptions));
+		}
+		return textFiles;
+	}
+
+	/**
+	 * Converts text or image PDF files into text files using Tesseract OCR with the given number of
+	 * parallel workers. The returned text files are in the same order as the given image files
+	 *
+	 * @param imageFiles
+	 *            the list of image files to be processed
+	 * @param resultDir
+	 *            the directory where the text files will be stored
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param parallelism
+	 *            the number of pages that are processed in parallel
+	 * @return the list of generated text files
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static List<File> getTextFiles(List<File> imageFiles, File resultDir, String datapath,
+		String language, int parallelism) throws IOException, TesseractException
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+		try
+		{
+			return getTextFiles(imageFiles, resultDir, datapath, language, executor);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Converts text or image PDF files into text files using Tesseract OCR on the given executor.
+	 * Every page borrows its own engine from the default {@link TesseractPool}, so the number of
+	 * pages that are processed at the same time is limited by the executor and the pool. The
+	 * returned text files are in the same order as the given image files
+	 *
+	 * @param imageFiles
+	 *            the list of image files to be processed
+	 * @param resultDir
+	 *            the directory where the text files will be stored
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param executor
+	 *            the executor that processes the pages, it will not be shut down
+	 * @return the list of generated text files
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static List<File> getTextFiles(List<File> imageFiles, File resultDir, String datapath,
+		String language, ExecutorService executor) throws IOException, TesseractException
+	{
+		return getTextFiles(imageFiles, resultDir, datapath, language, executor, null);
+	}
+
+	/**
+	 * Converts text or image PDF files into text files using Tesseract OCR on the given executor
+	 * like {@link #getTextFiles(List, File, String, String, ExecutorService)}. The OCR of blank
+	 * page images is skipped and an empty text file is written for them, so the returned text
+	 * files are still in the same order as the given image files
+	 *
+	 * @param imageFiles
+	 *            the list of image files to be processed
+	 * @param resultDir
+	 *            the directory where the text files will be stored
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param executor
+	 *            the executor that processes the pages, it will not be shut down
+	 * @param blankPageOptions
+	 *            the options for detecting blank pages or null if every page should be recognized
+	 * @return the list of generated text files
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static List<File> getTextFiles(List<File> imageFiles, File resultDir, String datapath,
+		String language, ExecutorService executor, BlankPageOptions blankPageOptions)
+		throws IOException, TesseractException
+	{
+		List<Future<File>> futures = new ArrayList<>();
+		for (File imageFile : imageFiles)
+		{
+			futures.add(executor.submit(() -> getTextFile(imageFile, resultDir, datapath,
+				language, blankPageOptions)));
+		}
+		List<File> textFiles = new ArrayList<>();
+		for (Future<File> future : futures)
+		{
+			textFiles.add(await(future, futures));
 		}
 		return textFiles;
 	}
@@ -165,7 +489,79 @@ public final class ImagePdfToTextExtensions
 	}
 
 	/**
-	 * Extracts text from a single image file using Tesseract OCR
+	 * Converts image files into text using Tesseract OCR with the given number of parallel workers.
+	 * The text of the pages is concatenated in the same order as the given image files
+	 *
+	 * @param imageFiles
+	 *            the list of image files to be processed
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param parallelism
+	 *            the number of pages that are processed in parallel
+	 * @return the {@link String} object that contains the result
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static String getTextContent(List<File> imageFiles, String datapath, String language,
+		int parallelism) throws TesseractException
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+		try
+		{
+			return getTextContent(imageFiles, datapath, language, executor);
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Converts image files into text using Tesseract OCR on the given executor. Every page borrows
+	 * its own engine from the default {@link TesseractPool}. The text of the pages is concatenated
+	 * in the same order as the given image files
+	 *
+	 * @param imageFiles
+	 *            the list of image files to be processed
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param executor
+	 *            the executor that processes the pages, it will not be shut down
+	 * @return the {@link String} object that contains the result
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static String getTextContent(List<File> imageFiles, String datapath, String language,
+		ExecutorService executor) throws TesseractException
+	{
+		List<Future<String>> futures = new ArrayList<>();
+		for (File imageFile : imageFiles)
+		{
+			futures.add(executor.submit(() -> extractTextFromImage(imageFile, datapath, language)));
+		}
+		StringBuilder stringBuffer = new StringBuilder();
+		try
+		{
+			for (Future<String> future : futures)
+			{
+				stringBuffer.append(await(future, futures));
+			}
+		}
+		catch (IOException e)
+		{
+			throw new TesseractException(e);
+		}
+		return stringBuffer.toString();
+	}
+
+	/**
+	 * Extracts text from a single image file using Tesseract OCR. The OCR engine is borrowed from
+	 * the default {@link TesseractPool}, so the native API is initialized only once per datapath
+	 * and language
 	 *
 	 * @param imageFile
 	 *            the image file to process
@@ -180,10 +576,284 @@ public final class ImagePdfToTextExtensions
 	public static String extractTextFromImage(File imageFile, String datapath, String language)
 		throws TesseractException
 	{
-		Tesseract tesseract = new Tesseract();
-		tesseract.setDatapath(datapath);
-		tesseract.setLanguage(language);
-		return tesseract.doOCR(imageFile);
+		return TesseractPool.getDefault().recognize(TesseractKey.of(datapath, language), imageFile);
+	}
+
+	/**
+	 * Extracts text from a rendered image in memory using Tesseract OCR. The OCR engine is borrowed
+	 * from the default {@link TesseractPool}
+	 *
+	 * @param image
+	 *            the image to process
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @return the extracted text
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static String extractTextFromImage(BufferedImage image, String datapath,
+		String language) throws TesseractException
+	{
+		return TesseractPool.getDefault().recognize(TesseractKey.of(datapath, language), image);
+	}
+
+	/**
+	 * Extracts text from a single image file using Tesseract OCR. If the given cache contains the
+	 * text of an image file with the same content and OCR settings, the text is taken from the
+	 * cache and no OCR is run
+	 *
+	 * @param imageFile
+	 *            the image file to process
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param ocrResultCache
+	 *            the cache for the recognized texts or null for no cache
+	 * @return the extracted text
+	 * @throws IOException
+	 *             if the image file can not be read
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static String extractTextFromImage(File imageFile, String datapath, String language,
+		OcrResultCache ocrResultCache) throws IOException, TesseractException
+	{
+		if (ocrResultCache == null)
+		{
+			return extractTextFromImage(imageFile, datapath, language);
+		}
+		TesseractKey tesseractKey = TesseractKey.of(datapath, language);
+		String key = OcrCacheKeyExtensions.newKey(imageFile,
+			OcrCacheKeyExtensions.getSettings(tesseractKey));
+		String text = ocrResultCache.get(key);
+		if (text == null)
+		{
+			text = TesseractPool.getDefault().recognize(tesseractKey, imageFile);
+			ocrResultCache.put(key, text);
+		}
+		return text;
+	}
+
+	/**
+	 * Extracts text from a rendered image in memory using Tesseract OCR. If the given cache
+	 * contains the text of an image with the same pixels and OCR settings, the text is taken from
+	 * the cache and no OCR is run
+	 *
+	 * @param image
+	 *            the image to process
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param ocrResultCache
+	 *            the cache for the recognized texts or null for no cache
+	 * @return the extracted text
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static String extractTextFromImage(BufferedImage image, String datapath,
+		String language, OcrResultCache ocrResultCache) throws TesseractException
+	{
+		return extractTextFromImage(image, TesseractKey.of(datapath, language), ocrResultCache,
+			null);
+	}
+
+	/**
+	 * Extracts text from a rendered image in memory using Tesseract OCR. If the image is oversized
+	 * by the given tile options, it is recognized in overlapping horizontal strips in parallel and
+	 * the texts of the strips are merged with {@link TiledOcrExtensions}. If the given cache
+	 * contains the text of an image with the same pixels and OCR settings, the text is taken from
+	 * the cache and no OCR is run
+	 *
+	 * @param image
+	 *            the image to process
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param ocrResultCache
+	 *            the cache for the recognized texts or null for no cache
+	 * @param tileOptions
+	 *            the options for recognizing oversized images or null to recognize every image as
+	 *            a whole
+	 * @return the extracted text
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static String extractTextFromImage(BufferedImage image, String datapath,
+		String language, OcrResultCache ocrResultCache, TileOptions tileOptions)
+		throws TesseractException
+	{
+		return extractTextFromImage(image, TesseractKey.of(datapath, language), ocrResultCache,
+			tileOptions);
+	}
+
+	/**
+	 * Extracts text from a rendered image in memory with a pooled Tesseract engine of the given
+	 * key, so the engine mode, the page segmentation mode and the variables of the key are used.
+	 * If the image is oversized by the given tile options, it is recognized in overlapping
+	 * horizontal strips in parallel. If the given cache contains the text of an image with the
+	 * same pixels and OCR settings, the text is taken from the cache and no OCR is run
+	 *
+	 * @param image
+	 *            the image to process
+	 * @param tesseractKey
+	 *            the key with the settings of the Tesseract engine
+	 * @param ocrResultCache
+	 *            the cache for the recognized texts or null for no cache
+	 * @param tileOptions
+	 *            the options for recognizing oversized images or null to recognize every image as
+	 *            a whole
+	 * @return the extracted text
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static String extractTextFromImage(BufferedImage image, TesseractKey tesseractKey,
+		OcrResultCache ocrResultCache, TileOptions tileOptions) throws TesseractException
+	{
+		return extractTextFromImage(image, tesseractKey, ocrResultCache, tileOptions, null);
+	}
+
+	/**
+	 * Extracts text from a rendered image in memory like
+	 * {@link #extractTextFromImage(BufferedImage, TesseractKey, OcrResultCache, TileOptions)}.
+	 * The calling thread holds a permit of the given CPU permits, every further strip of an
+	 * oversized image that is recognized at the same time needs its own permit
+	 *
+	 * @param image
+	 *            the image to process
+	 * @param tesseractKey
+	 *            the key with the settings of the Tesseract engine
+	 * @param ocrResultCache
+	 *            the cache for the recognized texts or null for no cache
+	 * @param tileOptions
+	 *            the options for recognizing oversized images or null to recognize every image as
+	 *            a whole
+	 * @param cpuPermits
+	 *            the CPU permits of the conversion or null if the strips are not bounded
+	 * @return the extracted text
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public static String extractTextFromImage(BufferedImage image, TesseractKey tesseractKey,
+		OcrResultCache ocrResultCache, TileOptions tileOptions, Semaphore cpuPermits)
+		throws TesseractException
+	{
+		boolean tiled = tileOptions != null && TiledOcrExtensions.isOversized(image, tileOptions);
+		String key = null;
+		if (ocrResultCache != null)
+		{
+			String settings = OcrCacheKeyExtensions.getSettings(tesseractKey);
+			// the merged text of the strips differs from the text of the whole image
+			key = OcrCacheKeyExtensions.newKey(image,
+				tiled
+					? settings + "|tiles=" + tileOptions.getTileHeight() + "x"
+						+ tileOptions.getOverlap()
+					: settings);
+			String text = ocrResultCache.get(key);
+			if (text != null)
+			{
+				return text;
+			}
+		}
+		String text = tiled
+			? extractTextFromTiles(image, tesseractKey, tileOptions, cpuPermits)
+			: TesseractPool.getDefault().recognize(tesseractKey, image);
+		if (ocrResultCache != null)
+		{
+			ocrResultCache.put(key, text);
+		}
+		return text;
+	}
+
+	private static String extractTextFromTiles(BufferedImage image, TesseractKey tesseractKey,
+		TileOptions tileOptions, Semaphore cpuPermits) throws TesseractException
+	{
+		try
+		{
+			return TiledOcrExtensions.recognize(image, tileOptions, cpuPermits,
+				(tile, tileImage) -> TesseractPool.getDefault().recognize(tesseractKey, tileImage));
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new TesseractException("Interrupted while waiting for the OCR of the tiles", e);
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof TesseractException tesseractException)
+			{
+				throw tesseractException;
+			}
+			if (cause instanceof RuntimeException runtimeException)
+			{
+				throw runtimeException;
+			}
+			if (cause instanceof Error error)
+			{
+				throw error;
+			}
+			throw new TesseractException(cause);
+		}
+	}
+
+	private static File getTextFile(File imageFile, File resultDir, String datapath,
+		String language, BlankPageOptions blankPageOptions) throws IOException, TesseractException
+	{
+		String textFileName = FilenameExtensions.getFilenameWithoutExtension(imageFile);
+		String string = blankPageOptions != null
+			&& BlankPageExtensions.isBlank(imageFile, blankPageOptions)
+				? ""
+				: extractTextFromImage(imageFile, datapath, language);
+		File textFile = new File(resultDir, textFileName + ".txt");
+		StoreFileExtensions.toFile(textFile, string);
+		return textFile;
+	}
+
+	private static <T> T await(Future<T> future, List<? extends Future<?>> futures)
+		throws IOException, TesseractException
+	{
+		try
+		{
+			return future.get();
+		}
+		catch (InterruptedException e)
+		{
+			futures.forEach(f -> f.cancel(true));
+			Thread.currentThread().interrupt();
+			throw new TesseractException("Interrupted while waiting for the OCR results", e);
+		}
+		catch (ExecutionException e)
+		{
+			futures.forEach(f -> f.cancel(true));
+			throw unwrap(e);
+		}
+	}
+
+	private static TesseractException unwrap(ExecutionException e) throws IOException
+	{
+		Throwable cause = e.getCause();
+		if (cause instanceof IOException ioException)
+		{
+			throw ioException;
+		}
+		if (cause instanceof TesseractException tesseractException)
+		{
+			return tesseractException;
+		}
+		if (cause instanceof RuntimeException runtimeException)
+		{
+			throw runtimeException;
+		}
+		if (cause instanceof Error error)
+		{
+			throw error;
+		}
+		return new TesseractException(cause);
 	}
 
 	/**
@@ -0,0 +1,176 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.tess4j;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import javax.imageio.IIOImage;
+
+import net.sourceforge.tess4j.Tesseract;
+import net.sourceforge.tess4j.TesseractException;
+import net.sourceforge.tess4j.util.ImageIOHelper;
+
+/**
+ * The class {@link ReusableTesseract} is a {@link Tesseract} engine that initializes the native
+ * API and loads the traineddata only once and keeps it warm for all following recognitions. The
+ * native API is initialized lazily on the first recognition and released with {@link #close()}.
+ * <p>
+ * Instances are not thread safe and should be obtained from a {@link TesseractPool}
+ */
+public class ReusableTesseract extends Tesseract implements AutoCloseable
+{
+
+	private final TesseractKey key;
+
+	private boolean initialized;
+
+	private long lastReleased;
+
+	/**
+	 * Creates a new {@link ReusableTesseract} with the settings of the given key
+	 *
+	 * @param key
+	 *            the key that holds the engine settings
+	 */
+	ReusableTesseract(TesseractKey key)
+	{
+		this.key = key;
+		setDatapath(key.getDatapath());
+		setLanguage(key.getLanguage());
+		setOcrEngineMode(key.getOcrEngineMode());
+		setPageSegMode(TesseractKey.resolvePageSegMode(key.getPageSegMode()));
+		key.getVariables().forEach(this::setVariable);
+	}
+
+	/**
+	 * Gets the key of this engine
+	 *
+	 * @return the key of this engine
+	 */
+	public TesseractKey getKey()
+	{
+		return key;
+	}
+
+	/**
+	 * Checks if the native API of this engine is initialized
+	 *
+	 * @return true if the native API is initialized otherwise false
+	 */
+	public synchronized boolean isInitialized()
+	{
+		return initialized;
+	}
+
+	/**
+	 * Extracts the text from the given image
+	 *
+	 * @param image
+	 *            the image to process
+	 * @return the extracted text
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public synchronized String recognize(BufferedImage image) throws TesseractException
+	{
+		initialize();
+		try
+		{
+			setImage(image, null);
+			return getOCRText(null, 1);
+		}
+		catch (IOException e)
+		{
+			throw new TesseractException(e);
+		}
+	}
+
+	/**
+	 * Extracts the text from the given image file. Multi page image files are processed page by
+	 * page
+	 *
+	 * @param imageFile
+	 *            the image file to process
+	 * @return the extracted text
+	 * @throws TesseractException
+	 *             if an error occurs during OCR
+	 */
+	public synchronized String recognize(File imageFile) throws TesseractException
+	{
+		initialize();
+		try
+		{
+			List<IIOImage> images = ImageIOHelper.getIIOImageList(imageFile);
+			StringBuilder sb = new StringBuilder();
+			for (int page = 0; page < images.size(); ++page)
+			{
+				setImage(images.get(page).getRenderedImage(), null);
+				sb.append(getOCRText(null, page + 1));
+			}
+			return sb.toString();
+		}
+		catch (IOException e)
+		{
+			throw new TesseractException(e);
+		}
+	}
+
+	/**
+	 * Releases the native API of this engine. A closed engine can be used again, it will be
+	 * initialized again on the next recognition
+	 */
+	@Override
+	public synchronized void close()
+	{
+		if (initialized)
+		{
+			initialized = false;
+			dispose();
+		}
+	}
+
+	long getLastReleased()
+	{
+		return lastReleased;
+	}
+
+	void setLastReleased(long lastReleased)
+	{
+		this.lastReleased = lastReleased;
+	}
+
+	private void initialize()
+	{
+		if (!initialized)
+		{
+			init();
+			setVariables();
+			initialized = true;
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.tess4j;
+
+import java.util.Collections;
+import java.util.Map;
+
+import io.github.astrapisixtynine.pdf.to.text.info.OcrOptions;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The class {@link TesseractKey} identifies a group of interchangeable Tesseract engines. Two
+ * engines with equal keys are initialized with the same traineddata and settings and can therefore
+ * be reused for each other
+ */
+@Value
+@Builder(toBuilder = true)
+public class TesseractKey
+{
+
+	/**
+	 * The default engine mode of Tesseract, that is based on what is available
+	 */
+	public static final int DEFAULT_OCR_ENGINE_MODE = 3;
+
+	/**
+	 * The default page segmentation mode, -1 selects {@link #AUTO_PAGE_SEG_MODE}
+	 */
+	public static final int DEFAULT_PAGE_SEG_MODE = -1;
+
+	/**
+	 * The fully automatic page segmentation without orientation and script detection. This is the
+	 * default of the tesseract command line tool, tess4j would use a single uniform block of text
+	 * instead, so both engines are given this mode explicitly for the default page segmentation
+	 * mode
+	 */
+	public static final int AUTO_PAGE_SEG_MODE = 3;
+
+	/**
+	 * The path to Tesseract data files
+	 */
+	String datapath;
+
+	/**
+	 * The language to use for OCR
+	 */
+	String language;
+
+	/**
+	 * The OCR engine mode
+	 */
+	@Builder.Default
+	int ocrEngineMode = DEFAULT_OCR_ENGINE_MODE;
+
+	/**
+	 * The page segmentation mode
+	 */
+	@Builder.Default
+	int pageSegMode = DEFAULT_PAGE_SEG_MODE;
+
+	/**
+	 * The Tesseract variables that are set on the engine
+	 */
+	@Builder.Default
+	Map<String, String> variables = Collections.emptyMap();
+
+	/**
+	 * Factory method for create a new {@link TesseractKey} with the default engine settings
+	 *
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @return the new {@link TesseractKey}
+	 */
+	public static TesseractKey of(String datapath, String language)
+	{
+		return TesseractKey.builder().datapath(datapath).language(language).build();
+	}
+
+	/**
+	 * Factory method for create a new {@link TesseractKey} with the engine settings of the given
+	 * OCR options. The tessdata directory of the OCR options replaces the given data path if it
+	 * is set
+	 *
+	 * @param datapath
+	 *            the path to Tesseract data files
+	 * @param language
+	 *            the language to use for OCR
+	 * @param ocrOptions
+	 *            the OCR options or null for the default engine settings
+	 * @return the new {@link TesseractKey}
+	 */
+	public static TesseractKey of(String datapath, String language, OcrOptions ocrOptions)
+	{
+		if (ocrOptions == null)
+		{
+			return of(datapath, language);
+		}
+		return TesseractKey.builder()
+			.datapath(ocrOptions.getTessdataDir() != null ? ocrOptions.getTessdataDir() : datapath)
+			.language(language).ocrEngineMode(ocrOptions.getOcrEngineMode())
+			.pageSegMode(ocrOptions.getPageSegMode()).variables(ocrOptions.getVariables())
+			.build();
+	}
+
+	/**
+	 * Resolves the given page segmentation mode to the mode that is passed to the engines
+	 *
+	 * @param pageSegMode
+	 *            the page segmentation mode
+	 * @return {@link #AUTO_PAGE_SEG_MODE} for {@link #DEFAULT_PAGE_SEG_MODE} otherwise the given
+	 *         page segmentation mode
+	 */
+	public static int resolvePageSegMode(int pageSegMode)
+	{
+		return pageSegMode == DEFAULT_PAGE_SEG_MODE ? AUTO_PAGE_SEG_MODE : pageSegMode;
+	}
+}
@@ -0,0 +1,493 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.tess4j;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * The class {@link TesseractPool} holds warm {@link ReusableTesseract} engines keyed by their
+ * {@link TesseractKey}. An engine is borrowed for exclusive use and released back to the pool
+ * afterwards, so the expensive initialization of the native API is paid only once per engine.
+ * <p>
+ * The number of engines per key is limited, a borrow blocks if all engines of a key are in use.
+ * Engines that are idle for longer than the idle timeout are evicted and their native resources
+ * are released. The eviction runs on every release and periodically on a shared daemon thread
+ * until the pool is closed, keys without engines are removed by the eviction. The shared default
+ * pool is closed by a shutdown hook
+ */
+public final class TesseractPool implements AutoCloseable
+{
+
+	/**
+	 * The default maximum number of engines per key
+	 */
+	public static final int DEFAULT_MAX_ENGINES_PER_KEY = Runtime.getRuntime()
+		.availableProcessors();
+
+	/**
+	 * The default time after an idle engine will be evicted
+	 */
+	public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(5);
+
+	private static final long MIN_EVICTION_PERIOD_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	private static final ScheduledExecutorService EVICTOR = Executors
+		.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "tesseract-pool-evictor");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+	private static final TesseractPool DEFAULT_POOL = new TesseractPool(
+		DEFAULT_MAX_ENGINES_PER_KEY, DEFAULT_IDLE_TIMEOUT);
+
+	static
+	{
+		Runtime.getRuntime()
+			.addShutdownHook(new Thread(DEFAULT_POOL::close, "tesseract-pool-shutdown"));
+	}
+
+	private final int maxEnginesPerKey;
+
+	private final long idleTimeoutNanos;
+
+	private final ConcurrentMap<TesseractKey, Engines> engines = new ConcurrentHashMap<>();
+
+	private final ScheduledFuture<?> eviction;
+
+	private volatile boolean closed;
+
+	/**
+	 * Creates a new {@link TesseractPool}. The idle engines are evicted periodically until the
+	 * pool is closed
+	 *
+	 * @param maxEnginesPerKey
+	 *            the maximum number of engines per key
+	 * @param idleTimeout
+	 *            the time after an idle engine will be evicted
+	 */
+	public TesseractPool(int maxEnginesPerKey, Duration idleTimeout)
+	{
+		if (maxEnginesPerKey < 1)
+		{
+			throw new IllegalArgumentException("maxEnginesPerKey must be at least 1");
+		}
+		this.maxEnginesPerKey = maxEnginesPerKey;
+		this.idleTimeoutNanos = idleTimeout.toNanos();
+		long evictionPeriodNanos = Math.max(idleTimeoutNanos / 2, MIN_EVICTION_PERIOD_NANOS);
+		this.eviction = EVICTOR.scheduleWithFixedDelay(this::evictIdle, evictionPeriodNanos,
+			evictionPeriodNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Gets the shared default pool
+	 *
+	 * @return the shared default pool
+	 */
+	public static TesseractPool getDefault()
+	{
+		return DEFAULT_POOL;
+	}
+
+	/**
+	 * Gets the maximum number of engines per key
+	 *
+	 * @return the maximum number of engines per key
+	 */
+	public int getMaxEnginesPerKey()
+	{
+		return maxEnginesPerKey;
+	}
+
+	/**
+	 * Borrows an engine for the given key. Waits if all engines of the given key are in use
+	 *
+	 * @param key
+	 *            the key of the engine
+	 * @return the borrowed engine, that must be given back with {@link #release(ReusableTesseract)}
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting
+	 */
+	public ReusableTesseract borrow(TesseractKey key) throws InterruptedException
+	{
+		checkOpen();
+		Engines keyEngines = acquireEngines(key);
+		try
+		{
+			keyEngines.permits.acquire();
+		}
+		catch (InterruptedException e)
+		{
+			releaseEngines(key);
+			throw e;
+		}
+		return take(key, keyEngines);
+	}
+
+	/**
+	 * Borrows an engine for the given key. Waits at most the given timeout if all engines of the
+	 * given key are in use
+	 *
+	 * @param key
+	 *            the key of the engine
+	 * @param timeout
+	 *            the maximum time to wait
+	 * @return the borrowed engine or null if no engine was available within the given timeout
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting
+	 */
+	public ReusableTesseract tryBorrow(TesseractKey key, Duration timeout)
+		throws InterruptedException
+	{
+		checkOpen();
+		Engines keyEngines = acquireEngines(key);
+		boolean acquired = false;
+		try
+		{
+			acquired = keyEngines.permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		finally
+		{
+			if (!acquired)
+			{
+				releaseEngines(key);
+			}
+		}
+		return acquired ? take(key, keyEngines) : null;
+	}
+
+	/**
+	 * Gives the given borrowed engine back to this pool
+	 *
+	 * @param engine
+	 *            the engine to give back
+	 */
+	public void release(ReusableTesseract engine)
+	{
+		Engines keyEngines = engines.get(engine.getKey());
+		if (closed)
+		{
+			engine.close();
+		}
+		else
+		{
+			engine.setLastReleased(System.nanoTime());
+			synchronized (keyEngines)
+			{
+				keyEngines.idle.addFirst(engine);
+			}
+		}
+		keyEngines.permits.release();
+		releaseEngines(engine.getKey());
+		if (closed)
+		{
+			close();
+			return;
+		}
+		evictIdle();
+	}
+
+	/**
+	 * Removes the given borrowed engine from this pool and releases its native resources. This
+	 * should be used instead of {@link #release(ReusableTesseract)} if the engine is in an unknown
+	 * state, for instance after a failed recognition
+	 *
+	 * @param engine
+	 *            the engine to remove
+	 */
+	public void invalidate(ReusableTesseract engine)
+	{
+		Engines keyEngines = engines.get(engine.getKey());
+		engine.close();
+		keyEngines.permits.release();
+		releaseEngines(engine.getKey());
+	}
+
+	/**
+	 * Extracts the text from the given image with a borrowed engine of the given key
+	 *
+	 * @param key
+	 *            the key of the engine
+	 * @param image
+	 *            the image to process
+	 * @return the extracted text
+	 * @throws TesseractException
+	 *             if an error occurs during OCR or the current thread is interrupted while waiting
+	 *             for an engine
+	 */
+	public String recognize(TesseractKey key, BufferedImage image) throws TesseractException
+	{
+		ReusableTesseract engine = borrowForRecognition(key);
+		try
+		{
+			String text = engine.recognize(image);
+			release(engine);
+			return text;
+		}
+		catch (TesseractException | RuntimeException e)
+		{
+			invalidate(engine);
+			throw e;
+		}
+	}
+
+	/**
+	 * Extracts the text from the given image file with a borrowed engine of the given key
+	 *
+	 * @param key
+	 *            the key of the engine
+	 * @param imageFile
+	 *            the image file to process
+	 * @return the extracted text
+	 * @throws TesseractException
+	 *             if an error occurs during OCR or the current thread is interrupted while waiting
+	 *             for an engine
+	 */
+	public String recognize(TesseractKey key, File imageFile) throws TesseractException
+	{
+		ReusableTesseract engine = borrowForRecognition(key);
+		try
+		{
+			String text = engine.recognize(imageFile);
+			release(engine);
+			return text;
+		}
+		catch (TesseractException | RuntimeException e)
+		{
+			invalidate(engine);
+			throw e;
+		}
+	}
+
+	/**
+	 * Evicts all engines that are idle for longer than the idle timeout and removes the keys that
+	 * have neither idle nor borrowed engines
+	 *
+	 * @return the number of evicted engines
+	 */
+	public int evictIdle()
+	{
+		long now = System.nanoTime();
+		List<ReusableTesseract> evicted = new ArrayList<>();
+		for (Engines keyEngines : engines.values())
+		{
+			synchronized (keyEngines)
+			{
+				Iterator<ReusableTesseract> iterator = keyEngines.idle.descendingIterator();
+				while (iterator.hasNext())
+				{
+					ReusableTesseract engine = iterator.next();
+					if (now - engine.getLastReleased() < idleTimeoutNanos)
+					{
+						break;
+					}
+					iterator.remove();
+					evicted.add(engine);
+				}
+			}
+		}
+		evicted.forEach(ReusableTesseract::close);
+		for (TesseractKey key : engines.keySet())
+		{
+			engines.computeIfPresent(key,
+				(engineKey, keyEngines) -> keyEngines.isUnused() ? null : keyEngines);
+		}
+		return evicted.size();
+	}
+
+	/**
+	 * Gets the number of idle engines of all keys
+	 *
+	 * @return the number of idle engines
+	 */
+	public int getIdleCount()
+	{
+		int count = 0;
+		for (Engines keyEngines : engines.values())
+		{
+			synchronized (keyEngines)
+			{
+				count += keyEngines.idle.size();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the number of idle engines of the given key
+	 *
+	 * @param key
+	 *            the key of the engines
+	 * @return the number of idle engines of the given key
+	 */
+	public int getIdleCount(TesseractKey key)
+	{
+		Engines keyEngines = engines.get(key);
+		if (keyEngines == null)
+		{
+			return 0;
+		}
+		synchronized (keyEngines)
+		{
+			return keyEngines.idle.size();
+		}
+	}
+
+	/**
+	 * Gets the number of keys that have idle or borrowed engines
+	 *
+	 * @return the number of keys
+	 */
+	int getKeyCount()
+	{
+		return engines.size();
+	}
+
+	/**
+	 * Closes this pool and releases the native resources of all idle engines. Engines that are
+	 * borrowed while closing are released when they are given back
+	 */
+	@Override
+	public void close()
+	{
+		closed = true;
+		eviction.cancel(false);
+		List<ReusableTesseract> idle = new ArrayList<>();
+		for (Engines keyEngines : engines.values())
+		{
+			synchronized (keyEngines)
+			{
+				idle.addAll(keyEngines.idle);
+				keyEngines.idle.clear();
+			}
+		}
+		idle.forEach(ReusableTesseract::close);
+	}
+
+	private ReusableTesseract borrowForRecognition(TesseractKey key) throws TesseractException
+	{
+		try
+		{
+			return borrow(key);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new TesseractException("Interrupted while waiting for an OCR engine", e);
+		}
+	}
+
+	private ReusableTesseract take(TesseractKey key, Engines keyEngines)
+	{
+		ReusableTesseract engine;
+		synchronized (keyEngines)
+		{
+			engine = keyEngines.idle.pollFirst();
+		}
+		if (engine != null)
+		{
+			return engine;
+		}
+		try
+		{
+			return new ReusableTesseract(key);
+		}
+		catch (RuntimeException | Error e)
+		{
+			keyEngines.permits.release();
+			releaseEngines(key);
+			throw e;
+		}
+	}
+
+	private Engines acquireEngines(TesseractKey key)
+	{
+		// the caller is counted as user, so the key is not removed by the eviction until the
+		// caller releases the engines of the key
+		return engines.compute(key, (engineKey, keyEngines) -> {
+			Engines acquired = keyEngines != null ? keyEngines : new Engines(maxEnginesPerKey);
+			++acquired.users;
+			return acquired;
+		});
+	}
+
+	private void releaseEngines(TesseractKey key)
+	{
+		engines.computeIfPresent(key, (engineKey, keyEngines) -> {
+			--keyEngines.users;
+			return keyEngines;
+		});
+	}
+
+	private void checkOpen()
+	{
+		if (closed)
+		{
+			throw new IllegalStateException("The pool is closed");
+		}
+	}
+
+	private static final class Engines
+	{
+		private final Semaphore permits;
+
+		private final Deque<ReusableTesseract> idle = new ArrayDeque<>();
+
+		/**
+		 * The number of callers that wait for or hold an engine of the key, only changed while
+		 * the entry of the key is computed in the map
+		 */
+		private int users;
+
+		private Engines(int maxEngines)
+		{
+			this.permits = new Semaphore(maxEngines, true);
+		}
+
+		private boolean isUnused()
+		{
+			synchronized (this)
+			{
+				return users == 0 && idle.isEmpty();
+			}
+		}
+	}
+}
@@ -0,0 +1,362 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.tile;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.astrapisixtynine.pdf.to.text.info.TileOptions;
+import io.github.astrapisixtynine.pdf.to.text.preprocess.ImagePreprocessingExtensions;
+
+/**
+ * The class {@link TiledOcrExtensions} recognizes oversized page images like large drawings or
+ * long receipts in overlapping horizontal strips. The strips are recognized in parallel, so a
+ * single page does not pin one core for minutes, and only the strips that are recognized at the
+ * same time are copied. The calling thread recognizes strips itself, every further thread only
+ * recognizes strips while it holds a permit of the CPU permits of the conversion, so the strips
+ * of all pages share the bound of the conversion. The texts of the strips are merged in reading
+ * order and the lines that are recognized twice in the overlap of two strips are removed
+ */
+public final class TiledOcrExtensions
+{
+
+	/**
+	 * The greatest gray value of an ink pixel for finding the lightest rows
+	 */
+	static final int INK_THRESHOLD = 127;
+
+	/**
+	 * Private constructor to prevent instantiation
+	 */
+	private TiledOcrExtensions()
+	{
+	}
+
+	/**
+	 * Checks if the given page image is large enough to be recognized in strips
+	 *
+	 * @param image
+	 *            the page image
+	 * @param tileOptions
+	 *            the options for recognizing oversized page images
+	 * @return true if the given page image has at least the minimum number of pixels of the given
+	 *         tile options otherwise false
+	 */
+	public static boolean isOversized(BufferedImage image, TileOptions tileOptions)
+	{
+		return tileOptions.getMinPixels() <= (long)image.getWidth() * image.getHeight();
+	}
+
+	/**
+	 * Recognizes the given page image in overlapping horizontal strips with the given recognizer.
+	 * The strips are recognized in parallel and their texts are merged with
+	 * {@link #merge(List)}
+	 *
+	 * @param image
+	 *            the page image
+	 * @param tileOptions
+	 *            the options for recognizing oversized page images
+	 * @param recognizer
+	 *            the recognizer of a single strip
+	 * @return the merged text of all strips
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting for the strips
+	 * @throws ExecutionException
+	 *             if the recognizer failed for a strip, the cause is the exception of the
+	 *             recognizer
+	 */
+	public static String recognize(BufferedImage image, TileOptions tileOptions,
+		TileRecognizer recognizer) throws InterruptedException, ExecutionException
+	{
+		return recognize(image, tileOptions, null, recognizer);
+	}
+
+	/**
+	 * Recognizes the given page image in overlapping horizontal strips with the given recognizer.
+	 * The calling thread recognizes strips with the permit it already holds, up to the
+	 * parallelism of the given tile options minus one further threads recognize strips only
+	 * while they hold a permit of the given semaphore. The texts of the strips are merged with
+	 * {@link #merge(List)}
+	 *
+	 * @param image
+	 *            the page image
+	 * @param tileOptions
+	 *            the options for recognizing oversized page images
+	 * @param permits
+	 *            the CPU permits of the conversion or null if the further threads need no permit
+	 * @param recognizer
+	 *            the recognizer of a single strip
+	 * @return the merged text of all strips
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting for the strips
+	 * @throws ExecutionException
+	 *             if the recognizer failed for a strip, the cause is the exception of the
+	 *             recognizer
+	 */
+	public static String recognize(BufferedImage image, TileOptions tileOptions,
+		Semaphore permits, TileRecognizer recognizer)
+		throws InterruptedException, ExecutionException
+	{
+		List<Rectangle> strips = getStrips(image, tileOptions);
+		List<CompletableFuture<String>> futures = new ArrayList<>();
+		strips.forEach(strip -> futures.add(new CompletableFuture<>()));
+		AtomicInteger nextTile = new AtomicInteger();
+		Runnable tileWorker = () -> recognizeTiles(image, strips, recognizer, nextTile, futures);
+		int helpers = Math.min(tileOptions.getParallelism(), strips.size()) - 1;
+		ExecutorService executor = 0 < helpers ? Executors.newFixedThreadPool(helpers) : null;
+		try
+		{
+			for (int helper = 0; helper < helpers; ++helper)
+			{
+				executor.execute(() -> recognizeTiles(permits, tileWorker));
+			}
+			tileWorker.run();
+			List<String> texts = new ArrayList<>();
+			for (Future<String> future : futures)
+			{
+				texts.add(future.get());
+			}
+			return merge(texts);
+		}
+		finally
+		{
+			if (executor != null)
+			{
+				executor.shutdownNow();
+			}
+		}
+	}
+
+	private static void recognizeTiles(Semaphore permits, Runnable tileWorker)
+	{
+		if (permits == null)
+		{
+			tileWorker.run();
+			return;
+		}
+		try
+		{
+			permits.acquire();
+		}
+		catch (InterruptedException e)
+		{
+			// all strips are taken
+			return;
+		}
+		try
+		{
+			tileWorker.run();
+		}
+		finally
+		{
+			permits.release();
+		}
+	}
+
+	private static void recognizeTiles(BufferedImage image, List<Rectangle> strips,
+		TileRecognizer recognizer, AtomicInteger nextTile, List<CompletableFuture<String>> futures)
+	{
+		int tile;
+		while ((tile = nextTile.getAndIncrement()) < strips.size())
+		{
+			try
+			{
+				// every strip is copied only when it is recognized to bound the used memory
+				futures.get(tile).complete(recognizer.recognize(tile,
+					ImagePreprocessingExtensions.getSubimageCopy(image, strips.get(tile))));
+			}
+			catch (Throwable e)
+			{
+				// the strips after a failed strip are not recognized
+				nextTile.set(strips.size());
+				futures.get(tile).completeExceptionally(e);
+			}
+		}
+	}
+
+	/**
+	 * Splits the given page image into overlapping horizontal strips. Every boundary is moved up
+	 * to half of the overlap to the row with the least ink pixels, so text lines are cut as
+	 * seldom as possible and two adjacent strips have at least the overlap in common
+	 *
+	 * @param image
+	 *            the page image
+	 * @param tileOptions
+	 *            the options for recognizing oversized page images
+	 * @return the strips from top to bottom
+	 * @throws IllegalArgumentException
+	 *             if the tile height is not positive or the overlap is negative or not less than
+	 *             the half of the tile height
+	 */
+	public static List<Rectangle> getStrips(BufferedImage image, TileOptions tileOptions)
+	{
+		int tileHeight = tileOptions.getTileHeight();
+		int overlap = tileOptions.getOverlap();
+		if (tileHeight < 1 || overlap < 0 || tileHeight <= 2 * overlap)
+		{
+			throw new IllegalArgumentException(
+				"tileHeight must be positive and greater than twice the overlap");
+		}
+		int width = image.getWidth();
+		int height = image.getHeight();
+		List<Rectangle> strips = new ArrayList<>();
+		if (height <= tileHeight)
+		{
+			strips.add(new Rectangle(0, 0, width, height));
+			return strips;
+		}
+		int[] rowInk = getRowInk(image);
+		int searchRange = overlap / 2;
+		int top = 0;
+		while (tileHeight < height - top)
+		{
+			int bottom = getLightestRow(rowInk, top + tileHeight - searchRange,
+				top + tileHeight);
+			strips.add(new Rectangle(0, top, width, bottom - top));
+			top = getLightestRow(rowInk, bottom - overlap - searchRange, bottom - overlap);
+		}
+		strips.add(new Rectangle(0, top, width, height - top));
+		return strips;
+	}
+
+	/**
+	 * Merges the texts of the strips in reading order. The leading lines of a strip that equal
+	 * the trailing lines of the text so far are recognized twice in the overlap and are removed.
+	 * Lines are compared without blank lines and with collapsed whitespace
+	 *
+	 * @param texts
+	 *            the texts of the strips from top to bottom
+	 * @return the merged text
+	 */
+	public static String merge(List<String> texts)
+	{
+		List<String> lines = new ArrayList<>();
+		for (String text : texts)
+		{
+			List<String> tileLines = text.strip().lines().toList();
+			lines.addAll(tileLines.subList(getDuplicateLines(lines, tileLines), tileLines.size()));
+		}
+		return lines.isEmpty() ? "" : String.join("\n", lines) + "\n";
+	}
+
+	/**
+	 * Gets the number of leading lines of the given strip that are already contained at the end
+	 * of the given merged lines
+	 *
+	 * @param lines
+	 *            the merged lines so far
+	 * @param tileLines
+	 *            the lines of the next strip
+	 * @return the number of leading lines of the strip including blank lines that are skipped
+	 */
+	static int getDuplicateLines(List<String> lines, List<String> tileLines)
+	{
+		List<String> previous = getNonBlankLines(lines);
+		List<String> next = getNonBlankLines(tileLines);
+		for (int count = Math.min(previous.size(), next.size()); 0 < count; --count)
+		{
+			if (previous.subList(previous.size() - count, previous.size())
+				.equals(next.subList(0, count)))
+			{
+				// skip the duplicate lines and the blank lines between them
+				int skippedLines = 0;
+				for (int found = 0; found < count; ++skippedLines)
+				{
+					if (!tileLines.get(skippedLines).isBlank())
+					{
+						found++;
+					}
+				}
+				return skippedLines;
+			}
+		}
+		return 0;
+	}
+
+	private static List<String> getNonBlankLines(List<String> lines)
+	{
+		return lines.stream().filter(line -> !line.isBlank())
+			.map(line -> line.strip().replaceAll("\\s+", " ")).toList();
+	}
+
+	private static int getLightestRow(int[] rowInk, int from, int to)
+	{
+		int lightestRow = to;
+		for (int row = to - 1; Math.max(0, from) <= row; --row)
+		{
+			if (rowInk[row] < rowInk[lightestRow])
+			{
+				lightestRow = row;
+			}
+		}
+		return lightestRow;
+	}
+
+	private static int[] getRowInk(BufferedImage image)
+	{
+		int width = image.getWidth();
+		int[] rowInk = new int[image.getHeight()];
+		int[] row = new int[width];
+		boolean gray = image.getType() == BufferedImage.TYPE_BYTE_GRAY
+			|| image.getType() == BufferedImage.TYPE_BYTE_BINARY;
+		int inkThreshold = image.getType() == BufferedImage.TYPE_BYTE_BINARY ? 0 : INK_THRESHOLD;
+		Raster raster = image.getRaster();
+		for (int y = 0; y < rowInk.length; ++y)
+		{
+			if (gray)
+			{
+				raster.getSamples(0, y, width, 1, 0, row);
+			}
+			else
+			{
+				image.getRGB(0, y, width, 1, row, 0, width);
+				for (int x = 0; x < width; ++x)
+				{
+					int rgb = row[x];
+					row[x] = (((rgb >> 16) & 0xff) * 299 + ((rgb >> 8) & 0xff) * 587
+						+ (rgb & 0xff) * 114) / 1000;
+				}
+			}
+			for (int value : row)
+			{
+				if (value <= inkThreshold)
+				{
+					rowInk[y]++;
+				}
+			}
+		}
+		return rowInk;
+	}
+}
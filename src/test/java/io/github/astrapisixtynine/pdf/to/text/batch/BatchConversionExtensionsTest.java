@@ -0,0 +1,140 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.batch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.file.create.DirectoryFactory;
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapi69.file.search.PathFinder;
+import io.github.astrapisixtynine.pdf.to.text.info.BatchConversionOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionMode;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionStatus;
+import io.github.astrapisixtynine.pdf.to.text.info.DocumentConversionSummary;
+
+/**
+ * Test class for {@link BatchConversionExtensions}
+ */
+class BatchConversionExtensionsTest
+{
+
+	private File inputDir;
+
+	private File outputDir;
+
+	/**
+	 * Sets up test data before each test
+	 */
+	@BeforeEach
+	void setUp() throws IOException
+	{
+		File testResourcesDir = PathFinder.getSrcTestResourcesDir();
+		inputDir = DirectoryFactory.newDirectory(testResourcesDir, "batch-input");
+		outputDir = DirectoryFactory.newDirectory(testResourcesDir, "output");
+		for (String pdfFileName : List.of("sample.pdf", "program-image.pdf"))
+		{
+			Files.copy(new File(testResourcesDir, pdfFileName).toPath(),
+				new File(inputDir, pdfFileName).toPath());
+		}
+		Files.writeString(new File(inputDir, "broken.pdf").toPath(), "not a PDF file");
+		Files.writeString(new File(inputDir, "notes.txt").toPath(), "not converted");
+	}
+
+	/**
+	 * cleans up after each test
+	 */
+	@AfterEach
+	void tearDown() throws IOException
+	{
+		DeleteFileExtensions.delete(inputDir);
+		DeleteFileExtensions.delete(outputDir);
+	}
+
+	/**
+	 * Tests the method
+	 * {@link BatchConversionExtensions#convertDirectory(File, File, BatchConversionOptions)}
+	 */
+	@Test
+	void testConvertDirectory() throws IOException, InterruptedException
+	{
+		BatchConversionOptions options = BatchConversionOptions.builder().cpuPermits(1)
+			.maxOpenDocuments(1).build();
+		List<DocumentConversionSummary> summaries = BatchConversionExtensions
+			.convertDirectory(inputDir, outputDir, options);
+		assertEquals(List.of("broken.pdf", "program-image.pdf", "sample.pdf"),
+			summaries.stream().map(summary -> summary.getPdfFile().getName()).toList());
+
+		DocumentConversionSummary broken = summaries.get(0);
+		assertEquals(ConversionStatus.FAILED, broken.getStatus());
+		assertNull(broken.getResultTextFile());
+		assertNotNull(broken.getErrorMessage());
+
+		for (DocumentConversionSummary summary : summaries.subList(1, 3))
+		{
+			assertEquals(ConversionStatus.SUCCEEDED, summary.getStatus());
+			assertEquals(ConversionMode.TEXT_LAYER, summary.getConversionMode());
+			assertTrue(summary.getPageCount() > 0);
+			assertTrue(summary.getResultTextFile().exists());
+			assertNotNull(summary.getDuration());
+		}
+		assertEquals(3, summaries.get(1).getPageCount());
+		assertEquals(new File(new File(outputDir, "program-image"), "program-image.txt"),
+			summaries.get(1).getResultTextFile());
+	}
+
+	/**
+	 * Tests that invalid options are rejected
+	 */
+	@Test
+	void testInvalidOptions()
+	{
+		assertThrows(IllegalArgumentException.class,
+			() -> BatchConversionExtensions.convertAll(List.of(), outputDir,
+				BatchConversionOptions.builder().cpuPermits(0).build()));
+		assertThrows(IllegalArgumentException.class,
+			() -> BatchConversionExtensions.convertAll(List.of(), outputDir,
+				BatchConversionOptions.builder().maxOpenDocuments(0).build()));
+	}
+
+	/**
+	 * Test method for {@link BatchConversionExtensions} with {@link BeanTester}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(BatchConversionExtensions.class);
+	}
+}
@@ -0,0 +1,130 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapi69.file.search.PathFinder;
+
+/**
+ * Test class for {@link DiskOcrResultCache}
+ */
+class DiskOcrResultCacheTest
+{
+
+	private File cacheDir;
+
+	/**
+	 * Sets up test data before each test
+	 */
+	@BeforeEach
+	void setUp()
+	{
+		cacheDir = new File(PathFinder.getSrcTestResourcesDir(), "ocr-cache");
+	}
+
+	/**
+	 * cleans up after each test
+	 */
+	@AfterEach
+	void tearDown() throws IOException
+	{
+		DeleteFileExtensions.delete(cacheDir);
+	}
+
+	/**
+	 * Tests the methods {@link DiskOcrResultCache#get(String)} and
+	 * {@link DiskOcrResultCache#put(String, String)} with the hit and miss counters
+	 */
+	@Test
+	void testGetAndPut() throws IOException
+	{
+		DiskOcrResultCache cache = new DiskOcrResultCache(cacheDir);
+		assertEquals(DiskOcrResultCache.DEFAULT_MAX_BYTES, cache.getMaxBytes());
+		assertEquals(cacheDir, cache.getDirectory());
+		assertNull(cache.get("a"));
+		cache.put("a", "Übung");
+		assertEquals("Übung", cache.get("a"));
+		assertTrue(new File(cacheDir, "a.txt").exists());
+		assertEquals("Übung".getBytes(StandardCharsets.UTF_8).length, cache.getSizeInBytes());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	/**
+	 * Tests that the least recently used entries and their files are evicted if the byte budget
+	 * is exceeded
+	 */
+	@Test
+	void testEvictLeastRecentlyUsed() throws IOException
+	{
+		DiskOcrResultCache cache = new DiskOcrResultCache(cacheDir, 20);
+		cache.put("a", "0123456789");
+		cache.put("b", "0123456789");
+		assertNotNull(cache.get("a"));
+		cache.put("c", "0123456789");
+		assertNotNull(cache.get("a"));
+		assertNull(cache.get("b"));
+		assertFalse(new File(cacheDir, "b.txt").exists());
+		assertNotNull(cache.get("c"));
+		assertEquals(2, cache.size());
+		assertEquals(20, cache.getSizeInBytes());
+	}
+
+	/**
+	 * Tests that the cache files are found again by a new cache on the same directory
+	 */
+	@Test
+	void testRestart() throws IOException
+	{
+		new DiskOcrResultCache(cacheDir).put("a", "first page");
+		DiskOcrResultCache cache = new DiskOcrResultCache(cacheDir);
+		assertEquals(1, cache.size());
+		assertEquals("first page", cache.get("a"));
+		// a smaller byte budget evicts the existing cache files on startup
+		assertEquals(0, new DiskOcrResultCache(cacheDir, 5).size());
+		assertFalse(new File(cacheDir, "a.txt").exists());
+	}
+
+	/**
+	 * Tests that keys that are no valid file names are rejected
+	 */
+	@Test
+	void testInvalidKey() throws IOException
+	{
+		DiskOcrResultCache cache = new DiskOcrResultCache(cacheDir);
+		assertThrows(IllegalArgumentException.class, () -> cache.put("../a", "text"));
+		assertThrows(IllegalArgumentException.class, () -> new DiskOcrResultCache(cacheDir, 0));
+	}
+}
@@ -0,0 +1,88 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link MemoryOcrResultCache}
+ */
+class MemoryOcrResultCacheTest
+{
+
+	/**
+	 * Tests the methods {@link MemoryOcrResultCache#get(String)} and
+	 * {@link MemoryOcrResultCache#put(String, String)} with the hit and miss counters
+	 */
+	@Test
+	void testGetAndPut()
+	{
+		MemoryOcrResultCache cache = new MemoryOcrResultCache();
+		assertEquals(MemoryOcrResultCache.DEFAULT_MAX_BYTES, cache.getMaxBytes());
+		assertNull(cache.get("a"));
+		cache.put("a", "first page");
+		assertEquals("first page", cache.get("a"));
+		cache.put("a", "second page");
+		assertEquals("second page", cache.get("a"));
+		assertEquals(1, cache.size());
+		assertEquals(MemoryOcrResultCache.getEntrySize("a", "second page"),
+			cache.getSizeInBytes());
+		assertEquals(2, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	/**
+	 * Tests that the least recently used entries are evicted if the byte budget is exceeded
+	 */
+	@Test
+	void testEvictLeastRecentlyUsed()
+	{
+		long entrySize = MemoryOcrResultCache.getEntrySize("a", "0123456789");
+		MemoryOcrResultCache cache = new MemoryOcrResultCache(2 * entrySize);
+		cache.put("a", "0123456789");
+		cache.put("b", "0123456789");
+		assertNotNull(cache.get("a"));
+		cache.put("c", "0123456789");
+		assertNotNull(cache.get("a"));
+		assertNull(cache.get("b"));
+		assertNotNull(cache.get("c"));
+		assertEquals(2 * entrySize, cache.getSizeInBytes());
+		// an entry that is larger than the byte budget is not cached
+		cache.put("d", "0123456789".repeat(3));
+		assertNull(cache.get("d"));
+		assertEquals(2, cache.size());
+	}
+
+	/**
+	 * Tests that an invalid byte budget is rejected
+	 */
+	@Test
+	void testInvalidMaxBytes()
+	{
+		assertThrows(IllegalArgumentException.class, () -> new MemoryOcrResultCache(0));
+	}
+}
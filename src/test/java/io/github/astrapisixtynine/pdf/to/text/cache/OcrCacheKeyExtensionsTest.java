@@ -0,0 +1,128 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapisixtynine.pdf.to.text.info.OcrOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.OcrProfile;
+import io.github.astrapisixtynine.pdf.to.text.tess4j.TesseractKey;
+
+/**
+ * Test class for {@link OcrCacheKeyExtensions}
+ */
+class OcrCacheKeyExtensionsTest
+{
+
+	/**
+	 * Tests the method {@link OcrCacheKeyExtensions#newKey(File, String)}
+	 */
+	@Test
+	void testNewKeyOfImageFile() throws IOException
+	{
+		File imageFile = new File("src/test/resources/test-result/sample-image-1.png");
+		String key = OcrCacheKeyExtensions.newKey(imageFile, "deu");
+		assertEquals(64, key.length());
+		assertEquals(key,
+			OcrCacheKeyExtensions.newKey(Files.readAllBytes(imageFile.toPath()), "deu"));
+		assertNotEquals(key, OcrCacheKeyExtensions.newKey(imageFile, "eng"));
+		assertNotEquals(key, OcrCacheKeyExtensions.newKey(
+			new File("src/test/resources/test-result/sample-image-2.png"), "deu"));
+	}
+
+	/**
+	 * Tests the method {@link OcrCacheKeyExtensions#newKey(BufferedImage, String)}
+	 */
+	@Test
+	void testNewKeyOfImage()
+	{
+		BufferedImage image = new BufferedImage(10, 20, BufferedImage.TYPE_INT_RGB);
+		BufferedImage sameImage = new BufferedImage(10, 20, BufferedImage.TYPE_INT_RGB);
+		String key = OcrCacheKeyExtensions.newKey(image, "deu");
+		assertEquals(key, OcrCacheKeyExtensions.newKey(sameImage, "deu"));
+		sameImage.setRGB(5, 5, 0xFFFFFF);
+		assertNotEquals(key, OcrCacheKeyExtensions.newKey(sameImage, "deu"));
+		assertNotEquals(key, OcrCacheKeyExtensions
+			.newKey(new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB), "deu"));
+	}
+
+	/**
+	 * Tests the methods {@link OcrCacheKeyExtensions#getSettings(TesseractKey)} and
+	 * {@link OcrCacheKeyExtensions#getSettings(String)}
+	 */
+	@Test
+	void testGetSettings()
+	{
+		TesseractKey tesseractKey = TesseractKey.of(null, "deu");
+		assertEquals(OcrCacheKeyExtensions.getSettings(tesseractKey),
+			OcrCacheKeyExtensions.getSettings(TesseractKey.of(null, "deu")));
+		assertNotEquals(OcrCacheKeyExtensions.getSettings(tesseractKey),
+			OcrCacheKeyExtensions.getSettings(tesseractKey.toBuilder().pageSegMode(6).build()));
+		assertNotEquals(OcrCacheKeyExtensions.getSettings(tesseractKey),
+			OcrCacheKeyExtensions.getSettings(
+				tesseractKey.toBuilder().variables(Map.of("user_defined_dpi", "300")).build()));
+		assertNotEquals(OcrCacheKeyExtensions.getSettings(tesseractKey),
+			OcrCacheKeyExtensions.getSettings("deu"));
+	}
+
+	/**
+	 * Tests the method {@link OcrCacheKeyExtensions#getSettings(String, OcrOptions)}
+	 */
+	@Test
+	void testGetSettingsWithOcrOptions()
+	{
+		assertEquals(OcrCacheKeyExtensions.getSettings("deu"),
+			OcrCacheKeyExtensions.getSettings("deu", null));
+		assertEquals(OcrCacheKeyExtensions.getSettings("deu", OcrProfile.FAST.getOcrOptions()),
+			OcrCacheKeyExtensions.getSettings("deu", OcrProfile.FAST.getOcrOptions()));
+		assertNotEquals(OcrCacheKeyExtensions.getSettings("deu"),
+			OcrCacheKeyExtensions.getSettings("deu", OcrProfile.FAST.getOcrOptions()));
+		assertNotEquals(OcrCacheKeyExtensions.getSettings("deu", OcrProfile.FAST.getOcrOptions()),
+			OcrCacheKeyExtensions.getSettings("deu", OcrProfile.BALANCED.getOcrOptions()));
+		assertNotEquals(
+			OcrCacheKeyExtensions.getSettings("deu", OcrProfile.ACCURATE.getOcrOptions()),
+			OcrCacheKeyExtensions.getSettings("deu", OcrProfile.ACCURATE.getOcrOptions()
+				.toBuilder().tessdataDir("/usr/share/tessdata_best").build()));
+	}
+
+	/**
+	 * Test method for {@link OcrCacheKeyExtensions} with {@link BeanTester}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(OcrCacheKeyExtensions.class);
+	}
+}
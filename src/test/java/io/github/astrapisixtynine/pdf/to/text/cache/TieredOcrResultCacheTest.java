@@ -0,0 +1,78 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapi69.file.search.PathFinder;
+
+/**
+ * Test class for {@link TieredOcrResultCache}
+ */
+class TieredOcrResultCacheTest
+{
+
+	/**
+	 * Tests that a hit of the disk tier is promoted to the memory tier
+	 */
+	@Test
+	void testPromoteFromDiskTier() throws IOException
+	{
+		File cacheDir = new File(PathFinder.getSrcTestResourcesDir(), "ocr-cache");
+		try
+		{
+			MemoryOcrResultCache memoryTier = new MemoryOcrResultCache();
+			DiskOcrResultCache diskTier = new DiskOcrResultCache(cacheDir);
+			diskTier.put("a", "first page");
+			TieredOcrResultCache cache = new TieredOcrResultCache(memoryTier, diskTier);
+			assertSame(memoryTier, cache.getMemoryTier());
+			assertSame(diskTier, cache.getDiskTier());
+
+			assertEquals("first page", cache.get("a"));
+			assertEquals(1, memoryTier.size());
+			assertEquals("first page", cache.get("a"));
+			assertNull(cache.get("b"));
+			assertEquals(2, cache.getHitCount());
+			assertEquals(1, cache.getMissCount());
+			// the second lookup of a is served from the memory tier
+			assertEquals(1, diskTier.getHitCount());
+			assertEquals(1, diskTier.getMissCount());
+
+			cache.put("b", "second page");
+			assertEquals("second page", memoryTier.get("b"));
+			assertEquals("second page", diskTier.get("b"));
+		}
+		finally
+		{
+			DeleteFileExtensions.delete(cacheDir);
+		}
+	}
+}
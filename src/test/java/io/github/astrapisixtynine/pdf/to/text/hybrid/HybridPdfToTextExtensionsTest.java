@@ -0,0 +1,143 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.hybrid;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.file.create.DirectoryFactory;
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapi69.file.search.PathFinder;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionMetrics;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionMode;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionResult;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSource;
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * Test class for {@link HybridPdfToTextExtensions}
+ */
+class HybridPdfToTextExtensionsTest
+{
+
+	private File outputDir;
+
+	/**
+	 * Sets up test data before each test
+	 */
+	@BeforeEach
+	void setUp()
+	{
+		outputDir = DirectoryFactory.newDirectory(PathFinder.getSrcTestResourcesDir(), "output");
+	}
+
+	/**
+	 * cleans up after each test
+	 */
+	@AfterEach
+	void tearDown() throws IOException
+	{
+		if (outputDir != null)
+		{
+			DeleteFileExtensions.delete(outputDir);
+		}
+	}
+
+	/**
+	 * Parameterized test for {@link HybridPdfToTextExtensions#hasUsableTextLayer(String, int)}
+	 *
+	 * @param text
+	 *            the text of the text layer
+	 * @param minCharacters
+	 *            the minimum number of letters and digits
+	 * @param expected
+	 *            the expected result
+	 */
+	@ParameterizedTest
+	@CsvSource({ "'Hello World',10,true", "'Hello World',11,false", "' . , ; - ',1,false",
+		"'abc123',6,true", "'',1,false" })
+	void testHasUsableTextLayer(String text, int minCharacters, boolean expected)
+	{
+		assertEquals(expected, HybridPdfToTextExtensions.hasUsableTextLayer(text, minCharacters));
+	}
+
+	/**
+	 * Tests the method {@link HybridPdfToTextExtensions#hasUsableTextLayer(String, int)} with null
+	 */
+	@Test
+	void testHasUsableTextLayerWithNull()
+	{
+		assertFalse(HybridPdfToTextExtensions.hasUsableTextLayer(null, 1));
+	}
+
+	/**
+	 * Tests the method
+	 * {@link HybridPdfToTextExtensions#convertPdfToTextfile(File, File, String, String)}
+	 */
+	@Test
+	@Disabled("""
+		only for local use:
+		if tesseract is installed
+		""")
+	void testConvertPdfToTextfile() throws IOException, TesseractException
+	{
+		File pdfFile = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(),
+			"program-image.pdf");
+
+		ConversionResult result = HybridPdfToTextExtensions.convertPdfToTextfile(pdfFile,
+			outputDir, "/usr/share/tessdata", "deu");
+
+		assertNotNull(result);
+		assertEquals(result.getTextFiles().size(), result.getPageSources().size());
+		long ocrPages = result.getPageSources().values().stream()
+			.filter(PageSource.OCR::equals).count();
+		assertEquals(ocrPages, result.getImageFiles().size());
+		assertTrue(result.getResultTextFile().exists());
+		ConversionMetrics metrics = result.getMetrics();
+		assertEquals(ConversionMode.HYBRID, metrics.getConversionMode());
+		assertEquals(result.getPageSources().size(), metrics.getPageMetrics().size());
+		assertTrue(metrics.getBytesWritten() > 0);
+	}
+
+	/**
+	 * Test method for {@link HybridPdfToTextExtensions} with {@link BeanTester}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(HybridPdfToTextExtensions.class);
+	}
+}
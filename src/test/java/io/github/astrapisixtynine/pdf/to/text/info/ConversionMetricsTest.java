@@ -0,0 +1,51 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanVerifier;
+
+/**
+ * Test class for {@link ConversionMetrics}
+ */
+class ConversionMetricsTest
+{
+
+	/**
+	 * Test method for {@link ConversionMetrics} with {@link BeanVerifier}
+	 */
+	@Test
+	@DisplayName("Test ConversionMetrics with BeanVerifier")
+	public void testWithBeanVerifier()
+	{
+		ConversionMetrics.ConversionMetricsBuilder builder = ConversionMetrics.builder();
+		BeanVerifier.forClass(ConversionMetrics.class).editSettings()
+			.registerFactory(ConversionMetrics.class, builder::build)
+			.registerFactory(Duration.class, () -> Duration.ofSeconds(42)).edited().verify();
+	}
+}
@@ -0,0 +1,105 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanVerifier;
+
+import io.github.astrapisixtynine.pdf.to.text.cache.MemoryOcrResultCache;
+import io.github.astrapisixtynine.pdf.to.text.cache.OcrResultCache;
+import io.github.astrapisixtynine.pdf.to.text.metrics.ConversionMetricsListener;
+import io.github.astrapisixtynine.pdf.to.text.preprocess.ImagePreprocessor;
+
+/**
+ * Test class for {@link ConversionOptions}
+ */
+class ConversionOptionsTest
+{
+
+	/**
+	 * Test the default values of {@link ConversionOptions}
+	 */
+	@Test
+	@DisplayName("Test default values of ConversionOptions")
+	public void testDefaults()
+	{
+		ConversionOptions options = ConversionOptions.builder().build();
+		assertTrue(options.isWriteImageFiles());
+		assertEquals(1, options.getOcrThreads());
+		assertTrue(options.isWritePageTextFiles());
+		assertNull(options.getOcrTimeout());
+		assertEquals(2, options.getQueueCapacity());
+		assertEquals(RenderOptions.builder().build(), options.getRenderOptions());
+		assertEquals(PageSelection.all(), options.getPageSelection());
+		assertEquals(LoadOptions.builder().build(), options.getLoadOptions());
+		assertNull(options.getOcrResultCache());
+		assertFalse(options.isResume());
+		assertNull(options.getMetricsListener());
+		assertNull(options.getImagePreprocessor());
+		assertNull(options.getBlankPageOptions());
+		assertNull(options.getTileOptions());
+		assertNull(options.getDeadline());
+		assertNull(options.getOcrOptions());
+		assertNull(options.getCpuPermits());
+		assertFalse(options.toBuilder().writeImageFiles(false).build().isWriteImageFiles());
+	}
+
+	/**
+	 * Test method for {@link ConversionOptions} with {@link BeanVerifier}
+	 */
+	@Test
+	@DisplayName("Test ConversionOptions with BeanVerifier")
+	public void testWithBeanVerifier()
+	{
+		ConversionOptions.ConversionOptionsBuilder builder = ConversionOptions.builder();
+		BeanVerifier.forClass(ConversionOptions.class).editSettings()
+			.registerFactory(ConversionOptions.class, builder::build)
+			.registerFactory(Duration.class, () -> Duration.ofSeconds(42))
+			.registerFactory(RenderOptions.class, () -> RenderOptions.builder().dpi(150).build())
+			.registerFactory(PageSelection.class, () -> PageSelection.range(1, 3))
+			.registerFactory(LoadOptions.class,
+				() -> LoadOptions.builder().strategy(PdfLoadStrategy.TEMP_FILE).build())
+			.registerFactory(OcrResultCache.class, MemoryOcrResultCache::new)
+			.registerFactory(ConversionMetricsListener.class, () -> new ConversionMetricsListener()
+			{
+			})
+			.registerFactory(ImagePreprocessor.class, ImagePreprocessor::binarize)
+			.registerFactory(BlankPageOptions.class,
+				() -> BlankPageOptions.builder().maxInkRatio(0.01).build())
+			.registerFactory(TileOptions.class, () -> TileOptions.builder().overlap(50).build())
+			.registerFactory(OcrOptions.class, OcrProfile.FAST::getOcrOptions)
+			.registerFactory(Semaphore.class, () -> new Semaphore(2))
+			.edited().verify();
+	}
+}
@@ -49,6 +49,9 @@ class ConversionResultTest
 			.textFiles(new ArrayList<>()).resultTextFile(new File(".")).build();
 		ConversionResult.ConversionResultBuilder builder = conversionResult.toBuilder();
 		BeanVerifier.forClass(ConversionResult.class).editSettings()
-			.registerFactory(ConversionResult.class, builder::build).edited().verify();
+			.registerFactory(ConversionResult.class, builder::build)
+			.registerFactory(ConversionMetrics.class,
+				() -> ConversionMetrics.builder().conversionMode(ConversionMode.OCR).build())
+			.edited().verify();
 	}
 }
\ No newline at end of file
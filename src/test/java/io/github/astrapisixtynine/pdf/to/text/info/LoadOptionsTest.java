@@ -0,0 +1,67 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanVerifier;
+
+/**
+ * Test class for {@link LoadOptions}
+ */
+class LoadOptionsTest
+{
+
+	/**
+	 * Test the default values of {@link LoadOptions}
+	 */
+	@Test
+	@DisplayName("Test default values of LoadOptions")
+	public void testDefaults()
+	{
+		LoadOptions options = LoadOptions.builder().build();
+		assertEquals(PdfLoadStrategy.HEAP, options.getStrategy());
+		assertEquals(LoadOptions.DEFAULT_MAX_MAIN_MEMORY_BYTES, options.getMaxMainMemoryBytes());
+		assertNull(options.getTempDirectory());
+	}
+
+	/**
+	 * Test method for {@link LoadOptions} with {@link BeanVerifier}
+	 */
+	@Test
+	@DisplayName("Test LoadOptions with BeanVerifier")
+	public void testWithBeanVerifier()
+	{
+		LoadOptions.LoadOptionsBuilder builder = LoadOptions.builder();
+		BeanVerifier.forClass(LoadOptions.class).editSettings()
+			.registerFactory(LoadOptions.class, builder::build)
+			.registerFactory(File.class, () -> new File("tmp")).edited().verify();
+	}
+}
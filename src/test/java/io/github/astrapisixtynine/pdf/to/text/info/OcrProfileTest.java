@@ -0,0 +1,66 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link OcrProfile}
+ */
+class OcrProfileTest
+{
+
+	/**
+	 * Test for {@link OcrProfile#getOcrOptions()}
+	 */
+	@Test
+	@DisplayName("Test getOcrOptions method for all enum values")
+	void testGetOcrOptions()
+	{
+		OcrOptions fast = OcrProfile.FAST.getOcrOptions();
+		assertEquals(1, fast.getOcrEngineMode());
+		assertEquals(6, fast.getPageSegMode());
+		assertEquals(Map.of("tessedit_do_invert", "0"), fast.getVariables());
+		OcrOptions balanced = OcrProfile.BALANCED.getOcrOptions();
+		assertEquals(1, balanced.getOcrEngineMode());
+		assertEquals(3, balanced.getPageSegMode());
+		assertEquals(Map.of("tessedit_do_invert", "0"), balanced.getVariables());
+		OcrOptions accurate = OcrProfile.ACCURATE.getOcrOptions();
+		assertEquals(1, accurate.getOcrEngineMode());
+		assertEquals(3, accurate.getPageSegMode());
+		assertTrue(accurate.getVariables().isEmpty());
+		for (OcrProfile ocrProfile : OcrProfile.values())
+		{
+			assertNull(ocrProfile.getOcrOptions().getTessdataDir());
+			// every call returns new options that can be changed independently
+			assertNotSame(ocrProfile.getOcrOptions(), ocrProfile.getOcrOptions());
+		}
+	}
+}
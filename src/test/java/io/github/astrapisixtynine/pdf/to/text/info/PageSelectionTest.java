@@ -0,0 +1,92 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link PageSelection}
+ */
+class PageSelectionTest
+{
+
+	/**
+	 * Test the method {@link PageSelection#all()}
+	 */
+	@Test
+	@DisplayName("Test all pages are selected")
+	public void testAll()
+	{
+		assertEquals(List.of(0, 1, 2), PageSelection.all().resolve(3));
+		assertEquals(List.of(), PageSelection.all().resolve(0));
+	}
+
+	/**
+	 * Test the method {@link PageSelection#range(int, int)}
+	 */
+	@Test
+	@DisplayName("Test a range of pages is selected and clamped to the document")
+	public void testRange()
+	{
+		assertEquals(List.of(0, 1, 2), PageSelection.range(1, 3).resolve(300));
+		assertEquals(List.of(1, 2), PageSelection.range(2, 10).resolve(3));
+		assertEquals(List.of(), PageSelection.range(5, 10).resolve(3));
+		assertThrows(IllegalArgumentException.class, () -> PageSelection.range(0, 3));
+		assertThrows(IllegalArgumentException.class, () -> PageSelection.range(3, 2));
+	}
+
+	/**
+	 * Test the method {@link PageSelection#of(int...)}
+	 */
+	@Test
+	@DisplayName("Test a set of pages is selected in ascending order")
+	public void testOf()
+	{
+		assertEquals(List.of(0, 4, 9), PageSelection.of(10, 1, 5, 5).resolve(300));
+		assertEquals(List.of(0, 4), PageSelection.of(10, 1, 5).resolve(5));
+		assertEquals(PageSelection.of(1, 5), PageSelection.of(List.of(5, 1)));
+		assertThrows(IllegalArgumentException.class, () -> PageSelection.of());
+		assertThrows(IllegalArgumentException.class, () -> PageSelection.of(0, 1));
+	}
+
+	/**
+	 * Test the method {@link PageSelection#getPageNumbers(java.util.Collection)}
+	 */
+	@Test
+	@DisplayName("Test zero based page indexes are converted to sorted page numbers")
+	public void testGetPageNumbers()
+	{
+		assertEquals(List.of(1, 3, 10), PageSelection.getPageNumbers(Set.of(9, 0, 2)));
+		assertTrue(PageSelection.getPageNumbers(Set.of()).isEmpty());
+	}
+}
@@ -0,0 +1,68 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanVerifier;
+
+/**
+ * Test class for {@link ProcessOcrResult}
+ */
+class ProcessOcrResultTest
+{
+
+	/**
+	 * Test method for {@link ProcessOcrResult#isSuccessful()}
+	 */
+	@Test
+	@DisplayName("Test isSuccessful of ProcessOcrResult")
+	public void testIsSuccessful()
+	{
+		ProcessOcrResult result = ProcessOcrResult.builder().page(0).exitCode(0).build();
+		assertTrue(result.isSuccessful());
+		assertFalse(result.toBuilder().exitCode(1).build().isSuccessful());
+		assertFalse(result.toBuilder().exitCode(-1).timedOut(true).build().isSuccessful());
+	}
+
+	/**
+	 * Test method for {@link ProcessOcrResult} with {@link BeanVerifier}
+	 */
+	@Test
+	@DisplayName("Test ProcessOcrResult with BeanVerifier")
+	public void testWithBeanVerifier()
+	{
+		ProcessOcrResult processOcrResult = ProcessOcrResult.builder().page(1)
+			.imageFile(new File(".")).textFile(new File(".")).exitCode(0).output("").build();
+		ProcessOcrResult.ProcessOcrResultBuilder builder = processOcrResult.toBuilder();
+		BeanVerifier.forClass(ProcessOcrResult.class).editSettings()
+			.registerFactory(ProcessOcrResult.class, builder::build).edited().verify();
+	}
+}
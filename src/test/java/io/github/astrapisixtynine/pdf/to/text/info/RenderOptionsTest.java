@@ -0,0 +1,80 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.apache.pdfbox.rendering.ImageType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanVerifier;
+
+/**
+ * Test class for {@link RenderOptions}
+ */
+class RenderOptionsTest
+{
+
+	/**
+	 * Test the default values of {@link RenderOptions}
+	 */
+	@Test
+	@DisplayName("Test default values of RenderOptions")
+	public void testDefaults()
+	{
+		RenderOptions options = RenderOptions.builder().build();
+		assertEquals(300, options.getDpi());
+		assertEquals(ImageType.RGB, options.getImageType());
+		assertFalse(options.isSubsamplingAllowed());
+		assertEquals("png", options.getImageFileFormatName());
+		assertEquals(".png", options.getImageFileExtension());
+	}
+
+	/**
+	 * Test the method {@link RenderOptions#getImageFileExtension()}
+	 */
+	@Test
+	@DisplayName("Test the image file extension matches the image file format name")
+	public void testGetImageFileExtension()
+	{
+		assertEquals(".tiff",
+			RenderOptions.builder().imageFileFormatName("TIFF").build().getImageFileExtension());
+		assertEquals(".bmp",
+			RenderOptions.builder().imageFileFormatName("bmp").build().getImageFileExtension());
+	}
+
+	/**
+	 * Test method for {@link RenderOptions} with {@link BeanVerifier}
+	 */
+	@Test
+	@DisplayName("Test RenderOptions with BeanVerifier")
+	public void testWithBeanVerifier()
+	{
+		RenderOptions.RenderOptionsBuilder builder = RenderOptions.builder();
+		BeanVerifier.forClass(RenderOptions.class).editSettings()
+			.registerFactory(RenderOptions.class, builder::build).edited().verify();
+	}
+}
@@ -0,0 +1,79 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.info;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanVerifier;
+
+/**
+ * Test class for {@link TileOptions}
+ */
+class TileOptionsTest
+{
+
+	/**
+	 * Test the default values of {@link TileOptions}
+	 */
+	@Test
+	@DisplayName("Test default values of TileOptions")
+	public void testDefaults()
+	{
+		TileOptions tileOptions = TileOptions.builder().build();
+		assertEquals(20_000_000L, tileOptions.getMinPixels());
+		assertEquals(2000, tileOptions.getTileHeight());
+		assertEquals(100, tileOptions.getOverlap());
+		assertEquals(Runtime.getRuntime().availableProcessors(), tileOptions.getParallelism());
+	}
+
+	/**
+	 * Test that the parallelism is not part of the string representation of {@link TileOptions}
+	 */
+	@Test
+	@DisplayName("Test toString of TileOptions without parallelism")
+	public void testToString()
+	{
+		TileOptions tileOptions = TileOptions.builder().parallelism(1).build();
+		assertEquals(tileOptions.toString(),
+			tileOptions.toBuilder().parallelism(64).build().toString());
+		assertNotEquals(tileOptions.toString(),
+			tileOptions.toBuilder().tileHeight(1000).build().toString());
+	}
+
+	/**
+	 * Test method for {@link TileOptions} with {@link BeanVerifier}
+	 */
+	@Test
+	@DisplayName("Test TileOptions with BeanVerifier")
+	public void testWithBeanVerifier()
+	{
+		TileOptions.TileOptionsBuilder builder = TileOptions.builder();
+		BeanVerifier.forClass(TileOptions.class).editSettings()
+			.registerFactory(TileOptions.class, builder::build).edited().verify();
+	}
+}
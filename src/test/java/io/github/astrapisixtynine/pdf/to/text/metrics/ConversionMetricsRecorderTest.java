@@ -0,0 +1,128 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionMetrics;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionMode;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionStage;
+import io.github.astrapisixtynine.pdf.to.text.info.OcrEngine;
+import io.github.astrapisixtynine.pdf.to.text.info.PageMetrics;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSource;
+
+/**
+ * Test class for {@link ConversionMetricsRecorder}
+ */
+class ConversionMetricsRecorderTest
+{
+
+	/**
+	 * Tests that the stages and the written bytes of the pages are summed up and that the listener
+	 * is notified for every finished page and for the finished conversion
+	 */
+	@Test
+	void testRecord()
+	{
+		List<PageMetrics> finishedPages = new ArrayList<>();
+		List<ConversionMetrics> finishedConversions = new ArrayList<>();
+		ConversionMetricsListener listener = new ConversionMetricsListener()
+		{
+			@Override
+			public void onPageFinished(PageMetrics pageMetrics)
+			{
+				finishedPages.add(pageMetrics);
+			}
+
+			@Override
+			public void onConversionFinished(ConversionMetrics conversionMetrics)
+			{
+				finishedConversions.add(conversionMetrics);
+			}
+		};
+		ConversionMetricsRecorder recorder = new ConversionMetricsRecorder(ConversionMode.HYBRID,
+			OcrEngine.TESS4J, listener);
+		recorder.recordLoad(Duration.ofMillis(5));
+		for (int page = 0; page < 2; ++page)
+		{
+			recorder.record(page, ConversionStage.RENDER, System.nanoTime());
+			recorder.record(page, ConversionStage.OCR, System.nanoTime());
+			recorder.recordBytesWritten(page, 100);
+			recorder.recordPageSource(page, PageSource.OCR);
+		}
+		recorder.record(1, ConversionStage.WRITE, System.nanoTime());
+		recorder.recordBytesWritten(1, 10);
+
+		PageMetrics first = recorder.finishPage(0);
+		assertEquals(1, first.getPageNumber());
+		assertEquals(PageSource.OCR, first.getPageSource());
+		assertEquals(100, first.getBytesWritten());
+		assertTrue(first.getStageDurations().containsKey(ConversionStage.RENDER));
+		assertFalse(first.getStageDurations().containsKey(ConversionStage.WRITE));
+		PageMetrics second = recorder.finishPage(1);
+		assertEquals(2, second.getPageNumber());
+		assertEquals(110, second.getBytesWritten());
+		assertEquals(List.of(first, second), finishedPages);
+
+		ConversionMetrics metrics = recorder.finish();
+		assertEquals(List.of(metrics), finishedConversions);
+		assertSame(ConversionMode.HYBRID, metrics.getConversionMode());
+		assertSame(OcrEngine.TESS4J, metrics.getOcrEngine());
+		assertEquals(210, metrics.getBytesWritten());
+		assertEquals(List.of(first, second), metrics.getPageMetrics());
+		assertEquals(Duration.ofMillis(5),
+			metrics.getStageDurations().get(ConversionStage.LOAD));
+		assertEquals(
+			first.getStageDurations().get(ConversionStage.OCR)
+				.plus(second.getStageDurations().get(ConversionStage.OCR)),
+			metrics.getStageDurations().get(ConversionStage.OCR));
+		assertTrue(metrics.getTotalDuration().compareTo(Duration.ofMillis(5)) >= 0);
+	}
+
+	/**
+	 * Tests that the metrics are recorded without a listener
+	 */
+	@Test
+	void testRecordWithoutListener()
+	{
+		ConversionMetricsRecorder recorder = new ConversionMetricsRecorder(ConversionMode.OCR,
+			OcrEngine.TESSERACT_PROCESS, null);
+		recorder.record(0, ConversionStage.ENCODE, System.nanoTime());
+		recorder.finishPage(0);
+		ConversionMetrics metrics = recorder.finish();
+		assertEquals(1, metrics.getPageMetrics().size());
+		assertEquals(0, metrics.getBytesWritten());
+		assertFalse(metrics.getStageDurations().containsKey(ConversionStage.LOAD));
+	}
+}
@@ -0,0 +1,177 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.pdfbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.rendering.ImageType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import io.github.astrapi69.file.create.DirectoryFactory;
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapi69.file.search.PathFinder;
+import io.github.astrapisixtynine.pdf.to.text.info.LoadOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.PdfLoadStrategy;
+import io.github.astrapisixtynine.pdf.to.text.info.RenderOptions;
+
+/**
+ * Test class for {@link PdfDocumentSession}
+ */
+class PdfDocumentSessionTest
+{
+
+	/**
+	 * Tests that the page count, the text extraction, the rendering and the metadata are served
+	 * from one loaded document
+	 */
+	@Test
+	void testSession() throws IOException
+	{
+		File pdfFile = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(),
+			"program-image.pdf");
+		try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile))
+		{
+			assertEquals(pdfFile, session.getPdfFile());
+			assertEquals("program-image", session.getFileName());
+			assertEquals(3, session.getNumberOfPages());
+			assertNotNull(session.getDocumentInformation());
+			assertTrue(session.getVersion() > 1);
+			assertFalse(session.getLoadDuration().isNegative());
+
+			StringBuilder pageTexts = new StringBuilder();
+			for (int page = 0; page < session.getNumberOfPages(); ++page)
+			{
+				pageTexts.append(session.getPageText(page));
+			}
+			StringWriter writer = new StringWriter();
+			session.writeText(writer, 1, session.getNumberOfPages());
+			assertEquals(writer.toString(), pageTexts.toString());
+
+			RenderOptions renderOptions = RenderOptions.builder().dpi(72)
+				.imageType(ImageType.GRAY).build();
+			BufferedImage image = session.renderImage(0, renderOptions);
+			assertEquals(BufferedImage.TYPE_BYTE_GRAY, image.getType());
+			BufferedImage doubleResolution = session.renderImage(0,
+				renderOptions.toBuilder().dpi(144).subsamplingAllowed(true).build());
+			assertEquals(image.getWidth() * 2, doubleResolution.getWidth(), 1);
+		}
+	}
+
+	/**
+	 * Tests that the text extraction waits for the lock of the session that is held by another
+	 * thread
+	 */
+	@Test
+	void testLock() throws Exception
+	{
+		File pdfFile = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(),
+			"program-image.pdf");
+		try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile))
+		{
+			String text;
+			Future<String> pageText;
+			session.getLock().lock();
+			try
+			{
+				// the lock is reentrant
+				text = session.getPageText(0);
+				pageText = Executors.newVirtualThreadPerTaskExecutor()
+					.submit(() -> session.getPageText(0));
+				assertThrows(TimeoutException.class,
+					() -> pageText.get(200, TimeUnit.MILLISECONDS));
+			}
+			finally
+			{
+				session.getLock().unlock();
+			}
+			assertEquals(text, pageText.get(10, TimeUnit.SECONDS));
+		}
+	}
+
+	/**
+	 * Tests the method {@link PdfDocumentSession#hasContents(int)}
+	 */
+	@Test
+	void testHasContents() throws IOException
+	{
+		File pdfFile = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(),
+			"program-image.pdf");
+		try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile))
+		{
+			assertTrue(session.hasContents(0));
+		}
+		File outputDir = DirectoryFactory.newDirectory(PathFinder.getSrcTestResourcesDir(),
+			"output");
+		File blankPdfFile = new File(outputDir, "blank.pdf");
+		try (PDDocument document = new PDDocument())
+		{
+			document.addPage(new PDPage());
+			document.save(blankPdfFile);
+		}
+		try (PdfDocumentSession session = PdfDocumentSession.open(blankPdfFile))
+		{
+			assertFalse(session.hasContents(0));
+		}
+		finally
+		{
+			DeleteFileExtensions.delete(outputDir);
+		}
+	}
+
+	/**
+	 * Tests that a PDF file is loaded with every load strategy
+	 */
+	@ParameterizedTest
+	@EnumSource(PdfLoadStrategy.class)
+	void testOpenWithLoadOptions(PdfLoadStrategy strategy) throws IOException
+	{
+		File pdfFile = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(),
+			"program-image.pdf");
+		String expected;
+		try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile))
+		{
+			expected = session.getPageText(1);
+		}
+		try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile,
+			LoadOptions.builder().strategy(strategy).maxMainMemoryBytes(1024).build()))
+		{
+			assertEquals(3, session.getNumberOfPages());
+			assertEquals(expected, session.getPageText(1));
+		}
+	}
+}
@@ -0,0 +1,183 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.pdfbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.encryption.AccessPermission;
+import org.apache.pdfbox.pdmodel.encryption.StandardProtectionPolicy;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.rendering.ImageType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import io.github.astrapi69.file.create.DirectoryFactory;
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapisixtynine.pdf.to.text.info.LoadOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSelection;
+import io.github.astrapisixtynine.pdf.to.text.info.PdfLoadStrategy;
+import io.github.astrapisixtynine.pdf.to.text.info.RenderOptions;
+
+/**
+ * Low memory test class for the load strategies of {@link PdfDocumentSession}. The tests generate
+ * an encrypted PDF file that is larger than the heap in the temporary build directory and run only
+ * with the opt-in gradle task lowMemoryTest that starts the test JVM with a small maximum heap
+ * size. The streams of an encrypted PDF file are decrypted into the stream cache of the load
+ * strategy as soon as they are read, so only the load strategies with a scratch file are tested
+ */
+@Tag("low-memory")
+class PdfToTextExtensionsLowMemoryTest
+{
+
+	private static final int PAGES = 100;
+
+	private static final int IMAGE_SIZE = 1000;
+
+	/**
+	 * The system property with the temporary directory of the build that receives the generated
+	 * PDF file, set by the gradle task lowMemoryTest
+	 */
+	private static final String TEMP_DIR_PROPERTY = "lowMemoryTest.tempDir";
+
+	private static File outputDir;
+
+	private static File pdfFile;
+
+	/**
+	 * Generates the large PDF file once for all tests
+	 */
+	@BeforeAll
+	static void setUpAll() throws IOException
+	{
+		outputDir = DirectoryFactory.newDirectory(
+			new File(System.getProperty(TEMP_DIR_PROPERTY, "build/tmp")), "low-memory");
+		pdfFile = new File(outputDir, "large.pdf");
+		generateLargePdf(pdfFile);
+	}
+
+	/**
+	 * Cleans up after all tests
+	 */
+	@AfterAll
+	static void tearDownAll() throws IOException
+	{
+		if (outputDir != null)
+		{
+			DeleteFileExtensions.delete(outputDir);
+		}
+	}
+
+	/**
+	 * Tests that the text of all pages of a PDF file that is larger than the heap is extracted
+	 * with the load strategies that use a scratch file
+	 */
+	@ParameterizedTest
+	@EnumSource(value = PdfLoadStrategy.class, names = { "MIXED", "TEMP_FILE" })
+	void testPdfToText(PdfLoadStrategy strategy) throws IOException
+	{
+		assertTrue(pdfFile.length() > Runtime.getRuntime().maxMemory());
+		File resultDir = DirectoryFactory.newDirectory(outputDir, strategy.name());
+		LoadOptions loadOptions = LoadOptions.builder().strategy(strategy)
+			.maxMainMemoryBytes(8L * 1024 * 1024).tempDirectory(outputDir).build();
+		File textFile = PdfToTextExtensions.pdfToText(pdfFile, resultDir, loadOptions);
+		String text = Files.readString(textFile.toPath());
+		assertTrue(text.contains("Page 1 of " + PAGES));
+		assertTrue(text.contains("Page " + PAGES + " of " + PAGES));
+	}
+
+	/**
+	 * Tests that pages of a PDF file that is larger than the heap are rendered with the load
+	 * strategies that use a scratch file
+	 */
+	@ParameterizedTest
+	@EnumSource(value = PdfLoadStrategy.class, names = { "MIXED", "TEMP_FILE" })
+	void testGetImageFiles(PdfLoadStrategy strategy) throws IOException
+	{
+		File resultDir = DirectoryFactory.newDirectory(outputDir, strategy.name() + "-images");
+		LoadOptions loadOptions = LoadOptions.builder().strategy(strategy)
+			.maxMainMemoryBytes(8L * 1024 * 1024).tempDirectory(outputDir).build();
+		List<File> imageFiles = PdfToTextExtensions.getImageFiles(pdfFile, resultDir,
+			RenderOptions.builder().dpi(72).imageType(ImageType.GRAY).build(),
+			PageSelection.of(1, PAGES / 2, PAGES), loadOptions);
+		assertEquals(3, imageFiles.size());
+		imageFiles.forEach(imageFile -> assertTrue(imageFile.exists()));
+	}
+
+	private static void generateLargePdf(File pdfFile) throws IOException
+	{
+		Random random = new Random(42);
+		BufferedImage noise = new BufferedImage(IMAGE_SIZE, IMAGE_SIZE,
+			BufferedImage.TYPE_BYTE_GRAY);
+		byte[] pixels = ((DataBufferByte)noise.getRaster().getDataBuffer()).getData();
+		try (PDDocument document = new PDDocument(IOUtils.createTempFileOnlyStreamCache()))
+		{
+			for (int page = 1; page <= PAGES; ++page)
+			{
+				// random pixels can not be compressed, so every page adds the full image size
+				random.nextBytes(pixels);
+				PDPage pdPage = new PDPage(PDRectangle.A4);
+				document.addPage(pdPage);
+				PDImageXObject image = LosslessFactory.createFromImage(document, noise);
+				try (PDPageContentStream contentStream = new PDPageContentStream(document,
+					pdPage))
+				{
+					contentStream.drawImage(image, 50, 200, 400, 400);
+					contentStream.beginText();
+					contentStream.setFont(
+						new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+					contentStream.newLineAtOffset(50, 700);
+					contentStream.showText("Page " + page + " of " + PAGES);
+					contentStream.endText();
+				}
+			}
+			// the empty user password lets the PDF file be opened without a password
+			StandardProtectionPolicy protectionPolicy = new StandardProtectionPolicy("owner", "",
+				new AccessPermission());
+			protectionPolicy.setEncryptionKeyLength(128);
+			document.protect(protectionPolicy);
+			document.save(pdfFile);
+		}
+	}
+}
@@ -26,21 +26,35 @@ package io.github.astrapisixtynine.pdf.to.text.pdfbox;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
 
+import javax.imageio.ImageIO;
+
+import org.apache.pdfbox.rendering.ImageType;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.meanbean.test.BeanTester;
 
 import io.github.astrapi69.file.create.DirectoryFactory;
 import io.github.astrapi69.file.create.FileFactory;
 import io.github.astrapi69.file.delete.DeleteFileExtensions;
 import io.github.astrapi69.file.search.PathFinder;
+import io.github.astrapisixtynine.pdf.to.text.info.BlankPageOptions;
 import io.github.astrapisixtynine.pdf.to.text.info.ConversionResult;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSelection;
+import io.github.astrapisixtynine.pdf.to.text.info.RenderOptions;
+import io.github.astrapisixtynine.pdf.to.text.process.TesseractProcessPool;
 
 /**
  * Test class for {@link PdfToTextExtensions}
@@ -95,6 +109,49 @@ class PdfToTextExtensionsTest
 		DeleteFileExtensions.delete(resultDir);
 	}
 
+	/**
+	 * Tests the method {@link PdfToTextExtensions#getImageFiles(File, File, RenderOptions)}
+	 */
+	@Test
+	void testGetImageFilesWithRenderOptions() throws IOException
+	{
+		File pdfFile = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(),
+			"program-image.pdf");
+		RenderOptions renderOptions = RenderOptions.builder().dpi(72)
+			.imageType(ImageType.BINARY).subsamplingAllowed(true).imageFileFormatName("bmp")
+			.build();
+		List<File> imageFiles = PdfToTextExtensions.getImageFiles(pdfFile, outputDir,
+			renderOptions);
+		assertEquals(3, imageFiles.size());
+		for (File imageFile : imageFiles)
+		{
+			assertTrue(imageFile.exists());
+			assertTrue(imageFile.getName().endsWith(".bmp"));
+			BufferedImage image = ImageIO.read(imageFile);
+			assertNotNull(image);
+			assertEquals(1, image.getColorModel().getPixelSize());
+		}
+	}
+
+	/**
+	 * Tests the method {@link PdfToTextExtensions#getImageFiles(File, File, PageSelection)}
+	 */
+	@Test
+	void testGetImageFilesWithPageSelection() throws IOException
+	{
+		File pdfFile = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(),
+			"program-image.pdf");
+		List<File> imageFiles = PdfToTextExtensions.getImageFiles(pdfFile, outputDir,
+			PageSelection.of(3, 1));
+		assertEquals(List.of(new File(outputDir, "program-imagepage_1.png"),
+			new File(outputDir, "program-imagepage_3.png")), imageFiles);
+		assertFalse(new File(outputDir, "program-imagepage_2.png").exists());
+
+		imageFiles = PdfToTextExtensions.getImageFiles(pdfFile, outputDir, 2, 10);
+		assertEquals(List.of(new File(outputDir, "program-imagepage_2.png"),
+			new File(outputDir, "program-imagepage_3.png")), imageFiles);
+	}
+
 	/**
 	 * Tests the method {@link PdfToTextExtensions#pdfToText(File, File)}
 	 */
@@ -106,6 +163,29 @@ class PdfToTextExtensionsTest
 		assertTrue(resultFile.exists());
 	}
 
+	/**
+	 * Tests that the method {@link PdfToTextExtensions#pdfToText(File, File, int)} writes the same
+	 * bytes as the sequential method {@link PdfToTextExtensions#pdfToText(File, File)}
+	 */
+	@ParameterizedTest
+	@ValueSource(ints = { 1, 2, 3, 8 })
+	void testPdfToTextParallel(int parallelism) throws IOException
+	{
+		for (String pdfFileName : List.of("sample.pdf", "program-image.pdf"))
+		{
+			File pdfFile = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(),
+				pdfFileName);
+			File sequentialFile = PdfToTextExtensions.pdfToText(pdfFile,
+				DirectoryFactory.newDirectory(outputDir, "sequential"));
+			File parallelFile = PdfToTextExtensions.pdfToText(pdfFile,
+				DirectoryFactory.newDirectory(outputDir, "parallel"), parallelism);
+			assertArrayEquals(Files.readAllBytes(sequentialFile.toPath()),
+				Files.readAllBytes(parallelFile.toPath()));
+		}
+		assertThrows(IllegalArgumentException.class,
+			() -> PdfToTextExtensions.pdfToText(pdfFile, outputDir, 0));
+	}
+
 	/**
 	 * Tests the method {@link PdfToTextExtensions#pdfToText(File, File)}
 	 */
@@ -196,6 +276,83 @@ class PdfToTextExtensionsTest
 		DeleteFileExtensions.delete(conversionResult.getTextFiles());
 	}
 
+	/**
+	 * Tests the method
+	 * {@link PdfToTextExtensions#getTextFiles(List, File, String, TesseractProcessPool, BlankPageOptions)}
+	 * with blank page images that are not handed to tesseract
+	 */
+	@Test
+	void testGetTextFilesSkipsBlankPages() throws IOException, InterruptedException
+	{
+		List<File> imageFiles = new ArrayList<>();
+		for (int page = 1; page <= 2; ++page)
+		{
+			BufferedImage image = new BufferedImage(200, 300, BufferedImage.TYPE_INT_RGB);
+			Graphics2D graphics = image.createGraphics();
+			graphics.setColor(Color.WHITE);
+			graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+			graphics.dispose();
+			File imageFile = new File(outputDir, "blank_" + page + ".png");
+			ImageIO.write(image, "png", imageFile);
+			imageFiles.add(imageFile);
+		}
+		try (TesseractProcessPool processPool = new TesseractProcessPool(1,
+			TesseractProcessPool.DEFAULT_TIMEOUT))
+		{
+			List<File> textFiles = PdfToTextExtensions.getTextFiles(imageFiles, outputDir, "deu",
+				processPool, BlankPageOptions.builder().build());
+			assertEquals(2, textFiles.size());
+			assertEquals(new File(outputDir, "blank_2.txt"), textFiles.get(1));
+			for (File textFile : textFiles)
+			{
+				assertEquals("", Files.readString(textFile.toPath()));
+			}
+		}
+	}
+
+	/**
+	 * Tests the method
+	 * {@link PdfToTextExtensions#deleteTextFiles(List, java.util.Collection, String, File)} with
+	 * the text file of a timed out page that was left by an earlier conversion
+	 */
+	@Test
+	void testDeleteTextFiles() throws IOException
+	{
+		List<File> textFiles = new ArrayList<>();
+		for (int page = 0; page < 3; ++page)
+		{
+			File textFile = new File(outputDir,
+				PdfToTextExtensions.getPageFileName("sample", page) + ".txt");
+			Files.writeString(textFile.toPath(), "page " + (page + 1));
+			textFiles.add(textFile);
+		}
+		PdfToTextExtensions.deleteTextFiles(textFiles, List.of(1), "sample", outputDir);
+		assertEquals(List.of(new File(outputDir, "samplepage_1.txt"),
+			new File(outputDir, "samplepage_3.txt")), textFiles);
+		assertFalse(new File(outputDir, "samplepage_2.txt").exists());
+		assertTrue(new File(outputDir, "samplepage_3.txt").exists());
+	}
+
+	/**
+	 * Tests the method {@link PdfToTextExtensions#writeImageFile(BufferedImage, File, String)}
+	 * with an image file format that has no image writer for the type of the image
+	 */
+	@Test
+	void testWriteImageFileWithoutImageWriter() throws IOException
+	{
+		BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB);
+		File pngFile = PdfToTextExtensions.writeImageFile(image,
+			new File(outputDir, "image.png"), "png");
+		assertTrue(pngFile.length() > 0);
+		File jpgFile = new File(outputDir, "image.jpg");
+		IOException exception = assertThrows(IOException.class,
+			() -> PdfToTextExtensions.writeImageFile(image, jpgFile, "jpg"));
+		assertTrue(exception.getMessage().contains("'jpg'"));
+		assertFalse(jpgFile.exists());
+		assertThrows(IOException.class, () -> PdfToTextExtensions.writeImageFile(image,
+			new File(outputDir, "image.unknown"), "unknown"));
+	}
+
 	/**
 	 * Test method for {@link PdfToTextExtensions} with {@link BeanTester}
 	 */
@@ -0,0 +1,187 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.create.DirectoryFactory;
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapi69.file.search.PathFinder;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSource;
+
+/**
+ * Test class for {@link ConversionCheckpoint}
+ */
+class ConversionCheckpointTest
+{
+
+	private File outputDir;
+
+	/**
+	 * Sets up test data before each test
+	 */
+	@BeforeEach
+	void setUp()
+	{
+		outputDir = DirectoryFactory.newDirectory(PathFinder.getSrcTestResourcesDir(), "output");
+	}
+
+	/**
+	 * cleans up after each test
+	 */
+	@AfterEach
+	void tearDown() throws IOException
+	{
+		DeleteFileExtensions.delete(outputDir);
+	}
+
+	/**
+	 * Tests that the finished pages are found again by a new checkpoint with the same fingerprint
+	 */
+	@Test
+	void testResume() throws IOException
+	{
+		ConversionCheckpoint checkpoint = ConversionCheckpoint.open(outputDir, "sample", "first");
+		assertEquals(new File(outputDir, "sample.manifest"), checkpoint.getManifestFile());
+		assertEquals(new File(outputDir, "sample.checkpoint"), checkpoint.getCheckpointDir());
+		assertEquals("first", checkpoint.getFingerprint());
+		checkpoint.write(0, "first page");
+		checkpoint.write(2, "third page");
+		assertTrue(checkpoint.isFinished(0));
+		assertFalse(checkpoint.isFinished(1));
+
+		ConversionCheckpoint resumed = ConversionCheckpoint.open(outputDir, "sample", "first");
+		assertEquals(List.of(1, 3), resumed.getPendingPages(List.of(0, 1, 2, 3)));
+		assertEquals("first page", resumed.getPageText(0));
+		assertEquals("third page", resumed.getPageText(2));
+		assertThrows(IOException.class, () -> resumed.getPageText(1));
+	}
+
+	/**
+	 * Tests that the recorded source of a finished page is found again by a new checkpoint with
+	 * the same fingerprint
+	 */
+	@Test
+	void testPageSource() throws IOException
+	{
+		ConversionCheckpoint checkpoint = ConversionCheckpoint.open(outputDir, "sample", "first");
+		checkpoint.writePageSource(0, PageSource.BLANK);
+		checkpoint.write(0, "");
+		checkpoint.writePageSource(1, PageSource.TEXT_LAYER);
+		checkpoint.write(1, "second page");
+		// the source of a page that is not finished is not returned
+		checkpoint.writePageSource(2, PageSource.OCR);
+		checkpoint.write(3, "fourth page");
+		Files.writeString(checkpoint.getManifestFile().toPath(), "source.4=OC",
+			StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+		ConversionCheckpoint resumed = ConversionCheckpoint.open(outputDir, "sample", "first");
+		assertEquals(PageSource.BLANK, resumed.getPageSource(0));
+		assertEquals(PageSource.TEXT_LAYER, resumed.getPageSource(1));
+		assertNull(resumed.getPageSource(2));
+		assertNull(resumed.getPageSource(3));
+		resumed.write(4, "fifth page");
+		assertNull(resumed.getPageSource(4));
+	}
+
+	/**
+	 * Tests the method {@link ConversionCheckpoint#delete()}
+	 */
+	@Test
+	void testDelete() throws IOException
+	{
+		ConversionCheckpoint checkpoint = ConversionCheckpoint.open(outputDir, "sample", "first");
+		checkpoint.write(0, "first page");
+		checkpoint.delete();
+		assertFalse(checkpoint.getManifestFile().exists());
+		assertFalse(checkpoint.getCheckpointDir().exists());
+		assertFalse(checkpoint.isFinished(0));
+
+		ConversionCheckpoint reopened = ConversionCheckpoint.open(outputDir, "sample", "first");
+		assertEquals(List.of(0), reopened.getPendingPages(List.of(0)));
+	}
+
+	/**
+	 * Tests that a checkpoint with another fingerprint is discarded
+	 */
+	@Test
+	void testStaleFingerprint() throws IOException
+	{
+		ConversionCheckpoint.open(outputDir, "sample", "first").write(0, "first page");
+		ConversionCheckpoint checkpoint = ConversionCheckpoint.open(outputDir, "sample",
+			"second");
+		assertFalse(checkpoint.isFinished(0));
+		assertFalse(new File(checkpoint.getCheckpointDir(), "page-1.txt").exists());
+	}
+
+	/**
+	 * Tests that pages with a changed checkpoint file or a partially written manifest line are
+	 * converted again
+	 */
+	@Test
+	void testInvalidPages() throws IOException
+	{
+		ConversionCheckpoint checkpoint = ConversionCheckpoint.open(outputDir, "sample", "first");
+		checkpoint.write(0, "first page");
+		checkpoint.write(1, "second page");
+		Files.writeString(new File(checkpoint.getCheckpointDir(), "page-2.txt").toPath(),
+			"changed");
+		Files.writeString(checkpoint.getManifestFile().toPath(), "page.2=abc",
+			StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+		ConversionCheckpoint resumed = ConversionCheckpoint.open(outputDir, "sample", "first");
+		assertEquals(List.of(1, 2), resumed.getPendingPages(List.of(0, 1, 2)));
+		resumed.write(2, "third page");
+		resumed = ConversionCheckpoint.open(outputDir, "sample", "first");
+		assertEquals(List.of(1), resumed.getPendingPages(List.of(0, 1, 2)));
+	}
+
+	/**
+	 * Tests that the fingerprint changes with the PDF file and the settings
+	 */
+	@Test
+	void testNewFingerprint() throws IOException
+	{
+		File sample = new File(PathFinder.getSrcTestResourcesDir(), "sample.pdf");
+		File programImage = new File(PathFinder.getSrcTestResourcesDir(), "program-image.pdf");
+		String fingerprint = ConversionCheckpoint.newFingerprint(sample, "deu");
+		assertEquals(fingerprint, ConversionCheckpoint.newFingerprint(sample, "deu"));
+		assertNotEquals(fingerprint, ConversionCheckpoint.newFingerprint(sample, "eng"));
+		assertNotEquals(fingerprint, ConversionCheckpoint.newFingerprint(programImage, "deu"));
+		assertEquals(new File(outputDir, "sample.manifest"),
+			ConversionCheckpoint.open(outputDir, sample, "deu").getManifestFile());
+	}
+}
@@ -0,0 +1,100 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link ConversionJob}
+ */
+class ConversionJobTest
+{
+
+	/**
+	 * Tests that the result of a finished conversion is returned
+	 */
+	@Test
+	void testGet() throws InterruptedException, ExecutionException, TimeoutException
+	{
+		ConversionJob<String> job = ConversionJob.submit(() -> "converted");
+		assertEquals("converted", job.get(10, TimeUnit.SECONDS));
+		assertTrue(job.isDone());
+		assertFalse(job.isCancelled());
+		assertFalse(job.cancel());
+	}
+
+	/**
+	 * Tests that the failure of a conversion is returned as the cause of an
+	 * {@link ExecutionException}
+	 */
+	@Test
+	void testGetWithFailure()
+	{
+		ConversionJob<String> job = ConversionJob.submit(() -> {
+			throw new IllegalStateException("failed");
+		});
+		ExecutionException exception = assertThrows(ExecutionException.class, job::get);
+		assertInstanceOf(IllegalStateException.class, exception.getCause());
+	}
+
+	/**
+	 * Tests that cancelling a running conversion interrupts it
+	 */
+	@Test
+	void testCancel() throws InterruptedException
+	{
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		ConversionJob<String> job = ConversionJob.submit(() -> {
+			started.countDown();
+			try
+			{
+				Thread.sleep(60_000);
+			}
+			catch (InterruptedException e)
+			{
+				interrupted.countDown();
+				throw e;
+			}
+			return "converted";
+		});
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+
+		assertTrue(job.cancel());
+
+		assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+		assertTrue(job.isCancelled());
+		assertTrue(job.isDone());
+		assertThrows(CancellationException.class, job::get);
+	}
+}
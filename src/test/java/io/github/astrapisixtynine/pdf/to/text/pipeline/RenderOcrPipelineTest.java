@@ -0,0 +1,433 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.create.DirectoryFactory;
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapi69.file.search.PathFinder;
+
+/**
+ * Test class for {@link RenderOcrPipeline}
+ */
+class RenderOcrPipelineTest
+{
+
+	/**
+	 * Tests that the text of the pages is written in page order even if the OCR workers finish in
+	 * a different order
+	 */
+	@Test
+	void testExecuteWritesInPageOrder()
+		throws IOException, InterruptedException, ExecutionException
+	{
+		List<Integer> pages = IntStream.range(0, 50).boxed().toList();
+		List<String> written = new ArrayList<>();
+		PageRenderer renderer = page -> new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY);
+		PageRecognizer recognizer = (page, image) -> {
+			Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+			return "page " + page;
+		};
+		PageWriter writer = (page, text) -> written.add(text);
+
+		new RenderOcrPipeline(renderer, recognizer, writer, 4, 2).execute(pages);
+
+		assertEquals(pages.stream().map(page -> "page " + page).toList(), written);
+	}
+
+	/**
+	 * Tests that the number of rendered pages in flight is capped by the queue capacity and the
+	 * number of OCR workers
+	 */
+	@Test
+	void testExecuteCapsRenderedPagesInFlight()
+		throws IOException, InterruptedException, ExecutionException
+	{
+		int ocrThreads = 2;
+		int queueCapacity = 3;
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		PageRenderer renderer = page -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			return new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY);
+		};
+		PageRecognizer recognizer = (page, image) -> {
+			Thread.sleep(2);
+			inFlight.decrementAndGet();
+			return "";
+		};
+
+		new RenderOcrPipeline(renderer, recognizer, (page, text) -> {
+		}, ocrThreads, queueCapacity).execute(IntStream.range(0, 40).boxed().toList());
+
+		// the rendering thread holds one more page while it waits for a free queue slot
+		assertTrue(maxInFlight.get() <= queueCapacity + ocrThreads + 1);
+	}
+
+	/**
+	 * Tests that the rendering and the OCR of two concurrent pipelines are bounded by shared
+	 * permits, that pages without an image need no permit and that waiting for a permit does not
+	 * count against the page timeout
+	 */
+	@Test
+	void testExecuteWithCpuPermits() throws InterruptedException, ExecutionException
+	{
+		Semaphore cpuPermits = new Semaphore(1);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		PageRenderer renderer = page -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			running.decrementAndGet();
+			return page % 2 == 0 ? new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY) : null;
+		};
+		PageRecognizer recognizer = (page, image) -> {
+			if (image == null)
+			{
+				return "text layer " + page;
+			}
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Thread.sleep(20);
+			running.decrementAndGet();
+			return "page " + page;
+		};
+		List<Integer> pages = IntStream.range(0, 10).boxed().toList();
+		List<RenderOcrPipeline> pipelines = new ArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try
+		{
+			List<Future<List<String>>> futures = new ArrayList<>();
+			for (int pipelineIndex = 0; pipelineIndex < 2; ++pipelineIndex)
+			{
+				List<String> written = new ArrayList<>();
+				RenderOcrPipeline pipeline = new RenderOcrPipeline(
+					renderer.withPermits(cpuPermits), recognizer,
+					(page, text) -> written.add(text), 4, 2, Duration.ofMillis(60), null,
+					cpuPermits);
+				pipelines.add(pipeline);
+				futures.add(executor.submit(() -> {
+					pipeline.execute(pages);
+					return written;
+				}));
+			}
+			for (Future<List<String>> future : futures)
+			{
+				assertEquals(pages.stream()
+					.map(page -> page % 2 == 0 ? "page " + page : "text layer " + page).toList(),
+					future.get());
+			}
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+		assertEquals(1, maxRunning.get());
+		assertEquals(1, cpuPermits.availablePermits());
+		for (RenderOcrPipeline pipeline : pipelines)
+		{
+			assertTrue(pipeline.getTimedOutPages().isEmpty());
+		}
+	}
+
+	/**
+	 * Tests that a failure of the OCR stage is propagated to the caller
+	 */
+	@Test
+	void testExecuteWithFailingRecognizer()
+	{
+		PageRecognizer recognizer = (page, image) -> {
+			if (page == 3)
+			{
+				throw new IOException("page 3 failed");
+			}
+			return "";
+		};
+		RenderOcrPipeline pipeline = new RenderOcrPipeline(
+			page -> new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY), recognizer,
+			(page, text) -> {
+			}, 2, 2);
+
+		ExecutionException exception = assertThrows(ExecutionException.class,
+			() -> pipeline.execute(IntStream.range(0, 10).boxed().toList()));
+		assertInstanceOf(IOException.class, exception.getCause());
+	}
+
+	/**
+	 * Tests that invalid arguments are rejected
+	 */
+	@Test
+	void testInvalidArguments()
+	{
+		assertThrows(IllegalArgumentException.class,
+			() -> new RenderOcrPipeline(page -> null, (page, image) -> "", (page, text) -> {
+			}, 0, 1));
+		assertThrows(IllegalArgumentException.class,
+			() -> new RenderOcrPipeline(page -> null, (page, image) -> "", (page, text) -> {
+			}, 1, 0));
+	}
+
+	/**
+	 * Tests that an aborted conversion is resumed with the pages that are not finished and that
+	 * all pages are written only after every page is finished
+	 */
+	@Test
+	void testExecuteWithCheckpoint() throws IOException, InterruptedException, ExecutionException
+	{
+		File outputDir = DirectoryFactory.newDirectory(PathFinder.getSrcTestResourcesDir(),
+			"output");
+		try
+		{
+			List<Integer> pages = IntStream.range(0, 10).boxed().toList();
+			PageRenderer renderer = page -> new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY);
+			List<String> written = new ArrayList<>();
+			PageWriter writer = (page, text) -> written.add(text);
+			PageRecognizer failingRecognizer = (page, image) -> {
+				if (page == 3)
+				{
+					throw new IOException("page 3 failed");
+				}
+				return "page " + page;
+			};
+			ConversionCheckpoint checkpoint = ConversionCheckpoint.open(outputDir, "sample",
+				"fingerprint");
+			RenderOcrPipeline failingPipeline = new RenderOcrPipeline(renderer,
+				failingRecognizer, writer, 1, 2);
+			assertThrows(ExecutionException.class,
+				() -> failingPipeline.execute(pages, checkpoint));
+			assertTrue(written.isEmpty());
+
+			List<Integer> recognized = new ArrayList<>();
+			PageRecognizer recognizer = (page, image) -> {
+				recognized.add(page);
+				return "page " + page;
+			};
+			new RenderOcrPipeline(renderer, recognizer, writer, 1, 2).execute(pages,
+				ConversionCheckpoint.open(outputDir, "sample", "fingerprint"));
+			assertEquals(List.of(3, 4, 5, 6, 7, 8, 9), recognized);
+			assertEquals(pages.stream().map(page -> "page " + page).toList(), written);
+		}
+		finally
+		{
+			DeleteFileExtensions.delete(outputDir);
+		}
+	}
+
+	/**
+	 * Tests that a page that stalls its OCR worker is written with an empty text after the page
+	 * timeout, that its worker is interrupted and that the following pages are still converted
+	 */
+	@Test
+	void testExecuteWithPageTimeout() throws IOException, InterruptedException, ExecutionException
+	{
+		List<Integer> pages = IntStream.range(0, 10).boxed().toList();
+		List<String> written = new ArrayList<>();
+		AtomicBoolean interrupted = new AtomicBoolean();
+		PageRecognizer recognizer = (page, image) -> {
+			if (page == 2)
+			{
+				try
+				{
+					Thread.sleep(60_000);
+				}
+				catch (InterruptedException e)
+				{
+					interrupted.set(true);
+					throw e;
+				}
+			}
+			return "page " + page;
+		};
+		RenderOcrPipeline pipeline = new RenderOcrPipeline(
+			page -> new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY), recognizer,
+			(page, text) -> written.add(text), 1, 2, Duration.ofMillis(200), null);
+
+		pipeline.execute(pages);
+
+		assertEquals(pages.stream().map(page -> page == 2 ? "" : "page " + page).toList(),
+			written);
+		assertEquals(Set.of(2), pipeline.getTimedOutPages());
+		assertTrue(interrupted.get());
+	}
+
+	/**
+	 * Tests that the worker of a timed out page that ignores the interrupt, like a native tess4j
+	 * recognition, is replaced only after its recognition returned
+	 */
+	@Test
+	void testExecuteWithPageTimeoutIgnoringInterrupt()
+		throws IOException, InterruptedException, ExecutionException
+	{
+		List<Integer> pages = IntStream.range(0, 6).boxed().toList();
+		List<String> written = new ArrayList<>();
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		PageRecognizer recognizer = (page, image) -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try
+			{
+				if (page == 2)
+				{
+					long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(600);
+					while (System.nanoTime() < end)
+					{
+						Thread.onSpinWait();
+					}
+				}
+				return "page " + page;
+			}
+			finally
+			{
+				running.decrementAndGet();
+			}
+		};
+		RenderOcrPipeline pipeline = new RenderOcrPipeline(
+			page -> new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY), recognizer,
+			(page, text) -> written.add(text), 1, 2, Duration.ofMillis(200), null);
+
+		pipeline.execute(pages);
+
+		assertEquals(pages.stream().map(page -> page == 2 ? "" : "page " + page).toList(),
+			written);
+		assertEquals(Set.of(2), pipeline.getTimedOutPages());
+		assertEquals(1, maxRunning.get());
+	}
+
+	/**
+	 * Tests that a page whose recognizer reports a timeout is written with an empty text
+	 */
+	@Test
+	void testExecuteWithTimeoutOfRecognizer()
+		throws IOException, InterruptedException, ExecutionException
+	{
+		List<String> written = new ArrayList<>();
+		PageRecognizer recognizer = (page, image) -> {
+			if (page == 1)
+			{
+				throw new TimeoutException("page 1 timed out");
+			}
+			return "page " + page;
+		};
+		RenderOcrPipeline pipeline = new RenderOcrPipeline(
+			page -> new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY), recognizer,
+			(page, text) -> written.add(text), 2, 2);
+
+		pipeline.execute(IntStream.range(0, 3).boxed().toList());
+
+		assertEquals(List.of("page 0", "", "page 2"), written);
+		assertEquals(Set.of(1), pipeline.getTimedOutPages());
+	}
+
+	/**
+	 * Tests that a conversion that exceeds its deadline fails and stops rendering new pages
+	 */
+	@Test
+	void testExecuteWithDeadline()
+	{
+		AtomicInteger rendered = new AtomicInteger();
+		PageRenderer renderer = page -> {
+			rendered.incrementAndGet();
+			return new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY);
+		};
+		PageRecognizer recognizer = (page, image) -> {
+			Thread.sleep(50);
+			return "page " + page;
+		};
+		RenderOcrPipeline pipeline = new RenderOcrPipeline(renderer, recognizer,
+			(page, text) -> {
+			}, 1, 2, null, Duration.ofMillis(200));
+
+		assertThrows(InterruptedIOException.class,
+			() -> pipeline.execute(IntStream.range(0, 100).boxed().toList()));
+		assertTrue(rendered.get() < 100);
+	}
+
+	/**
+	 * Tests that a timed out page is not recorded in the checkpoint and is recognized again if
+	 * the conversion is resumed
+	 */
+	@Test
+	void testExecuteWithCheckpointAndTimedOutPage()
+		throws IOException, InterruptedException, ExecutionException
+	{
+		File outputDir = DirectoryFactory.newDirectory(PathFinder.getSrcTestResourcesDir(),
+			"output");
+		try
+		{
+			List<Integer> pages = IntStream.range(0, 5).boxed().toList();
+			PageRenderer renderer = page -> new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY);
+			List<String> written = new ArrayList<>();
+			PageWriter writer = (page, text) -> written.add(text);
+			PageRecognizer timingOutRecognizer = (page, image) -> {
+				if (page == 3)
+				{
+					throw new TimeoutException("page 3 timed out");
+				}
+				return "page " + page;
+			};
+			RenderOcrPipeline pipeline = new RenderOcrPipeline(renderer, timingOutRecognizer,
+				writer, 1, 2);
+			pipeline.execute(pages, ConversionCheckpoint.open(outputDir, "sample", "fingerprint"));
+			assertEquals(List.of("page 0", "page 1", "page 2", "", "page 4"), written);
+			assertEquals(Set.of(3), pipeline.getTimedOutPages());
+
+			written.clear();
+			List<Integer> recognized = new ArrayList<>();
+			PageRecognizer recognizer = (page, image) -> {
+				recognized.add(page);
+				return "page " + page;
+			};
+			new RenderOcrPipeline(renderer, recognizer, writer, 1, 2).execute(pages,
+				ConversionCheckpoint.open(outputDir, "sample", "fingerprint"));
+			assertEquals(List.of(3), recognized);
+			assertEquals(pages.stream().map(page -> "page " + page).toList(), written);
+		}
+		finally
+		{
+			DeleteFileExtensions.delete(outputDir);
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.pipeline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.create.DirectoryFactory;
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapi69.file.search.PathFinder;
+
+/**
+ * Test class for {@link ResultTextWriter}
+ */
+class ResultTextWriterTest
+{
+
+	private File outputDir;
+
+	private File resultTextFile;
+
+	/**
+	 * Sets up test data before each test
+	 */
+	@BeforeEach
+	void setUp()
+	{
+		outputDir = DirectoryFactory.newDirectory(PathFinder.getSrcTestResourcesDir(), "output");
+		resultTextFile = new File(outputDir, "result.txt");
+	}
+
+	/**
+	 * cleans up after each test
+	 */
+	@AfterEach
+	void tearDown() throws IOException
+	{
+		if (outputDir != null)
+		{
+			DeleteFileExtensions.delete(outputDir);
+		}
+	}
+
+	/**
+	 * Tests that the text of the pages is streamed in page order to the result text file when used
+	 * as writing stage of a {@link RenderOcrPipeline} with parallel OCR workers
+	 */
+	@Test
+	void testWriteInPipeline() throws IOException, InterruptedException, ExecutionException
+	{
+		PageRecognizer recognizer = (page, image) -> {
+			Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+			return "page " + page + "\n";
+		};
+		try (ResultTextWriter writer = new ResultTextWriter(resultTextFile, null))
+		{
+			new RenderOcrPipeline(page -> new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY),
+				recognizer, writer, 4, 2).execute(IntStream.range(0, 20).boxed().toList());
+			assertTrue(writer.getTextFiles().isEmpty());
+		}
+		String expected = IntStream.range(0, 20).mapToObj(page -> "page " + page + "\n")
+			.collect(Collectors.joining());
+		assertEquals(expected, Files.readString(resultTextFile.toPath(), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Tests that the text files per page are written if a page text file function is given
+	 */
+	@Test
+	void testWriteWithPageTextFiles() throws IOException
+	{
+		try (ResultTextWriter writer = new ResultTextWriter(resultTextFile,
+			page -> new File(outputDir, "page_" + (page + 1) + ".txt")))
+		{
+			writer.write(0, "first");
+			writer.write(1, "second");
+			assertEquals(2, writer.getTextFiles().size());
+			assertEquals("second", Files.readString(writer.getTextFiles().get(1).toPath()));
+			assertEquals(22, writer.getBytesWritten());
+		}
+		assertEquals("firstsecond", Files.readString(resultTextFile.toPath()));
+	}
+}
@@ -0,0 +1,180 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.preprocess;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.file.create.DirectoryFactory;
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapi69.file.search.PathFinder;
+import io.github.astrapisixtynine.pdf.to.text.info.BlankPageOptions;
+
+/**
+ * Test class for {@link BlankPageExtensions}
+ */
+class BlankPageExtensionsTest
+{
+
+	private final BlankPageOptions blankPageOptions = BlankPageOptions.builder().build();
+
+	private File outputDir;
+
+	/**
+	 * Sets up test data before each test
+	 */
+	@BeforeEach
+	void setUp()
+	{
+		outputDir = DirectoryFactory.newDirectory(PathFinder.getSrcTestResourcesDir(), "output");
+	}
+
+	/**
+	 * cleans up after each test
+	 */
+	@AfterEach
+	void tearDown() throws IOException
+	{
+		if (outputDir != null)
+		{
+			DeleteFileExtensions.delete(outputDir);
+		}
+	}
+
+	/**
+	 * Creates a white page image
+	 *
+	 * @return the white page image
+	 */
+	static BufferedImage newWhiteImage()
+	{
+		BufferedImage image = new BufferedImage(400, 500, BufferedImage.TYPE_INT_RGB);
+		fill(image, Color.WHITE, 0, 0, image.getWidth(), image.getHeight());
+		return image;
+	}
+
+	private static void fill(BufferedImage image, Color color, int x, int y, int width,
+		int height)
+	{
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(color);
+		graphics.fillRect(x, y, width, height);
+		graphics.dispose();
+	}
+
+	/**
+	 * Tests the method {@link BlankPageExtensions#isBlank(BufferedImage, BlankPageOptions)}
+	 */
+	@Test
+	void testIsBlank()
+	{
+		BufferedImage image = newWhiteImage();
+		assertTrue(BlankPageExtensions.isBlank(image, blankPageOptions));
+		// a few dust pixels are tolerated
+		fill(image, Color.BLACK, 100, 100, 5, 5);
+		assertTrue(BlankPageExtensions.isBlank(image, blankPageOptions));
+		// dark edges of a scanned page are not checked
+		fill(image, Color.BLACK, 0, 0, 10, image.getHeight());
+		assertTrue(BlankPageExtensions.isBlank(image, blankPageOptions));
+		// a line of text is content
+		fill(image, Color.BLACK, 50, 200, 300, 10);
+		assertFalse(BlankPageExtensions.isBlank(image, blankPageOptions));
+		assertTrue(BlankPageExtensions.isBlank(image,
+			blankPageOptions.toBuilder().maxInkRatio(0.05).build()));
+		// light gray is no ink
+		BufferedImage grayImage = newWhiteImage();
+		fill(grayImage, Color.LIGHT_GRAY, 50, 50, 300, 400);
+		assertTrue(BlankPageExtensions.isBlank(grayImage, blankPageOptions));
+	}
+
+	/**
+	 * Tests the method {@link BlankPageExtensions#isBlank(BufferedImage, BlankPageOptions)} with
+	 * binary page images
+	 */
+	@Test
+	void testIsBlankWithBinaryImage()
+	{
+		BufferedImage image = ImagePreprocessingExtensions.binarize(newWhiteImage());
+		assertEquals(BufferedImage.TYPE_BYTE_BINARY, image.getType());
+		assertTrue(BlankPageExtensions.isBlank(image, blankPageOptions));
+		fill(image, Color.BLACK, 50, 200, 300, 10);
+		assertFalse(BlankPageExtensions.isBlank(image, blankPageOptions));
+	}
+
+	/**
+	 * Tests the method {@link BlankPageExtensions#isBlank(BufferedImage, BlankPageOptions)} with
+	 * gray scale page images
+	 */
+	@Test
+	void testIsBlankWithGrayImage()
+	{
+		BufferedImage image = ImagePreprocessingExtensions.toGrayscale(newWhiteImage());
+		assertEquals(BufferedImage.TYPE_BYTE_GRAY, image.getType());
+		assertTrue(BlankPageExtensions.isBlank(image, blankPageOptions));
+		fill(image, Color.LIGHT_GRAY, 50, 50, 300, 400);
+		assertTrue(BlankPageExtensions.isBlank(image, blankPageOptions));
+		fill(image, Color.DARK_GRAY, 50, 200, 300, 10);
+		assertFalse(BlankPageExtensions.isBlank(image, blankPageOptions));
+	}
+
+	/**
+	 * Tests the method {@link BlankPageExtensions#isBlank(File, BlankPageOptions)}
+	 */
+	@Test
+	void testIsBlankWithImageFile() throws IOException
+	{
+		File imageFile = new File(outputDir, "blank.png");
+		ImageIO.write(newWhiteImage(), "png", imageFile);
+		assertTrue(BlankPageExtensions.isBlank(imageFile, blankPageOptions));
+
+		File textFile = new File(outputDir, "text.png");
+		Files.writeString(textFile.toPath(), "no image");
+		assertThrows(IOException.class,
+			() -> BlankPageExtensions.isBlank(textFile, blankPageOptions));
+	}
+
+	/**
+	 * Test method for {@link BlankPageExtensions} with {@link BeanTester}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(BlankPageExtensions.class);
+	}
+}
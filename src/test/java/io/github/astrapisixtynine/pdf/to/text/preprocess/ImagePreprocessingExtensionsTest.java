@@ -0,0 +1,174 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.preprocess;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.meanbean.test.BeanTester;
+
+/**
+ * Test class for {@link ImagePreprocessingExtensions}
+ */
+class ImagePreprocessingExtensionsTest
+{
+
+	/**
+	 * Creates a white page image with rows of black blocks like text lines that are rotated by the
+	 * given angle around the center of the page
+	 *
+	 * @param angle
+	 *            the angle in degrees, positive if the rows descend to the right
+	 * @return the page image
+	 */
+	static BufferedImage newPageImage(double angle)
+	{
+		BufferedImage image = new BufferedImage(600, 800, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+		graphics.rotate(Math.toRadians(angle), image.getWidth() / 2.0, image.getHeight() / 2.0);
+		graphics.setColor(Color.BLACK);
+		for (int y = 150; y < 650; y += 20)
+		{
+			for (int x = 125; x < 475; x += 15)
+			{
+				graphics.fillRect(x, y, 10, 7);
+			}
+		}
+		graphics.dispose();
+		return image;
+	}
+
+	/**
+	 * Tests the method {@link ImagePreprocessingExtensions#getOtsuThreshold(int[])}
+	 */
+	@Test
+	void testGetOtsuThreshold()
+	{
+		int[] histogram = new int[256];
+		histogram[20] = 100;
+		histogram[230] = 900;
+		assertEquals(20, ImagePreprocessingExtensions.getOtsuThreshold(histogram));
+		histogram[40] = 50;
+		int threshold = ImagePreprocessingExtensions.getOtsuThreshold(histogram);
+		assertTrue(40 <= threshold && threshold < 230);
+		assertEquals(0, ImagePreprocessingExtensions.getOtsuThreshold(new int[256]));
+	}
+
+	/**
+	 * Tests the method {@link ImagePreprocessingExtensions#binarize(BufferedImage)}
+	 */
+	@Test
+	void testBinarize()
+	{
+		BufferedImage image = newPageImage(0);
+		BufferedImage binaryImage = ImagePreprocessingExtensions.binarize(image);
+		assertEquals(BufferedImage.TYPE_BYTE_BINARY, binaryImage.getType());
+		assertEquals(image.getWidth(), binaryImage.getWidth());
+		assertEquals(Color.BLACK.getRGB(), binaryImage.getRGB(125, 150));
+		assertEquals(Color.WHITE.getRGB(), binaryImage.getRGB(0, 0));
+		assertSame(binaryImage, ImagePreprocessingExtensions.binarize(binaryImage));
+	}
+
+	/**
+	 * Tests the method {@link ImagePreprocessingExtensions#getSkewAngle(BufferedImage)}
+	 */
+	@ParameterizedTest
+	@ValueSource(doubles = { 0, 1.6, -2.4, 4 })
+	void testGetSkewAngle(double angle)
+	{
+		assertEquals(angle, ImagePreprocessingExtensions.getSkewAngle(newPageImage(angle)),
+			ImagePreprocessingExtensions.DEFAULT_SKEW_ANGLE_STEP);
+	}
+
+	/**
+	 * Tests the method {@link ImagePreprocessingExtensions#deskew(BufferedImage)}
+	 */
+	@Test
+	void testDeskew()
+	{
+		BufferedImage image = newPageImage(0);
+		assertSame(image, ImagePreprocessingExtensions.deskew(image));
+		BufferedImage deskewedImage = ImagePreprocessingExtensions.deskew(newPageImage(3));
+		assertEquals(BufferedImage.TYPE_BYTE_GRAY, deskewedImage.getType());
+		assertEquals(0, ImagePreprocessingExtensions.getSkewAngle(deskewedImage),
+			ImagePreprocessingExtensions.DEFAULT_SKEW_ANGLE_STEP);
+	}
+
+	/**
+	 * Tests the method {@link ImagePreprocessingExtensions#getContentBounds(BufferedImage)}
+	 */
+	@Test
+	void testGetContentBounds()
+	{
+		assertEquals(new Rectangle(125, 150, 355, 487),
+			ImagePreprocessingExtensions.getContentBounds(newPageImage(0)));
+		// a new gray scale image is black
+		BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_BYTE_GRAY);
+		assertEquals(new Rectangle(0, 0, 100, 100),
+			ImagePreprocessingExtensions.getContentBounds(image));
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, 100, 100);
+		graphics.dispose();
+		assertNull(ImagePreprocessingExtensions.getContentBounds(image));
+	}
+
+	/**
+	 * Tests the method {@link ImagePreprocessingExtensions#cropToContent(BufferedImage, int)}
+	 */
+	@Test
+	void testCropToContent()
+	{
+		BufferedImage croppedImage = ImagePreprocessingExtensions.cropToContent(newPageImage(0),
+			10);
+		assertEquals(375, croppedImage.getWidth());
+		assertEquals(507, croppedImage.getHeight());
+		assertEquals(Color.WHITE.getRGB(), croppedImage.getRGB(0, 0));
+		assertEquals(Color.BLACK.getRGB(), croppedImage.getRGB(10, 10));
+		assertNull(croppedImage.getRaster().getParent());
+
+		BufferedImage image = newPageImage(0);
+		assertSame(image, ImagePreprocessingExtensions.cropToContent(image, 200));
+	}
+
+	/**
+	 * Test method for {@link ImagePreprocessingExtensions} with {@link BeanTester}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(ImagePreprocessingExtensions.class);
+	}
+}
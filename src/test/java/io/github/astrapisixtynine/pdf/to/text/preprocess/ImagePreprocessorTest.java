@@ -0,0 +1,95 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.preprocess;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link ImagePreprocessor}
+ */
+class ImagePreprocessorTest
+{
+
+	/**
+	 * Tests that chained preprocessors run in the order of chaining
+	 */
+	@Test
+	void testAndThen()
+	{
+		List<String> calls = new ArrayList<>();
+		ImagePreprocessor first = image -> {
+			calls.add("first");
+			return image;
+		};
+		ImagePreprocessor second = image -> {
+			calls.add("second");
+			return image;
+		};
+		first.andThen(second).process(new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY));
+		assertEquals(List.of("first", "second"), calls);
+	}
+
+	/**
+	 * Tests that the default chain returns a deskewed, binarized and cropped page image with less
+	 * pixels than the rendered page image
+	 */
+	@Test
+	void testDefaultChain()
+	{
+		BufferedImage image = ImagePreprocessingExtensionsTest.newPageImage(2);
+		BufferedImage preprocessedImage = ImagePreprocessor.defaultChain().process(image);
+		assertEquals(BufferedImage.TYPE_BYTE_BINARY, preprocessedImage.getType());
+		assertTrue(preprocessedImage.getWidth() * preprocessedImage.getHeight() < image.getWidth()
+			* image.getHeight());
+		assertEquals(0, ImagePreprocessingExtensions.getSkewAngle(preprocessedImage),
+			ImagePreprocessingExtensions.DEFAULT_SKEW_ANGLE_STEP);
+	}
+
+	/**
+	 * Tests that the preprocessors of the factory methods and their chains have stable names that
+	 * identify them in the settings of a resumed conversion
+	 */
+	@Test
+	void testToString()
+	{
+		assertEquals("deskew > binarize > cropMargins(10)",
+			ImagePreprocessor.defaultChain().toString());
+		assertEquals(ImagePreprocessor.defaultChain().toString(),
+			ImagePreprocessor.defaultChain().toString());
+		assertEquals("cropMargins(5)", ImagePreprocessor.cropMargins(5).toString());
+		ImagePreprocessor invert = ImagePreprocessor.named("invert", image -> image);
+		assertEquals("invert > binarize", invert.andThen(ImagePreprocessor.binarize()).toString());
+		BufferedImage image = new BufferedImage(1, 1, BufferedImage.TYPE_BYTE_GRAY);
+		assertSame(image, invert.process(image));
+	}
+}
@@ -0,0 +1,266 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.process;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.create.DirectoryFactory;
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapi69.file.search.PathFinder;
+import io.github.astrapisixtynine.pdf.to.text.cache.MemoryOcrResultCache;
+import io.github.astrapisixtynine.pdf.to.text.cache.OcrCacheKeyExtensions;
+import io.github.astrapisixtynine.pdf.to.text.cache.OcrResultCache;
+import io.github.astrapisixtynine.pdf.to.text.info.OcrOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.OcrProfile;
+import io.github.astrapisixtynine.pdf.to.text.info.ProcessOcrResult;
+
+/**
+ * Test class for {@link TesseractProcessPool}
+ */
+class TesseractProcessPoolTest
+{
+
+	/**
+	 * Tests that the number of processes is capped by the number of available processors
+	 */
+	@Test
+	void testMaxProcessesIsCapped()
+	{
+		int availableProcessors = Runtime.getRuntime().availableProcessors();
+		try (TesseractProcessPool pool = new TesseractProcessPool(availableProcessors + 10,
+			Duration.ofSeconds(1)))
+		{
+			assertEquals(availableProcessors, pool.getMaxProcesses());
+			assertEquals(Duration.ofSeconds(1), pool.getTimeout());
+		}
+		try (TesseractProcessPool pool = new TesseractProcessPool(1, Duration.ofSeconds(1)))
+		{
+			assertEquals(1, pool.getMaxProcesses());
+		}
+	}
+
+	/**
+	 * Tests that invalid arguments are rejected
+	 */
+	@Test
+	void testInvalidArguments()
+	{
+		assertThrows(IllegalArgumentException.class,
+			() -> new TesseractProcessPool(0, Duration.ofSeconds(1)));
+	}
+
+	/**
+	 * Tests the method {@link TesseractProcessPool#recognize(List, File, String)}
+	 */
+	@Test
+	@Disabled("""
+		only for local use:
+		if tesseract is installed
+		""")
+	void testRecognize() throws IOException, InterruptedException
+	{
+		File resultDir = DirectoryFactory.newDirectory(PathFinder.getSrcTestResourcesDir(),
+			"output");
+		List<File> imageFiles = List.of(
+			new File("src/test/resources/test-result/sample-image-1.png"),
+			new File("src/test/resources/test-result/sample-image-2.png"),
+			new File("src/test/resources/test-result/sample-image-3.png"));
+		try (TesseractProcessPool pool = new TesseractProcessPool(3, Duration.ofMinutes(1)))
+		{
+			List<ProcessOcrResult> results = pool.recognize(imageFiles, resultDir, "deu");
+			assertEquals(3, results.size());
+			for (int page = 0; page < results.size(); ++page)
+			{
+				ProcessOcrResult result = results.get(page);
+				assertEquals(page, result.getPage());
+				assertTrue(result.isSuccessful(), result.getOutput());
+				assertTrue(result.getTextFile().exists());
+			}
+		}
+		finally
+		{
+			DeleteFileExtensions.delete(resultDir);
+		}
+	}
+
+	/**
+	 * Tests the method {@link TesseractProcessPool#splitPages(String, int)}
+	 */
+	@Test
+	void testSplitPages() throws IOException
+	{
+		List<String> pageTexts = TesseractProcessPool.splitPages("first\n\fsecond\n\f\f", 3);
+		assertEquals(List.of("first\n", "second\n", ""), pageTexts);
+		assertThrows(IOException.class, () -> TesseractProcessPool.splitPages("first\f", 3));
+	}
+
+	/**
+	 * Tests the method {@link TesseractProcessPool#newCommand(String, String, String, OcrOptions)}
+	 */
+	@Test
+	void testNewCommand()
+	{
+		assertEquals(List.of("tesseract", "page.png", "page", "-l", "deu"),
+			TesseractProcessPool.newCommand("page.png", "page", "deu", null));
+		assertEquals(
+			List.of("tesseract", "page.png", "page", "-l", "deu", "--oem", "1", "--psm", "6", "-c",
+				"tessedit_do_invert=0"),
+			TesseractProcessPool.newCommand("page.png", "page", "deu",
+				OcrProfile.FAST.getOcrOptions()));
+		OcrOptions ocrOptions = OcrOptions.builder().tessdataDir("/usr/share/tessdata_best")
+			.variables(Map.of("user_defined_dpi", "300", "preserve_interword_spaces", "1"))
+			.build();
+		// the default page segmentation mode is passed explicitly like to a tess4j engine
+		assertEquals(List.of("tesseract", "page.png", "page", "-l", "deu", "--tessdata-dir",
+			"/usr/share/tessdata_best", "--oem", "3", "--psm", "3", "-c",
+			"preserve_interword_spaces=1", "-c", "user_defined_dpi=300"),
+			TesseractProcessPool.newCommand("page.png", "page", "deu", ocrOptions));
+	}
+
+	/**
+	 * Tests the method
+	 * {@link TesseractProcessPool#newChunkCommand(String, String, String, OcrOptions)} with a page
+	 * separator in the variables of the OCR options
+	 */
+	@Test
+	void testNewChunkCommand()
+	{
+		assertEquals(List.of("tesseract", "pages.list", "pages", "-l", "deu", "-c",
+			"page_separator=\f"),
+			TesseractProcessPool.newChunkCommand("pages.list", "pages", "deu", null));
+		OcrOptions ocrOptions = OcrOptions.builder()
+			.variables(Map.of("page_separator", "", "user_defined_dpi", "300")).build();
+		assertEquals(List.of("tesseract", "pages.list", "pages", "-l", "deu", "--oem", "3",
+			"--psm", "3", "-c", "page_separator=", "-c", "user_defined_dpi=300", "-c",
+			"page_separator=\f"),
+			TesseractProcessPool.newChunkCommand("pages.list", "pages", "deu", ocrOptions));
+	}
+
+	/**
+	 * Tests that an invalid chunk size is rejected
+	 */
+	@Test
+	void testInvalidChunkSize()
+	{
+		try (TesseractProcessPool pool = new TesseractProcessPool(1, Duration.ofSeconds(1)))
+		{
+			assertThrows(IllegalArgumentException.class,
+				() -> pool.recognize(List.of(), new File("."), "deu", 0));
+		}
+	}
+
+	/**
+	 * Tests the method {@link TesseractProcessPool#recognize(List, File, String, int)}
+	 */
+	@Test
+	@Disabled("""
+		only for local use:
+		if tesseract is installed
+		""")
+	void testRecognizeInChunks() throws IOException, InterruptedException
+	{
+		File resultDir = DirectoryFactory.newDirectory(PathFinder.getSrcTestResourcesDir(),
+			"output");
+		List<File> imageFiles = List.of(
+			new File("src/test/resources/test-result/sample-image-1.png"),
+			new File("src/test/resources/test-result/sample-image-2.png"),
+			new File("src/test/resources/test-result/sample-image-3.png"));
+		try (TesseractProcessPool pool = new TesseractProcessPool(2, Duration.ofMinutes(1)))
+		{
+			List<ProcessOcrResult> results = pool.recognize(imageFiles, resultDir, "deu", 2);
+			assertEquals(3, results.size());
+			for (int page = 0; page < results.size(); ++page)
+			{
+				ProcessOcrResult result = results.get(page);
+				assertEquals(page, result.getPage());
+				assertTrue(result.isSuccessful(), result.getOutput());
+				assertTrue(result.getTextFile().exists());
+			}
+		}
+		finally
+		{
+			DeleteFileExtensions.delete(resultDir);
+		}
+	}
+
+	/**
+	 * Tests that cached image files are not sent to tesseract, this works without an installed
+	 * tesseract because all image files are found in the cache
+	 */
+	@Test
+	void testRecognizeFromCache() throws IOException, InterruptedException
+	{
+		File resultDir = DirectoryFactory.newDirectory(PathFinder.getSrcTestResourcesDir(),
+			"output");
+		List<File> imageFiles = List.of(
+			new File("src/test/resources/test-result/sample-image-1.png"),
+			new File("src/test/resources/test-result/sample-image-2.png"),
+			new File("src/test/resources/test-result/sample-image-3.png"));
+		OcrResultCache cache = new MemoryOcrResultCache();
+		for (File imageFile : imageFiles)
+		{
+			cache.put(OcrCacheKeyExtensions.newKey(imageFile,
+				OcrCacheKeyExtensions.getSettings("deu")), imageFile.getName());
+		}
+		try (TesseractProcessPool pool = new TesseractProcessPool(2, Duration.ofMinutes(1),
+			cache))
+		{
+			assertSame(cache, pool.getOcrResultCache());
+			assertCachedResults(imageFiles, pool.recognize(imageFiles, resultDir, "deu"));
+			assertCachedResults(imageFiles, pool.recognize(imageFiles, resultDir, "deu", 2));
+			assertEquals(6, cache.getHitCount());
+			assertEquals(0, cache.getMissCount());
+		}
+		finally
+		{
+			DeleteFileExtensions.delete(resultDir);
+		}
+	}
+
+	private static void assertCachedResults(List<File> imageFiles, List<ProcessOcrResult> results)
+		throws IOException
+	{
+		assertEquals(imageFiles.size(), results.size());
+		for (int page = 0; page < results.size(); ++page)
+		{
+			ProcessOcrResult result = results.get(page);
+			assertEquals(page, result.getPage());
+			assertTrue(result.isSuccessful());
+			assertTrue(result.isCached());
+			assertEquals(imageFiles.get(page).getName(),
+				Files.readString(result.getTextFile().toPath()));
+		}
+	}
+}
@@ -0,0 +1,167 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.search.PathFinder;
+import io.github.astrapisixtynine.pdf.to.text.info.LoadOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSelection;
+import io.github.astrapisixtynine.pdf.to.text.info.PageText;
+
+/**
+ * Test class for {@link PageTextPublisher}
+ */
+class PageTextPublisherTest
+{
+
+	private final File pdfFile = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(),
+		"program-image.pdf");
+
+	/**
+	 * Tests that only the requested pages are emitted and that the publisher completes after the
+	 * last page
+	 */
+	@Test
+	void testEmitsRequestedPagesOnly()
+	{
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		newPublisher().subscribe(subscriber);
+		assertEquals(List.of(), subscriber.events);
+
+		subscriber.subscription.request(1);
+		assertEquals(List.of("page 1"), subscriber.events);
+
+		subscriber.subscription.request(1);
+		assertEquals(List.of("page 1", "page 2"), subscriber.events);
+
+		subscriber.subscription.request(5);
+		assertEquals(List.of("page 1", "page 2", "page 3", "complete"), subscriber.events);
+	}
+
+	/**
+	 * Tests that a cancelled subscription emits no further pages
+	 */
+	@Test
+	void testCancel()
+	{
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		newPublisher().subscribe(subscriber);
+		subscriber.subscription.request(1);
+		subscriber.subscription.cancel();
+		subscriber.subscription.request(5);
+		assertEquals(List.of("page 1"), subscriber.events);
+	}
+
+	/**
+	 * Tests that a request of a non positive number of pages is signaled as error
+	 */
+	@Test
+	void testInvalidRequest()
+	{
+		RecordingSubscriber subscriber = new RecordingSubscriber();
+		newPublisher().subscribe(subscriber);
+		subscriber.subscription.request(0);
+		assertEquals(List.of("error IllegalArgumentException"), subscriber.events);
+	}
+
+	/**
+	 * Tests the method {@link PageTextStreamExtensions#publishTextLayer(File)} with the default
+	 * executor
+	 */
+	@Test
+	void testPublishTextLayer() throws InterruptedException
+	{
+		CountDownLatch terminated = new CountDownLatch(1);
+		RecordingSubscriber subscriber = new RecordingSubscriber()
+		{
+			@Override
+			public void onSubscribe(Flow.Subscription subscription)
+			{
+				super.onSubscribe(subscription);
+				subscription.request(Long.MAX_VALUE);
+			}
+
+			@Override
+			public void onComplete()
+			{
+				super.onComplete();
+				terminated.countDown();
+			}
+		};
+		PageTextStreamExtensions.publishTextLayer(pdfFile).subscribe(subscriber);
+		assertTrue(terminated.await(30, TimeUnit.SECONDS));
+		assertEquals(List.of("page 1", "page 2", "page 3", "complete"), subscriber.events);
+	}
+
+	private Flow.Publisher<PageText> newPublisher()
+	{
+		// run the drain loop on the calling thread so that every request is processed before it
+		// returns
+		return PageTextStreamExtensions.publishTextLayer(pdfFile, PageSelection.all(),
+			LoadOptions.builder().build(), Runnable::run);
+	}
+
+	private static class RecordingSubscriber implements Flow.Subscriber<PageText>
+	{
+
+		final List<String> events = new ArrayList<>();
+
+		Flow.Subscription subscription;
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription)
+		{
+			this.subscription = subscription;
+		}
+
+		@Override
+		public void onNext(PageText item)
+		{
+			events.add("page " + item.getPageNumber());
+		}
+
+		@Override
+		public void onError(Throwable throwable)
+		{
+			events.add("error " + throwable.getClass().getSimpleName());
+		}
+
+		@Override
+		public void onComplete()
+		{
+			events.add("complete");
+		}
+	}
+}
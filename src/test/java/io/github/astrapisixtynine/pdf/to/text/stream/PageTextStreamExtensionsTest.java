@@ -0,0 +1,150 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapi69.file.search.PathFinder;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.LoadOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSelection;
+import io.github.astrapisixtynine.pdf.to.text.info.PageSource;
+import io.github.astrapisixtynine.pdf.to.text.info.PageText;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfDocumentSession;
+
+/**
+ * Test class for {@link PageTextStreamExtensions}
+ */
+class PageTextStreamExtensionsTest
+{
+
+	private final File pdfFile = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(),
+		"program-image.pdf");
+
+	/**
+	 * Tests the method {@link PageTextStreamExtensions#streamTextLayer(File)}
+	 */
+	@Test
+	void testStreamTextLayer() throws IOException
+	{
+		String expected;
+		try (PdfDocumentSession session = PdfDocumentSession.open(pdfFile))
+		{
+			StringWriter writer = new StringWriter();
+			session.writeText(writer, 1, session.getNumberOfPages());
+			expected = writer.toString();
+		}
+		List<PageText> pageTexts;
+		try (Stream<PageText> pages = PageTextStreamExtensions.streamTextLayer(pdfFile))
+		{
+			pageTexts = pages.toList();
+		}
+		assertEquals(List.of(1, 2, 3), pageTexts.stream().map(PageText::getPageNumber).toList());
+		pageTexts.forEach(pageText -> assertEquals(PageSource.TEXT_LAYER, pageText.getSource()));
+		assertEquals(expected,
+			pageTexts.stream().map(PageText::getText).collect(Collectors.joining()));
+	}
+
+	/**
+	 * Tests that the pages are extracted on demand and that the document is released when the
+	 * stream is closed
+	 */
+	@Test
+	void testStreamTextLayerIsLazy() throws IOException
+	{
+		Iterator<PageText> iterator;
+		try (Stream<PageText> pages = PageTextStreamExtensions.streamTextLayer(pdfFile,
+			PageSelection.of(2, 3), LoadOptions.builder().build()))
+		{
+			iterator = pages.iterator();
+			assertTrue(iterator.hasNext());
+			assertEquals(2, iterator.next().getPageNumber());
+		}
+		assertFalse(iterator.hasNext());
+
+		try (Stream<PageText> pages = PageTextStreamExtensions.streamTextLayer(pdfFile))
+		{
+			assertEquals(1, pages.limit(1).count());
+		}
+	}
+
+	/**
+	 * Tests that the exception of resolving the page selection is thrown after the session is
+	 * closed
+	 */
+	@Test
+	void testIteratorWithInvalidPageSelection()
+	{
+		assertThrows(NullPointerException.class, () -> PageTextStreamExtensions
+			.textLayerIterator(pdfFile, null, LoadOptions.builder().build()));
+	}
+
+	/**
+	 * Tests the method
+	 * {@link PageTextStreamExtensions#streamOcr(File, String, String, ConversionOptions)}
+	 */
+	@Test
+	@Disabled("""
+		only for local use:
+		if tesseract is installed
+		""")
+	void testStreamOcr() throws IOException
+	{
+		ConversionOptions options = ConversionOptions.builder()
+			.pageSelection(PageSelection.range(1, 2)).build();
+		try (Stream<PageText> pages = PageTextStreamExtensions.streamOcr(pdfFile,
+			"/usr/share/tessdata", "deu", options))
+		{
+			List<PageText> pageTexts = pages.toList();
+			assertEquals(2, pageTexts.size());
+			pageTexts.forEach(pageText -> {
+				assertEquals(PageSource.OCR, pageText.getSource());
+				assertFalse(pageText.getText().isBlank());
+			});
+		}
+	}
+
+	/**
+	 * Test method for {@link PageTextStreamExtensions} with {@link BeanTester}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(PageTextStreamExtensions.class);
+	}
+}
@@ -0,0 +1,109 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.tess4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.create.DirectoryFactory;
+import io.github.astrapi69.file.delete.DeleteFileExtensions;
+import io.github.astrapi69.file.search.PathFinder;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfToTextExtensions;
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * Benchmark test class for the parallel OCR methods of {@link ImagePdfToTextExtensions}
+ */
+class ImagePdfToTextExtensionsBenchmarkTest
+{
+
+	private static final String DATAPATH = "/usr/share/tessdata";
+
+	private static final String LANGUAGE = "deu";
+
+	private File outputDir;
+
+	private List<File> imageFiles;
+
+	/**
+	 * Sets up test data before each test
+	 */
+	@BeforeEach
+	void setUp() throws IOException
+	{
+		File pdfFile = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(),
+			"program-image.pdf");
+		outputDir = DirectoryFactory.newDirectory(PathFinder.getSrcTestResourcesDir(),
+			"benchmark-result");
+		imageFiles = PdfToTextExtensions.getImageFiles(pdfFile, outputDir);
+	}
+
+	/**
+	 * cleans up after each test
+	 */
+	@AfterEach
+	void tearDown() throws IOException
+	{
+		if (outputDir != null)
+		{
+			DeleteFileExtensions.delete(outputDir);
+		}
+	}
+
+	/**
+	 * Measures the pages per second of
+	 * {@link ImagePdfToTextExtensions#getTextContent(List, String, String, int)} for an increasing
+	 * number of threads and verifies that the page order is the same as the sequential result
+	 */
+	@Test
+	@Disabled("""
+		only for local use:
+		if tesseract is installed
+		""")
+	void benchmarkPagesPerSecondByThreadCount() throws TesseractException
+	{
+		// warm up the engine pool
+		String expected = ImagePdfToTextExtensions.getTextContent(imageFiles, DATAPATH, LANGUAGE);
+		int maxThreads = Runtime.getRuntime().availableProcessors();
+		for (int threads = 1; threads <= maxThreads; threads *= 2)
+		{
+			long start = System.nanoTime();
+			String actual = ImagePdfToTextExtensions.getTextContent(imageFiles, DATAPATH, LANGUAGE,
+				threads);
+			double seconds = (System.nanoTime() - start) / 1_000_000_000d;
+			System.out.printf("threads: %2d, pages: %d, time: %.2fs, pages/sec: %.2f%n", threads,
+				imageFiles.size(), seconds, imageFiles.size() / seconds);
+			assertEquals(expected, actual);
+		}
+	}
+}
@@ -28,23 +28,32 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mockStatic;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import javax.imageio.ImageIO;
+
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.meanbean.test.BeanTester;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
+import io.github.astrapi69.file.create.DirectoryFactory;
 import io.github.astrapi69.file.delete.DeleteFileExtensions;
 import io.github.astrapi69.file.search.PathFinder;
 import io.github.astrapi69.io.shell.ProcessBuilderFactory;
+import io.github.astrapisixtynine.pdf.to.text.info.BlankPageOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.ConversionOptions;
 import io.github.astrapisixtynine.pdf.to.text.info.ConversionResult;
 import net.sourceforge.tess4j.TesseractException;
 
@@ -145,6 +154,46 @@ class ImagePdfToTextExtensionsTest
 		DeleteFileExtensions.delete(conversionResult.getTextFiles());
 	}
 
+	/**
+	 * Tests the method
+	 * {@link ImagePdfToTextExtensions#convertPdfToTextfile(File, File, String, String, ConversionOptions)}
+	 * without writing the page images to the output directory
+	 *
+	 * @throws IOException
+	 *             if an I/O error occurs during file handling
+	 * @throws TesseractException
+	 *             if an error occurs during OCR processing
+	 */
+	@Disabled("""
+		only for local use:
+		if tesseract is installed
+		""")
+	@Test
+	void testConvertPdfToTextfileInMemory() throws IOException, TesseractException
+	{
+		File pdfFile = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(),
+			"program-image.pdf");
+		File outputDirectory = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(),
+			"test-result");
+		String datapath = "/usr/share/tessdata";
+		String language = "deu";
+		ConversionOptions options = ConversionOptions.builder().writeImageFiles(false).build();
+
+		// Act
+		ConversionResult conversionResult = ImagePdfToTextExtensions.convertPdfToTextfile(pdfFile,
+			outputDirectory, datapath, language, options);
+
+		// Assert
+		assertTrue(conversionResult.getImageFiles().isEmpty(), "No image files should be written");
+		assertFalse(conversionResult.getTextFiles().isEmpty(),
+			"Text files list should not be empty");
+		assertTrue(conversionResult.getResultTextFile().length() > 0,
+			"Result text file should contain data");
+		// clean up
+		DeleteFileExtensions.delete(conversionResult.getResultTextFile());
+		DeleteFileExtensions.delete(conversionResult.getTextFiles());
+	}
+
 	/**
 	 * Tests the method {@link ImagePdfToTextExtensions#getTextContent(List, String, String)} with
 	 * multiple image files.
@@ -206,6 +255,37 @@ class ImagePdfToTextExtensionsTest
 		assertTrue(isInstalled, "Tesseract should be installed on the system");
 	}
 
+	/**
+	 * Tests the method
+	 * {@link ImagePdfToTextExtensions#getTextFiles(List, File, String, String, BlankPageOptions)}
+	 * with a blank page image that is not recognized
+	 */
+	@Test
+	void testGetTextFilesSkipsBlankPages() throws IOException, TesseractException
+	{
+		File outputDir = DirectoryFactory.newDirectory(PathFinder.getSrcTestResourcesDir(),
+			"output");
+		try
+		{
+			BufferedImage image = new BufferedImage(200, 300, BufferedImage.TYPE_INT_RGB);
+			Graphics2D graphics = image.createGraphics();
+			graphics.setColor(Color.WHITE);
+			graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+			graphics.dispose();
+			File imageFile = new File(outputDir, "blank_1.png");
+			ImageIO.write(image, "png", imageFile);
+
+			List<File> textFiles = ImagePdfToTextExtensions.getTextFiles(List.of(imageFile),
+				outputDir, "/usr/share/tessdata", "deu", BlankPageOptions.builder().build());
+			assertEquals(List.of(new File(outputDir, "blank_1.txt")), textFiles);
+			assertEquals("", Files.readString(textFiles.get(0).toPath()));
+		}
+		finally
+		{
+			DeleteFileExtensions.delete(outputDir);
+		}
+	}
+
 	/**
 	 * Test method for {@link ImagePdfToTextExtensions} with {@link BeanTester}
 	 */
@@ -0,0 +1,132 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.tess4j;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.file.search.PathFinder;
+import io.github.astrapisixtynine.pdf.to.text.info.RenderOptions;
+import io.github.astrapisixtynine.pdf.to.text.pdfbox.PdfToTextExtensions;
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * Benchmark test class for the combinations of {@link RenderOptions}
+ */
+class RenderOptionsBenchmarkTest
+{
+
+	private static final String DATAPATH = "/usr/share/tessdata";
+
+	private static final String LANGUAGE = "deu";
+
+	private static final float[] DPIS = { 150, 200, 300 };
+
+	private static final ImageType[] IMAGE_TYPES = { ImageType.RGB, ImageType.GRAY,
+			ImageType.BINARY };
+
+	/**
+	 * Measures the raster memory, the render time and the OCR time of every page of
+	 * program-image.pdf for the combinations of resolution, colour model and subsampling
+	 */
+	@Test
+	@Disabled("""
+		only for local use:
+		if tesseract is installed
+		""")
+	void benchmarkRenderOptions() throws IOException, TesseractException
+	{
+		File pdfFile = PathFinder.getRelativePath(PathFinder.getSrcTestResourcesDir(),
+			"program-image.pdf");
+		try (PDDocument document = Loader.loadPDF(pdfFile))
+		{
+			// warm up the renderer and the engine pool
+			ImagePdfToTextExtensions.extractTextFromImage(PdfToTextExtensions
+				.renderImage(new PDFRenderer(document), 0), DATAPATH, LANGUAGE);
+			for (float dpi : DPIS)
+			{
+				for (ImageType imageType : IMAGE_TYPES)
+				{
+					for (boolean subsamplingAllowed : new boolean[] { false, true })
+					{
+						RenderOptions renderOptions = RenderOptions.builder().dpi(dpi)
+							.imageType(imageType).subsamplingAllowed(subsamplingAllowed)
+							.build();
+						benchmark(document, renderOptions);
+					}
+				}
+			}
+		}
+	}
+
+	private static void benchmark(PDDocument document, RenderOptions renderOptions)
+		throws IOException, TesseractException
+	{
+		PDFRenderer pdfRenderer = PdfToTextExtensions.newPdfRenderer(document, renderOptions);
+		long rasterBytes = 0;
+		long renderNanos = 0;
+		long ocrNanos = 0;
+		int characters = 0;
+		for (int page = 0; page < document.getNumberOfPages(); ++page)
+		{
+			long start = System.nanoTime();
+			BufferedImage image = PdfToTextExtensions.renderImage(pdfRenderer, page,
+				renderOptions);
+			renderNanos += System.nanoTime() - start;
+			rasterBytes += getRasterBytes(image);
+			start = System.nanoTime();
+			String text = ImagePdfToTextExtensions.extractTextFromImage(image, DATAPATH,
+				LANGUAGE);
+			ocrNanos += System.nanoTime() - start;
+			characters += text.strip().length();
+		}
+		int pages = document.getNumberOfPages();
+		System.out.printf(
+			"dpi: %3.0f, type: %-6s, subsampling: %-5s, raster: %6d KiB/page, "
+				+ "render: %4d ms/page, ocr: %5d ms/page, characters: %d%n",
+			renderOptions.getDpi(), renderOptions.getImageType(),
+			renderOptions.isSubsamplingAllowed(), rasterBytes / pages / 1024,
+			renderNanos / pages / 1_000_000, ocrNanos / pages / 1_000_000, characters);
+		assertFalse(characters == 0);
+	}
+
+	private static long getRasterBytes(BufferedImage image)
+	{
+		DataBuffer dataBuffer = image.getRaster().getDataBuffer();
+		return (long)dataBuffer.getSize() * DataBuffer.getDataTypeSize(dataBuffer.getDataType())
+			/ 8;
+	}
+}
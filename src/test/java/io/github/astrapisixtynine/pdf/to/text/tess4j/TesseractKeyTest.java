@@ -0,0 +1,93 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.tess4j;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapisixtynine.pdf.to.text.info.OcrOptions;
+import io.github.astrapisixtynine.pdf.to.text.info.OcrProfile;
+
+/**
+ * Test class for {@link TesseractKey}
+ */
+class TesseractKeyTest
+{
+
+	/**
+	 * Tests the method {@link TesseractKey#of(String, String)}
+	 */
+	@Test
+	void testOf()
+	{
+		TesseractKey key = TesseractKey.of("/usr/share/tessdata", "deu");
+		assertEquals("/usr/share/tessdata", key.getDatapath());
+		assertEquals("deu", key.getLanguage());
+		assertEquals(TesseractKey.DEFAULT_OCR_ENGINE_MODE, key.getOcrEngineMode());
+		assertEquals(TesseractKey.DEFAULT_PAGE_SEG_MODE, key.getPageSegMode());
+		assertTrue(key.getVariables().isEmpty());
+	}
+
+	/**
+	 * Tests the method {@link TesseractKey#of(String, String, OcrOptions)}
+	 */
+	@Test
+	void testOfWithOcrOptions()
+	{
+		assertEquals(TesseractKey.of("/usr/share/tessdata", "deu"),
+			TesseractKey.of("/usr/share/tessdata", "deu", null));
+		assertEquals(TesseractKey.of("/usr/share/tessdata", "deu"),
+			TesseractKey.of("/usr/share/tessdata", "deu", OcrOptions.builder().build()));
+
+		TesseractKey key = TesseractKey.of("/usr/share/tessdata", "deu",
+			OcrProfile.FAST.getOcrOptions());
+		assertEquals("/usr/share/tessdata", key.getDatapath());
+		assertEquals(1, key.getOcrEngineMode());
+		assertEquals(6, key.getPageSegMode());
+		assertEquals(Map.of("tessedit_do_invert", "0"), key.getVariables());
+
+		// the tessdata directory of the OCR options replaces the data path
+		TesseractKey fastKey = TesseractKey.of("/usr/share/tessdata", "deu", OcrProfile.FAST
+			.getOcrOptions().toBuilder().tessdataDir("/usr/share/tessdata_fast").build());
+		assertEquals("/usr/share/tessdata_fast", fastKey.getDatapath());
+		assertNotEquals(key, fastKey);
+	}
+
+	/**
+	 * Tests the method {@link TesseractKey#resolvePageSegMode(int)}
+	 */
+	@Test
+	void testResolvePageSegMode()
+	{
+		assertEquals(TesseractKey.AUTO_PAGE_SEG_MODE,
+			TesseractKey.resolvePageSegMode(TesseractKey.DEFAULT_PAGE_SEG_MODE));
+		assertEquals(3, TesseractKey.resolvePageSegMode(-1));
+		assertEquals(6, TesseractKey.resolvePageSegMode(6));
+		assertEquals(0, TesseractKey.resolvePageSegMode(0));
+	}
+}
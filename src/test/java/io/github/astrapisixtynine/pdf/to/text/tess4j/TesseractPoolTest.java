@@ -0,0 +1,219 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.tess4j;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.tess4j.TesseractException;
+
+/**
+ * Test class for {@link TesseractPool}
+ */
+class TesseractPoolTest
+{
+
+	private TesseractPool pool;
+
+	private TesseractKey key;
+
+	/**
+	 * Sets up test data before each test
+	 */
+	@BeforeEach
+	void setUp()
+	{
+		pool = new TesseractPool(2, Duration.ofMinutes(1));
+		key = TesseractKey.of("/usr/share/tessdata", "deu");
+	}
+
+	/**
+	 * cleans up after each test
+	 */
+	@AfterEach
+	void tearDown()
+	{
+		pool.close();
+	}
+
+	/**
+	 * Tests that a released engine is reused by the next borrow of the same key
+	 */
+	@Test
+	void testBorrowReusesReleasedEngine() throws InterruptedException
+	{
+		ReusableTesseract first = pool.borrow(key);
+		pool.release(first);
+		assertEquals(1, pool.getIdleCount(key));
+
+		ReusableTesseract second = pool.borrow(key);
+		assertSame(first, second);
+		assertEquals(0, pool.getIdleCount(key));
+		pool.release(second);
+	}
+
+	/**
+	 * Tests that engines of different keys are not shared
+	 */
+	@Test
+	void testBorrowWithDifferentKeys() throws InterruptedException
+	{
+		ReusableTesseract german = pool.borrow(key);
+		pool.release(german);
+
+		TesseractKey englishKey = key.toBuilder().language("eng").build();
+		ReusableTesseract english = pool.borrow(englishKey);
+		assertNotSame(german, english);
+		assertEquals("eng", english.getKey().getLanguage());
+		pool.release(english);
+		assertEquals(2, pool.getIdleCount());
+	}
+
+	/**
+	 * Tests that the number of engines per key is limited
+	 */
+	@Test
+	void testTryBorrowWhenExhausted() throws InterruptedException
+	{
+		ReusableTesseract first = pool.borrow(key);
+		ReusableTesseract second = pool.borrow(key);
+		assertNotSame(first, second);
+		assertNull(pool.tryBorrow(key, Duration.ofMillis(10)));
+
+		pool.release(first);
+		ReusableTesseract third = pool.tryBorrow(key, Duration.ofMillis(10));
+		assertSame(first, third);
+		pool.release(second);
+		pool.release(third);
+	}
+
+	/**
+	 * Tests that an invalidated engine is not reused
+	 */
+	@Test
+	void testInvalidate() throws InterruptedException
+	{
+		ReusableTesseract engine = pool.borrow(key);
+		pool.invalidate(engine);
+		assertEquals(0, pool.getIdleCount(key));
+		ReusableTesseract other = pool.borrow(key);
+		assertNotSame(engine, other);
+		pool.release(other);
+	}
+
+	/**
+	 * Tests the method {@link TesseractPool#evictIdle()}
+	 */
+	@Test
+	void testEvictIdle() throws InterruptedException
+	{
+		try (TesseractPool evictingPool = new TesseractPool(1, Duration.ZERO))
+		{
+			ReusableTesseract engine = evictingPool.borrow(key);
+			evictingPool.release(engine);
+			assertEquals(0, evictingPool.getIdleCount(key));
+			assertEquals(0, evictingPool.evictIdle());
+		}
+		ReusableTesseract engine = pool.borrow(key);
+		pool.release(engine);
+		assertEquals(0, pool.evictIdle());
+		assertEquals(1, pool.getIdleCount(key));
+	}
+
+	/**
+	 * Tests that the eviction removes the keys without idle or borrowed engines
+	 */
+	@Test
+	void testEvictIdleRemovesUnusedKeys() throws InterruptedException
+	{
+		try (TesseractPool evictingPool = new TesseractPool(1, Duration.ZERO))
+		{
+			ReusableTesseract engine = evictingPool.borrow(key);
+			assertEquals(1, evictingPool.getKeyCount());
+			evictingPool.release(engine);
+			assertEquals(0, evictingPool.getKeyCount());
+			ReusableTesseract again = evictingPool.tryBorrow(key, Duration.ZERO);
+			assertNotNull(again);
+			evictingPool.release(again);
+		}
+	}
+
+	/**
+	 * Tests that idle engines are evicted periodically without a further release
+	 */
+	@Test
+	void testPeriodicEviction() throws InterruptedException
+	{
+		try (TesseractPool evictingPool = new TesseractPool(1, Duration.ofMillis(50)))
+		{
+			evictingPool.release(evictingPool.borrow(key));
+			long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+			while (evictingPool.getKeyCount() > 0 && System.nanoTime() < deadline)
+			{
+				Thread.sleep(20);
+			}
+			assertEquals(0, evictingPool.getIdleCount(key));
+			assertEquals(0, evictingPool.getKeyCount());
+		}
+	}
+
+	/**
+	 * Tests that a closed pool can not be used anymore
+	 */
+	@Test
+	void testClose() throws InterruptedException
+	{
+		ReusableTesseract engine = pool.borrow(key);
+		pool.close();
+		pool.release(engine);
+		assertEquals(0, pool.getIdleCount());
+		assertThrows(IllegalStateException.class, () -> pool.borrow(key));
+	}
+
+	/**
+	 * Tests that a pooled engine recognizes several images with one initialization
+	 */
+	@Test
+	@Disabled("""
+		only for local use:
+		if tesseract is installed
+		""")
+	void testRecognizeWithWarmEngine() throws InterruptedException, TesseractException
+	{
+		ReusableTesseract engine = pool.borrow(key);
+		String first = engine.recognize(new File("src/test/resources/sample-image.png"));
+		assertTrue(engine.isInitialized());
+		String second = engine.recognize(new File("src/test/resources/sample-image.png"));
+		assertEquals(first, second);
+		pool.release(engine);
+	}
+}
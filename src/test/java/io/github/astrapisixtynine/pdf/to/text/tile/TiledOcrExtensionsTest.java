@@ -0,0 +1,216 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2022 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining
+ * a copy of this software and associated documentation files (the
+ * "Software"), to deal in the Software without restriction, including
+ * without limitation the rights to use, copy, modify, merge, publish,
+ * distribute, sublicense, and/or sell copies of the Software, and to
+ * permit persons to whom the Software is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND,
+ * EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapisixtynine.pdf.to.text.tile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.meanbean.test.BeanTester;
+
+import io.github.astrapisixtynine.pdf.to.text.info.TileOptions;
+
+/**
+ * Test class for {@link TiledOcrExtensions}
+ */
+class TiledOcrExtensionsTest
+{
+
+	private final TileOptions tileOptions = TileOptions.builder().minPixels(400_000L)
+		.tileHeight(300).overlap(40).parallelism(3).build();
+
+	/**
+	 * Creates a page image with a black line of 10 pixel rows in every 40 pixel rows
+	 *
+	 * @return the page image
+	 */
+	private static BufferedImage newLinedImage()
+	{
+		BufferedImage image = new BufferedImage(400, 1000, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(Color.WHITE);
+		graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+		graphics.setColor(Color.BLACK);
+		for (int y = 20; y < image.getHeight(); y += 40)
+		{
+			graphics.fillRect(50, y, 300, 10);
+		}
+		graphics.dispose();
+		return image;
+	}
+
+	private static boolean isWhiteRow(BufferedImage image, int y)
+	{
+		return y == image.getHeight() || (image.getRGB(100, y) & 0xffffff) == 0xffffff;
+	}
+
+	/**
+	 * Tests the method {@link TiledOcrExtensions#isOversized(BufferedImage, TileOptions)}
+	 */
+	@Test
+	void testIsOversized()
+	{
+		BufferedImage image = newLinedImage();
+		assertTrue(TiledOcrExtensions.isOversized(image, tileOptions));
+		assertFalse(TiledOcrExtensions.isOversized(image,
+			tileOptions.toBuilder().minPixels(400_001L).build()));
+	}
+
+	/**
+	 * Tests the method {@link TiledOcrExtensions#getStrips(BufferedImage, TileOptions)}
+	 */
+	@Test
+	void testGetStrips()
+	{
+		BufferedImage image = newLinedImage();
+		List<Rectangle> strips = TiledOcrExtensions.getStrips(image, tileOptions);
+		assertTrue(1 < strips.size());
+		assertEquals(0, strips.get(0).y);
+		Rectangle last = strips.get(strips.size() - 1);
+		assertEquals(image.getHeight(), last.y + last.height);
+		for (int i = 0; i < strips.size(); ++i)
+		{
+			Rectangle strip = strips.get(i);
+			assertEquals(0, strip.x);
+			assertEquals(image.getWidth(), strip.width);
+			assertTrue(strip.height <= tileOptions.getTileHeight());
+			// no strip cuts through a line
+			assertTrue(isWhiteRow(image, strip.y));
+			assertTrue(isWhiteRow(image, strip.y + strip.height));
+			if (0 < i)
+			{
+				Rectangle previous = strips.get(i - 1);
+				assertTrue(previous.y < strip.y);
+				assertTrue(tileOptions.getOverlap() <= previous.y + previous.height - strip.y);
+			}
+		}
+		// a small page image is a single strip
+		BufferedImage small = image.getSubimage(0, 0, 400, 300);
+		assertEquals(List.of(new Rectangle(0, 0, 400, 300)),
+			TiledOcrExtensions.getStrips(small, tileOptions));
+		// the overlap must be less than the half of the tile height
+		assertThrows(IllegalArgumentException.class, () -> TiledOcrExtensions.getStrips(image,
+			tileOptions.toBuilder().overlap(150).build()));
+	}
+
+	/**
+	 * Tests the method {@link TiledOcrExtensions#merge(List)}
+	 */
+	@Test
+	void testMerge()
+	{
+		// blank lines inside the strips are kept
+		assertEquals("a\nb\n\nc\n\nd\ne\n",
+			TiledOcrExtensions.merge(List.of("a\nb\n\nc\n\f", "b\nc  \n\nd\n", "e")));
+		// the duplicate lines are compared with collapsed whitespace
+		assertEquals("first  line\nsecond\nthird\n",
+			TiledOcrExtensions.merge(List.of("first  line\nsecond", "second\nthird")));
+		// lines that are not at the end of the previous strip are kept
+		assertEquals("a\nb\na\nc\n", TiledOcrExtensions.merge(List.of("a\nb", "a\nc")));
+		assertEquals("a\n", TiledOcrExtensions.merge(List.of("", "a", " \n")));
+		assertEquals("", TiledOcrExtensions.merge(List.of()));
+	}
+
+	/**
+	 * Tests the method
+	 * {@link TiledOcrExtensions#recognize(BufferedImage, TileOptions, TileRecognizer)}
+	 */
+	@Test
+	void testRecognize() throws InterruptedException, ExecutionException
+	{
+		BufferedImage image = newLinedImage();
+		List<Rectangle> strips = TiledOcrExtensions.getStrips(image, tileOptions);
+		// the fake recognizer reads every line that is completely contained in a strip
+		TileRecognizer recognizer = (tile, tileImage) -> {
+			Rectangle strip = strips.get(tile);
+			assertEquals(strip.height, tileImage.getHeight());
+			assertEquals(0, tileImage.getMinY());
+			return IntStream.range(0, 25).filter(line -> strip.y <= 20 + line * 40)
+				.filter(line -> 30 + line * 40 <= strip.y + strip.height)
+				.mapToObj(line -> "line " + line).collect(Collectors.joining("\n"));
+		};
+		String expected = IntStream.range(0, 25).mapToObj(line -> "line " + line + "\n")
+			.collect(Collectors.joining());
+		assertEquals(expected, TiledOcrExtensions.recognize(image, tileOptions, recognizer));
+
+		ExecutionException exception = assertThrows(ExecutionException.class,
+			() -> TiledOcrExtensions.recognize(image, tileOptions, (tile, tileImage) -> {
+				throw new IllegalStateException("tile " + tile);
+			}));
+		assertInstanceOf(IllegalStateException.class, exception.getCause());
+	}
+
+	/**
+	 * Tests the method
+	 * {@link TiledOcrExtensions#recognize(BufferedImage, TileOptions, Semaphore, TileRecognizer)}
+	 * that every strip after the first one that is recognized at the same time needs a permit
+	 */
+	@Test
+	void testRecognizeWithPermits() throws InterruptedException, ExecutionException
+	{
+		BufferedImage image = newLinedImage();
+		int strips = TiledOcrExtensions.getStrips(image, tileOptions).size();
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		TileRecognizer recognizer = (tile, tileImage) -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Thread.sleep(50);
+			running.decrementAndGet();
+			return "tile " + tile;
+		};
+		String expected = IntStream.range(0, strips).mapToObj(tile -> "tile " + tile + "\n")
+			.collect(Collectors.joining());
+		for (int availablePermits = 0; availablePermits < 3; ++availablePermits)
+		{
+			// the calling thread already holds its own permit
+			Semaphore permits = new Semaphore(availablePermits);
+			maxRunning.set(0);
+			assertEquals(expected,
+				TiledOcrExtensions.recognize(image, tileOptions, permits, recognizer));
+			assertTrue(maxRunning.get() <= availablePermits + 1);
+			assertEquals(availablePermits, permits.availablePermits());
+		}
+	}
+
+	/**
+	 * Test method for {@link TiledOcrExtensions} with {@link BeanTester}
+	 */
+	@Test
+	public void testWithBeanTester()
+	{
+		final BeanTester beanTester = new BeanTester();
+		beanTester.testBean(TiledOcrExtensions.class);
+	}
+}